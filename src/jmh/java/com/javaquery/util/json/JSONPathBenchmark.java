@@ -0,0 +1,95 @@
+package com.javaquery.util.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare String key path against pre-compiled {@link JSONPath} lookups.
+ *
+ * <p>Run with <code>./gradlew jmh -PjmhIncludes=JSONPathBenchmark</code>
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONPathBenchmark {
+
+  private static final String JSON =
+      "{\"order\":{\"id\":\"o-1\",\"customer\":{\"name\":\"vicky\",\"address\":{\"city\":\"Ahmedabad\"}},"
+          + "\"items\":[{\"sku\":\"a\",\"qty\":1},{\"sku\":\"b\",\"qty\":2},{\"sku\":\"c\",\"qty\":3}]}}";
+
+  private static final String SKU = "order.items[2].sku";
+  private static final String QTY = "order.items[2].qty";
+  private static final String CITY = "order.customer.address.city";
+
+  private static final JSONPath SKU_PATH = JSONPath.compile(SKU);
+  private static final JSONPath QTY_PATH = JSONPath.compile(QTY);
+  private static final JSONPath CITY_PATH = JSONPath.compile(CITY);
+
+  private org.json.JSONObject root;
+  private JSONObject cached;
+  private JSONIndex index;
+
+  @Setup
+  public void setup() {
+    root = new org.json.JSONObject(JSON);
+    cached = new JSONObject(root);
+    index = cached.index();
+  }
+
+  /** Fresh wrapper per payload, the path is resolved from root every time. */
+  @Benchmark
+  public void stringKey_newDocument(Blackhole blackhole) {
+    JSONObject jsonObject = new JSONObject(root);
+    blackhole.consume(jsonObject.optString(SKU));
+    blackhole.consume(jsonObject.optInt(QTY));
+    blackhole.consume(jsonObject.optString(CITY));
+  }
+
+  @Benchmark
+  public void jsonPath_newDocument(Blackhole blackhole) {
+    JSONObject jsonObject = new JSONObject(root);
+    blackhole.consume(jsonObject.optString(SKU_PATH));
+    blackhole.consume(jsonObject.optInt(QTY_PATH));
+    blackhole.consume(jsonObject.optString(CITY_PATH));
+  }
+
+  /** Same wrapper, intermediate objects are served from cache. */
+  @Benchmark
+  public void stringKey_cachedDocument(Blackhole blackhole) {
+    blackhole.consume(cached.optString(SKU));
+    blackhole.consume(cached.optInt(QTY));
+    blackhole.consume(cached.optString(CITY));
+  }
+
+  @Benchmark
+  public void jsonPath_cachedDocument(Blackhole blackhole) {
+    blackhole.consume(cached.optString(SKU_PATH));
+    blackhole.consume(cached.optInt(QTY_PATH));
+    blackhole.consume(cached.optString(CITY_PATH));
+  }
+
+  /** Flat index, each key is a single hash lookup. */
+  @Benchmark
+  public void index_cachedDocument(Blackhole blackhole) {
+    blackhole.consume(index.optString(SKU));
+    blackhole.consume(index.optInt(QTY));
+    blackhole.consume(index.optString(CITY));
+  }
+}
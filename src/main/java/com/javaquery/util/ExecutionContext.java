@@ -1,12 +1,12 @@
 package com.javaquery.util;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.javaquery.util.collection.CompactMap;
 import com.javaquery.util.logging.Action;
 import com.javaquery.util.logging.ActivityStatus;
 import com.javaquery.util.time.Dates;
 
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -46,7 +46,7 @@ public class ExecutionContext<T, V> {
 
     public ExecutionContext(String requestId){
         this.requestId = requestId;
-        this.meta = new HashMap<>();
+        this.meta = new CompactMap<>();
         this.createdAt = Dates.current();
     }
 
@@ -54,7 +54,7 @@ public class ExecutionContext<T, V> {
         this.requestId = requestId;
         this.referenceId = referenceId;
         this.action = action;
-        this.meta = new HashMap<>();
+        this.meta = new CompactMap<>();
         this.createdAt = Dates.current();
     }
 
@@ -18,13 +18,37 @@ public final class Regex {
 
   /**
    * Returns {@code true} if the provided String is valid number otherwise returns {@code false}.
+   * Same as matching {@link #REGEX_NUMBER} without compiling the regular expression on each call.
    *
    * @param value a String to be checked against number regular expression
    * @return Returns {@code true} if the provided String is valid number otherwise returns {@code
    *     false}.
    */
   public static boolean isNumber(String value) {
-    return Objects.nonNull(value) && value.matches(Regex.REGEX_NUMBER);
+    if (Objects.isNull(value)) {
+      return false;
+    }
+    int length = value.length();
+    int i = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+    int digits = skipDigits(value, i);
+    if (digits == i) {
+      return false;
+    } else if (digits == length) {
+      return true;
+    } else if (value.charAt(digits) != '.') {
+      return false;
+    }
+    int fraction = skipDigits(value, digits + 1);
+    return fraction > digits + 1 && fraction == length;
+  }
+
+  /** @return index of first non digit character at or after <code>start</code> */
+  private static int skipDigits(String value, int start) {
+    int i = start;
+    while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+      i++;
+    }
+    return i;
   }
 
   /**
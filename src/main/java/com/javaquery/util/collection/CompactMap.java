@@ -0,0 +1,311 @@
+package com.javaquery.util.collection;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Array-backed {@link Map} for few entries. Keys and values are stored in one array and found by
+ * linear scan, there is no object per entry and no table until the first put. When map grows
+ * beyond {@link #COMPACT_SIZE} entries it is promoted to {@link HashMap}.
+ *
+ * <pre>
+ * Map&lt;String, Object&gt; attributes = new CompactMap&lt;&gt;();
+ * attributes.put("action", action);
+ * </pre>
+ *
+ * Use it for per-request maps which usually hold 2-6 entries, it allocates and retains less than
+ * {@link HashMap}. Iteration order is insertion order until promoted.
+ *
+ * <p>Note: <code>null</code> keys and values are allowed like {@link HashMap}. This class is not
+ * thread-safe.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class CompactMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+  private static final long serialVersionUID = 5185428912347519573L;
+
+  /** maximum number of entries stored in array */
+  public static final int COMPACT_SIZE = 8;
+
+  private static final int INITIAL_SIZE = 4;
+
+  /* [key0, value0, key1, value1, ...] */
+  private Object[] table;
+  private int size;
+  private HashMap<K, V> promoted;
+  /* structural changes of table and promotion, iterators fail fast like HashMap */
+  private transient int modCount;
+  private transient Set<Entry<K, V>> entrySet;
+
+  public CompactMap() {}
+
+  /** @param map entries to copy */
+  public CompactMap(Map<? extends K, ? extends V> map) {
+    putAll(map);
+  }
+
+  @Override
+  public int size() {
+    return promoted != null ? promoted.size() : size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return promoted != null ? promoted.containsKey(key) : indexOf(key) >= 0;
+  }
+
+  @Override
+  public V get(Object key) {
+    return getOrDefault(key, null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V getOrDefault(Object key, V defaultValue) {
+    if (promoted != null) {
+      return promoted.getOrDefault(key, defaultValue);
+    }
+    int index = indexOf(key);
+    return index >= 0 ? (V) table[index + 1] : defaultValue;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(K key, V value) {
+    if (promoted != null) {
+      return promoted.put(key, value);
+    }
+    int index = indexOf(key);
+    if (index >= 0) {
+      V previous = (V) table[index + 1];
+      table[index + 1] = value;
+      return previous;
+    }
+    if (size == COMPACT_SIZE) {
+      promote();
+      return promoted.put(key, value);
+    }
+    if (table == null) {
+      table = new Object[INITIAL_SIZE * 2];
+    } else if (size * 2 == table.length) {
+      Object[] grown = new Object[COMPACT_SIZE * 2];
+      System.arraycopy(table, 0, grown, 0, table.length);
+      table = grown;
+    }
+    table[size * 2] = key;
+    table[size * 2 + 1] = value;
+    size++;
+    modCount++;
+    return null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V remove(Object key) {
+    if (promoted != null) {
+      return promoted.remove(key);
+    }
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    V previous = (V) table[index + 1];
+    removeAt(index);
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    table = null;
+    size = 0;
+    promoted = null;
+    modCount++;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    if (promoted != null) {
+      promoted.forEach(action);
+      return;
+    }
+    int expectedModCount = modCount;
+    for (int i = 0; i < size * 2; i += 2) {
+      action.accept((K) table[i], (V) table[i + 1]);
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  /** @return index of key in table or -1 */
+  private int indexOf(Object key) {
+    for (int i = 0; i < size * 2; i += 2) {
+      if (Objects.equals(key, table[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Remove entry at index keeping insertion order. */
+  private void removeAt(int index) {
+    int end = size * 2;
+    System.arraycopy(table, index + 2, table, index, end - index - 2);
+    table[end - 2] = null;
+    table[end - 1] = null;
+    size--;
+    modCount++;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void promote() {
+    promoted = new HashMap<>(COMPACT_SIZE * 4);
+    for (int i = 0; i < size * 2; i += 2) {
+      promoted.put((K) table[i], (V) table[i + 1]);
+    }
+    table = null;
+    size = 0;
+    modCount++;
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+    @Override
+    public int size() {
+      return CompactMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      CompactMap.this.clear();
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      return promoted != null ? promoted.entrySet().iterator() : new EntryIterator();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Entry<K, V>> {
+    private int next;
+    private int last = -1;
+    private int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      checkForComodification();
+      return next < size * 2;
+    }
+
+    @Override
+    public Entry<K, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next += 2;
+      return new ArrayEntry(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      checkForComodification();
+      removeAt(last);
+      expectedModCount = modCount;
+      next = last;
+      last = -1;
+    }
+
+    private void checkForComodification() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+  }
+
+  /**
+   * Entry reading and writing table at index. Like {@link HashMap} entry it keeps its key and last
+   * seen value after structural change of map, only {@link #setValue(Object)} writes through while
+   * entry is still at its index.
+   */
+  private final class ArrayEntry implements Entry<K, V> {
+    private final int index;
+    private final K key;
+    private V value;
+    private int expectedModCount = modCount;
+
+    @SuppressWarnings("unchecked")
+    private ArrayEntry(int index) {
+      this.index = index;
+      this.key = (K) table[index];
+      this.value = (V) table[index + 1];
+    }
+
+    @Override
+    public K getKey() {
+      return key;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getValue() {
+      if (modCount == expectedModCount) {
+        value = (V) table[index + 1];
+      }
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      V previous = getValue();
+      table[index + 1] = value;
+      this.value = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> entry = (Entry<?, ?>) o;
+      return Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
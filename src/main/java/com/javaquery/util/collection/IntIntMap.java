@@ -0,0 +1,218 @@
+package com.javaquery.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * Map of <code>int</code> keys to <code>int</code> values without boxing. Entries are stored in
+ * two primitive arrays using open addressing with linear probing, there is no object per entry.
+ * Use it instead of <code>HashMap&lt;Integer, Integer&gt;</code> for counters and id lookups.
+ *
+ * <pre>
+ * IntIntMap counts = new IntIntMap();
+ * counts.increment(statusCode, 1);
+ * int count = counts.optInt(statusCode);
+ * </pre>
+ *
+ * <p>Note: This class is not thread-safe.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class IntIntMap {
+
+  private int[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  /* key 0 marks free slot, its entry is kept outside the table */
+  private boolean hasZeroKey;
+  private int zeroValue;
+
+  public IntIntMap() {
+    this(PrimitiveMaps.DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * @param expectedSize number of entries expected, map grows beyond it when needed
+   * @throws IllegalArgumentException if expectedSize is negative
+   */
+  public IntIntMap(int expectedSize) {
+    allocate(PrimitiveMaps.capacity(expectedSize));
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  /** @return number of entries */
+  public int size() {
+    return size;
+  }
+
+  /** @return <code>true</code> if map has no entry */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @param key the key
+   * @return <code>true</code> if map has entry for key
+   */
+  public boolean containsKey(int key) {
+    return key == 0 ? hasZeroKey : keys[slot(key)] != 0;
+  }
+
+  /**
+   * @param key the key whose associated value is to be returned
+   * @return the value to which the specified key is mapped, or 0 if this map contains no mapping
+   *     for the key
+   */
+  public int optInt(int key) {
+    return optInt(key, 0);
+  }
+
+  /**
+   * @param key the key whose associated value is to be returned
+   * @param defaultValue the default mapping of the key
+   * @return the value to which the specified key is mapped, or defaultValue if this map contains
+   *     no mapping for the key
+   */
+  public int optInt(int key, int defaultValue) {
+    if (key == 0) {
+      return hasZeroKey ? zeroValue : defaultValue;
+    }
+    int slot = slot(key);
+    return keys[slot] != 0 ? values[slot] : defaultValue;
+  }
+
+  /**
+   * @param key the key
+   * @param value value to associate with key
+   */
+  public void put(int key, int value) {
+    if (key == 0) {
+      if (!hasZeroKey) {
+        hasZeroKey = true;
+        size++;
+      }
+      zeroValue = value;
+      return;
+    }
+    int slot = slot(key);
+    if (keys[slot] == 0) {
+      insert(slot, key, value);
+    } else {
+      values[slot] = value;
+    }
+  }
+
+  /**
+   * Add delta to value of key, missing key starts at 0.
+   *
+   * @param key the key
+   * @param delta value to add
+   * @return new value of key
+   */
+  public int increment(int key, int delta) {
+    if (key == 0) {
+      put(0, optInt(0) + delta);
+      return zeroValue;
+    }
+    int slot = slot(key);
+    if (keys[slot] == 0) {
+      insert(slot, key, delta);
+      return delta;
+    }
+    return values[slot] += delta;
+  }
+
+  /**
+   * @param key the key
+   * @return <code>true</code> if entry was removed
+   */
+  public boolean remove(int key) {
+    if (key == 0) {
+      if (hasZeroKey) {
+        hasZeroKey = false;
+        zeroValue = 0;
+        size--;
+        return true;
+      }
+      return false;
+    }
+    int gap = slot(key);
+    if (keys[gap] == 0) {
+      return false;
+    }
+    for (int slot = (gap + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+      if (PrimitiveMaps.canShift(PrimitiveMaps.mix(keys[slot]) & mask, slot, gap, mask)) {
+        keys[gap] = keys[slot];
+        values[gap] = values[slot];
+        gap = slot;
+      }
+    }
+    keys[gap] = 0;
+    values[gap] = 0;
+    size--;
+    return true;
+  }
+
+  /** Remove all entries, capacity is kept. */
+  public void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, 0);
+    hasZeroKey = false;
+    zeroValue = 0;
+    size = 0;
+  }
+
+  /** @param consumer called for each entry, order is unspecified */
+  public void forEach(EntryConsumer consumer) {
+    if (hasZeroKey) {
+      consumer.accept(0, zeroValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        consumer.accept(keys[slot], values[slot]);
+      }
+    }
+  }
+
+  /** @return slot of key or free slot where key should be inserted */
+  private int slot(int key) {
+    int slot = PrimitiveMaps.mix(key) & mask;
+    while (keys[slot] != 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void insert(int slot, int key, int value) {
+    keys[slot] = key;
+    values[slot] = value;
+    if (PrimitiveMaps.isFull(++size - (hasZeroKey ? 1 : 0), keys.length)) {
+      rehash(keys.length * 2);
+    }
+  }
+
+  private void rehash(int capacity) {
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = slot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /** Receives entries of {@link IntIntMap}. */
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(int key, int value);
+  }
+}
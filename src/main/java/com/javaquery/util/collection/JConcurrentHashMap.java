@@ -0,0 +1,139 @@
+package com.javaquery.util.collection;
+
+import com.javaquery.util.Regex;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe map with the same <code>opt</code> methods as {@link JHashMap} and counters.
+ *
+ * <pre>
+ * JConcurrentHashMap&lt;String, String&gt; metrics = new JConcurrentHashMap&lt;&gt;();
+ * metrics.increment("requests", 1);
+ * long requests = metrics.optCounter("requests");
+ * </pre>
+ *
+ * Counter is a {@link LongAdder} kept apart from values, concurrent increments of same key update
+ * striped cells instead of contending on one value. Counters don't depend on value type
+ * <code>V</code> and are not visible through {@link #get(Object)}.
+ *
+ * <p>Note: Like {@link ConcurrentHashMap}, <code>null</code> keys and values are not allowed.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class JConcurrentHashMap<K, V> extends ConcurrentHashMap<K, V> {
+
+    private static final long serialVersionUID = -3094165826151725392L;
+
+    private final ConcurrentHashMap<K, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Add delta to counter of key, missing counter starts at 0.
+     *
+     * @param key the key
+     * @param delta value to add
+     */
+    public void increment(K key, long delta){
+        LongAdder counter = counters.get(key);
+        if(counter == null){
+            counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.add(delta);
+    }
+
+    /**
+     * @param key the key
+     * @return sum of counter of key, or 0 if there is no counter for the key
+     */
+    public long optCounter(K key){
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    /**
+     * @param key the key
+     * @return sum of removed counter, or 0 if there was no counter for the key
+     */
+    public long removeCounter(K key){
+        LongAdder counter = counters.remove(key);
+        return counter != null ? counter.sum() : 0L;
+    }
+
+    /** Removes all values and counters. */
+    @Override
+    public void clear(){
+        super.clear();
+        counters.clear();
+    }
+
+    /**
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or 0 if this map contains no mapping for the key
+     */
+    public Integer optInt(K key){
+        return optInt(key, 0);
+    }
+
+    /**
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or defaultValue if this map contains no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public Integer optInt(K key, Integer defaultValue){
+        Object value = getOrDefault(key, (V) defaultValue);
+        if(value instanceof Number){
+            return ((Number) value).intValue();
+        }
+        String strValue = String.valueOf(value);
+        return Regex.isNumber(strValue) ? Integer.valueOf(strValue) : defaultValue;
+    }
+
+    /**
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or 0 if this map contains no mapping for the key
+     */
+    public Long optLong(K key){
+        return optLong(key, 0L);
+    }
+
+    /**
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or defaultValue if this map contains no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public Long optLong(K key, Long defaultValue){
+        Object value = getOrDefault(key, (V) defaultValue);
+        if(value instanceof Number){
+            return ((Number) value).longValue();
+        }
+        String strValue = String.valueOf(value);
+        return Regex.isNumber(strValue) ? Long.valueOf(strValue) : defaultValue;
+    }
+
+    /**
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or 0 if this map contains no mapping for the key
+     */
+    public Double optDouble(K key){
+        return optDouble(key, 0D);
+    }
+
+    /**
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or defaultValue if this map contains no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public Double optDouble(K key, Double defaultValue){
+        Object value = getOrDefault(key, (V) defaultValue);
+        if(value instanceof Number){
+            return ((Number) value).doubleValue();
+        }
+        String strValue = String.valueOf(value);
+        return Regex.isNumber(strValue) ? Double.valueOf(strValue) : defaultValue;
+    }
+}
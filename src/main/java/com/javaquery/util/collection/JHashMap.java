@@ -1,8 +1,14 @@
 package com.javaquery.util.collection;
 
+import com.javaquery.util.Objects;
 import com.javaquery.util.Regex;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
 
 /**
  * @author vicky.thakor
@@ -10,6 +16,112 @@ import java.util.HashMap;
  */
 public class JHashMap<K, V> extends HashMap<K, V> {
 
+    /* coerced numbers of non-number values, null when memoization is off */
+    private transient Map<Object, Coerced> coerced;
+
+    public JHashMap() {
+        this(false);
+    }
+
+    /**
+     * Map which remembers the number parsed from non-number value (i.e. <code>"42"</code>) per key, so
+     * <code>optInt</code>, <code>optLong</code> and <code>optDouble</code> of same value parse it only once.
+     * Remembered number is dropped when value of key changes.
+     *
+     * <p>Note: With memoization <code>opt</code> methods modify internal state, don't call them from
+     * multiple threads even if map itself is not modified. Serialized map keeps the mode, remembered numbers
+     * are parsed again.
+     *
+     * @param memoizeNumbers <code>true</code> to remember parsed numbers
+     */
+    public JHashMap(boolean memoizeNumbers) {
+        this.coerced = memoizeNumbers ? new HashMap<>() : null;
+    }
+
+    /** @return <code>true</code> if parsed numbers are remembered */
+    public boolean isMemoizeNumbers() {
+        return coerced != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (coerced != null) {
+            coerced.remove(key);
+        }
+        return super.put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (coerced != null) {
+            coerced.remove(key);
+        }
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        boolean removed = super.remove(key, value);
+        if (removed && coerced != null) {
+            coerced.remove(key);
+        }
+        return removed;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return forgetIfRemoved(key, super.compute(key, remappingFunction));
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return forgetIfRemoved(key, super.computeIfPresent(key, remappingFunction));
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return forgetIfRemoved(key, super.merge(key, value, remappingFunction));
+    }
+
+    private V forgetIfRemoved(K key, V value) {
+        if (value == null && coerced != null) {
+            coerced.remove(key);
+        }
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        if (coerced != null) {
+            coerced.clear();
+        }
+        super.clear();
+    }
+
+    /** @return number of remembered numbers, includes memos of removed keys not yet pruned */
+    int memoSize() {
+        return coerced == null ? 0 : coerced.size();
+    }
+
+    /* remembered numbers are not serialized, only whether memoization is on */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeBoolean(coerced != null);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        coerced = in.readBoolean() ? new HashMap<>() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        JHashMap<K, V> clone = (JHashMap<K, V>) super.clone();
+        clone.coerced = coerced == null ? null : new HashMap<>();
+        return clone;
+    }
+
     /**
      * @param key the key whose associated value is to be returned
      * @return the value to which the specified key is mapped, or 0 if this map contains no mapping for the key
@@ -29,8 +141,12 @@ public class JHashMap<K, V> extends HashMap<K, V> {
         if(value instanceof Number){
             return ((Number) value).intValue();
         }
+        Coerced memo = coerced(key, value);
+        if(memo != null){
+            return memo.isNumber ? memo.intValue() : defaultValue;
+        }
         String strValue = String.valueOf(value);
-        return Regex.isNumber(strValue) ? Integer.parseInt(strValue) : defaultValue;
+        return Regex.isNumber(strValue) ? Integer.valueOf(strValue) : defaultValue;
     }
 
     /**
@@ -52,8 +168,12 @@ public class JHashMap<K, V> extends HashMap<K, V> {
         if(value instanceof Number){
             return ((Number) value).longValue();
         }
+        Coerced memo = coerced(key, value);
+        if(memo != null){
+            return memo.isNumber ? memo.longValue() : defaultValue;
+        }
         String strValue = String.valueOf(value);
-        return Regex.isNumber(strValue) ? Long.parseLong(strValue) : defaultValue;
+        return Regex.isNumber(strValue) ? Long.valueOf(strValue) : defaultValue;
     }
 
     /**
@@ -75,7 +195,70 @@ public class JHashMap<K, V> extends HashMap<K, V> {
         if(value instanceof Number){
             return ((Number) value).doubleValue();
         }
+        Coerced memo = coerced(key, value);
+        if(memo != null){
+            return memo.isNumber ? memo.doubleValue() : defaultValue;
+        }
         String strValue = String.valueOf(value);
-        return Regex.isNumber(strValue) ? Double.parseDouble(strValue) : defaultValue;
+        return Regex.isNumber(strValue) ? Double.valueOf(strValue) : defaultValue;
+    }
+
+    /**
+     * @param key the key
+     * @param value current value of key
+     * @return remembered numbers of value, <code>null</code> if memoization is off or value is <code>null</code>
+     */
+    private Coerced coerced(K key, Object value){
+        if(coerced == null || Objects.isNull(value)){
+            return null;
+        }
+        Coerced memo = coerced.get(key);
+        /* value replaced without put/remove (putAll, compute, entry.setValue) */
+        if(memo == null || memo.value != value){
+            memo = new Coerced(value);
+            coerced.put(key, memo);
+            /* keys removed through views (keySet, entrySet, iterator, removeIf) leave memo behind */
+            if(coerced.size() > 2 * size() + 8){
+                coerced.keySet().retainAll(keySet());
+            }
+        }
+        return memo;
+    }
+
+    /** Numbers parsed from value, each type is parsed on first use. */
+    private static final class Coerced {
+        private final Object value;
+        private final String strValue;
+        private final boolean isNumber;
+        private Integer intValue;
+        private Long longValue;
+        private Double doubleValue;
+
+        private Coerced(Object value){
+            this.value = value;
+            this.strValue = String.valueOf(value);
+            this.isNumber = Regex.isNumber(strValue);
+        }
+
+        private Integer intValue(){
+            if(intValue == null){
+                intValue = Integer.valueOf(strValue);
+            }
+            return intValue;
+        }
+
+        private Long longValue(){
+            if(longValue == null){
+                longValue = Long.valueOf(strValue);
+            }
+            return longValue;
+        }
+
+        private Double doubleValue(){
+            if(doubleValue == null){
+                doubleValue = Double.valueOf(strValue);
+            }
+            return doubleValue;
+        }
     }
 }
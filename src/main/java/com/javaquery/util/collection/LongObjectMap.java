@@ -0,0 +1,220 @@
+package com.javaquery.util.collection;
+
+import com.javaquery.util.Assert;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Map of <code>long</code> keys to object values without boxing keys. Entries are stored in two
+ * arrays using open addressing with linear probing, there is no object per entry. Use it instead
+ * of <code>HashMap&lt;Long, V&gt;</code> for id lookups.
+ *
+ * <pre>
+ * LongObjectMap&lt;User&gt; users = new LongObjectMap&lt;&gt;(expectedUsers);
+ * users.put(user.getId(), user);
+ * User user = users.get(id);
+ * </pre>
+ *
+ * <p>Note: <code>null</code> values are not allowed. This class is not thread-safe.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class LongObjectMap<V> {
+
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int size;
+  /* key 0 marks free slot, its entry is kept outside the table */
+  private V zeroValue;
+
+  public LongObjectMap() {
+    this(PrimitiveMaps.DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * @param expectedSize number of entries expected, map grows beyond it when needed
+   * @throws IllegalArgumentException if expectedSize is negative
+   */
+  public LongObjectMap(int expectedSize) {
+    allocate(PrimitiveMaps.capacity(expectedSize));
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+  }
+
+  /** @return number of entries */
+  public int size() {
+    return size;
+  }
+
+  /** @return <code>true</code> if map has no entry */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @param key the key
+   * @return <code>true</code> if map has entry for key
+   */
+  public boolean containsKey(long key) {
+    return get(key) != null;
+  }
+
+  /**
+   * @param key the key whose associated value is to be returned
+   * @return the value to which the specified key is mapped, or <code>null</code> if this map
+   *     contains no mapping for the key
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    return key == 0 ? zeroValue : (V) values[slot(key)];
+  }
+
+  /**
+   * @param key the key whose associated value is to be returned
+   * @param defaultValue the default mapping of the key
+   * @return the value to which the specified key is mapped, or defaultValue if this map contains
+   *     no mapping for the key
+   */
+  public V opt(long key, V defaultValue) {
+    V value = get(key);
+    return value != null ? value : defaultValue;
+  }
+
+  /**
+   * @param key the key
+   * @param value value to associate with key
+   * @return previous value of key or <code>null</code>
+   * @throws NullPointerException if value is <code>null</code>
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    Assert.nonNull(value, NullPointerException::new);
+    if (key == 0) {
+      V previous = zeroValue;
+      if (previous == null) {
+        size++;
+      }
+      zeroValue = value;
+      return previous;
+    }
+    int slot = slot(key);
+    V previous = (V) values[slot];
+    if (previous == null) {
+      insert(slot, key, value);
+    } else {
+      values[slot] = value;
+    }
+    return previous;
+  }
+
+  /**
+   * @param key the key
+   * @param function creates value of missing key, must not return <code>null</code>
+   * @return existing or created value
+   * @throws NullPointerException if function returns <code>null</code>
+   */
+  public V computeIfAbsent(long key, LongFunction<? extends V> function) {
+    V value = get(key);
+    if (value == null) {
+      value = function.apply(key);
+      put(key, value);
+    }
+    return value;
+  }
+
+  /**
+   * @param key the key
+   * @return removed value or <code>null</code> if there was no entry
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    if (key == 0) {
+      V previous = zeroValue;
+      if (previous != null) {
+        zeroValue = null;
+        size--;
+      }
+      return previous;
+    }
+    int gap = slot(key);
+    V previous = (V) values[gap];
+    if (previous == null) {
+      return null;
+    }
+    for (int slot = (gap + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+      if (PrimitiveMaps.canShift(PrimitiveMaps.mix(keys[slot]) & mask, slot, gap, mask)) {
+        keys[gap] = keys[slot];
+        values[gap] = values[slot];
+        gap = slot;
+      }
+    }
+    keys[gap] = 0;
+    values[gap] = null;
+    size--;
+    return previous;
+  }
+
+  /** Remove all entries, capacity is kept. */
+  public void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, null);
+    zeroValue = null;
+    size = 0;
+  }
+
+  /** @param consumer called for each entry, order is unspecified */
+  @SuppressWarnings("unchecked")
+  public void forEach(EntryConsumer<? super V> consumer) {
+    if (zeroValue != null) {
+      consumer.accept(0, zeroValue);
+    }
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != 0) {
+        consumer.accept(keys[slot], (V) values[slot]);
+      }
+    }
+  }
+
+  /** @return slot of key or free slot where key should be inserted */
+  private int slot(long key) {
+    int slot = PrimitiveMaps.mix(key) & mask;
+    while (keys[slot] != 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void insert(int slot, long key, V value) {
+    keys[slot] = key;
+    values[slot] = value;
+    if (PrimitiveMaps.isFull(++size - (zeroValue != null ? 1 : 0), keys.length)) {
+      rehash(keys.length * 2);
+    }
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        int slot = slot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /** Receives entries of {@link LongObjectMap}. */
+  @FunctionalInterface
+  public interface EntryConsumer<V> {
+    void accept(long key, V value);
+  }
+}
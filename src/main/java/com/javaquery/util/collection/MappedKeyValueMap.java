@@ -0,0 +1,526 @@
+package com.javaquery.util.collection;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.io.Files;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Persistent key/value map stored off-heap in memory-mapped files. Use it for large lookup tables
+ * which should survive restart without loading and shouldn't sit on the GC heap.
+ *
+ * <pre>
+ * try (MappedKeyValueMap map = new MappedKeyValueMap(new JFile("/data/lookup.kv"))) {
+ *   map.put("sku-1", "Cake");
+ *   ByteBuffer value = map.view("sku-1".getBytes(StandardCharsets.UTF_8));
+ * }
+ * </pre>
+ *
+ * Map uses two files created with {@link Files}:
+ *
+ * <ul>
+ *   <li><code>file</code>: append-only records <code>[key length][value length][key][value]</code>
+ *   <li><code>file.index</code>: header and open-addressing hash table with linear probing, each
+ *       slot holds record offset, hash and length of key
+ * </ul>
+ *
+ * Files are mapped in segments of <code>segmentSize</code> bytes so they can grow beyond 2 GB,
+ * record never crosses a segment. {@link #view(byte[])} returns value backed by mapped file
+ * without copying, {@link #get(byte[], ByteBuffer)} copies it into caller buffer.
+ *
+ * <p>Note: Replaced and removed records are not reclaimed. Changes are written to disk by the
+ * operating system, call {@link #flush()} to force them, map is not crash-safe. Files grow in whole
+ * segments (sparse on most file systems). This class is not thread-safe.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class MappedKeyValueMap implements Closeable {
+
+  /** default size of mapped segment (64 MB), also maximum size of single record */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private static final int MAGIC = 0x4a514b56;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 64;
+  private static final int SLOT_SIZE = 16;
+  private static final int RECORD_HEADER_SIZE = 8;
+  /* offset stored in slot is record offset + 1, 0 marks free slot */
+  private static final long FREE = 0;
+  private static final long TOMBSTONE = -1;
+
+  private final File indexFile;
+  private final int segmentSize;
+  private final Region data;
+  private Region index;
+  private int capacity;
+  private long size;
+  private long tombstones;
+  private long dataEnd;
+  private boolean closed;
+
+  /**
+   * Open existing map or create new one with {@link #DEFAULT_SEGMENT_SIZE}.
+   *
+   * @param file data file, index is stored in <code>file.index</code>
+   * @throws IOException If an I/O error occurs
+   */
+  public MappedKeyValueMap(File file) throws IOException {
+    this(file, PrimitiveMaps.DEFAULT_EXPECTED_SIZE, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * @param file data file, index is stored in <code>file.index</code>
+   * @param expectedSize number of entries expected, used only when map is created
+   * @param segmentSize power of two size of mapped segment, used only when map is created
+   * @throws IOException If an I/O error occurs, files can't be created, or existing file is not a
+   *     map or has no index
+   * @throws IllegalArgumentException if expectedSize is negative or segmentSize is not a power of
+   *     two between 4 KB and 1 GB
+   */
+  public MappedKeyValueMap(File file, int expectedSize, int segmentSize) throws IOException {
+    Assert.nonNull(file, NullPointerException::new);
+    this.indexFile = new File(file.getPath() + ".index");
+    boolean exists = file.exists() || indexFile.exists();
+    if (!exists) {
+      Assert.isTrue(
+          Integer.bitCount(segmentSize) == 1 && segmentSize >= 4096 && segmentSize <= 1 << 30,
+          () -> new IllegalArgumentException("segmentSize must be power of two between 4 KB and 1 GB"));
+      capacity = PrimitiveMaps.capacity(expectedSize);
+      assertCreated(Files.createNewFile(file.getAbsoluteFile()), file);
+      assertCreated(Files.createNewFile(indexFile.getAbsoluteFile()), indexFile);
+    } else if (!file.exists() || !indexFile.exists()) {
+      /* never recreate existing file, it would drop all entries */
+      throw new IOException("MappedKeyValueMap requires both " + file + " and " + indexFile);
+    } else {
+      segmentSize = readSegmentSize(indexFile);
+    }
+    this.segmentSize = segmentSize;
+    this.data = new Region(file, segmentSize);
+    try {
+      this.index = new Region(indexFile, segmentSize);
+      if (exists) {
+        readHeader();
+      } else {
+        writeHeader(index);
+      }
+    } catch (IOException | RuntimeException e) {
+      close(data);
+      close(index);
+      throw e;
+    }
+  }
+
+  private static int readSegmentSize(File indexFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining() && channel.read(header) > 0) {}
+      int segmentSize = header.getInt(8);
+      if (header.getInt(0) != MAGIC
+          || header.getInt(4) != VERSION
+          || Integer.bitCount(segmentSize) != 1
+          || segmentSize < 4096) {
+        throw new IOException(indexFile + " is not a MappedKeyValueMap index");
+      }
+      return segmentSize;
+    }
+  }
+
+  private static void assertCreated(boolean created, File file) throws IOException {
+    if (!created) {
+      throw new IOException("Unable to create " + file);
+    }
+  }
+
+  private void readHeader() {
+    capacity = index.getInt(12);
+    size = index.getLong(16);
+    tombstones = index.getLong(24);
+    dataEnd = index.getLong(32);
+  }
+
+  private void writeHeader(Region region) {
+    region.putInt(0, MAGIC);
+    region.putInt(4, VERSION);
+    region.putInt(8, segmentSize);
+    region.putInt(12, capacity);
+    region.putLong(16, size);
+    region.putLong(24, tombstones);
+    region.putLong(32, dataEnd);
+  }
+
+  /** @return number of entries */
+  public long size() {
+    return size;
+  }
+
+  /** @return <code>true</code> if map has no entry */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @param key the key
+   * @return <code>true</code> if map has entry for key
+   */
+  public boolean containsKey(byte[] key) {
+    return find(key, hash(key)) >= 0;
+  }
+
+  /**
+   * @param key the key, encoded as UTF-8
+   * @return <code>true</code> if map has entry for key
+   */
+  public boolean containsKey(String key) {
+    return containsKey(utf8(key));
+  }
+
+  /**
+   * Store value of key, previous value of key is replaced.
+   *
+   * @param key the key
+   * @param value the value
+   * @throws IllegalArgumentException if record is larger than segment
+   */
+  public void put(byte[] key, byte[] value) {
+    Assert.nonNull(value, NullPointerException::new);
+    int hash = hash(key);
+    long found = find(key, hash);
+    long record = append(key, value);
+    if (found >= 0) {
+      index.putLong(slotOffset(found), record + 1);
+    } else {
+      long slot = -found - 1;
+      long offset = slotOffset(slot);
+      if (index.getLong(offset) == TOMBSTONE) {
+        tombstones--;
+      }
+      index.putLong(offset, record + 1);
+      index.putInt(offset + 8, hash);
+      index.putInt(offset + 12, key.length);
+      size++;
+      if (PrimitiveMaps.isFull((int) Math.min(size + tombstones, Integer.MAX_VALUE), capacity)) {
+        rehash(size * 2 > capacity / 2 ? capacity * 2 : capacity);
+      }
+    }
+    writeHeader(index);
+  }
+
+  /**
+   * Same as {@link #put(byte[], byte[])} with UTF-8 encoded key and value.
+   *
+   * @param key the key
+   * @param value the value
+   */
+  public void put(String key, String value) {
+    Assert.nonNull(value, NullPointerException::new);
+    put(utf8(key), value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param key the key
+   * @return read-only value backed by mapped file (no copy), <code>null</code> if there is no
+   *     entry. Buffer is valid until the map is closed.
+   */
+  public ByteBuffer view(byte[] key) {
+    long slot = find(key, hash(key));
+    if (slot < 0) {
+      return null;
+    }
+    long record = index.getLong(slotOffset(slot)) - 1;
+    ByteBuffer segment = data.segment(record);
+    int position = data.position(record);
+    int keyLength = segment.getInt(position);
+    int valueLength = segment.getInt(position + 4);
+    ByteBuffer view = segment.duplicate();
+    int start = position + RECORD_HEADER_SIZE + keyLength;
+    view.limit(start + valueLength).position(start);
+    return view.slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Copy value of key into <code>buffer</code> at its position.
+   *
+   * @param key the key
+   * @param buffer buffer to write value
+   * @return length of value, <code>-1</code> if there is no entry
+   * @throws BufferOverflowException if remaining space of buffer is less than length of value
+   */
+  public int get(byte[] key, ByteBuffer buffer) {
+    ByteBuffer view = view(key);
+    if (view == null) {
+      return -1;
+    }
+    int length = view.remaining();
+    buffer.put(view);
+    return length;
+  }
+
+  /**
+   * @param key the key
+   * @return copy of value, <code>null</code> if there is no entry
+   */
+  public byte[] get(byte[] key) {
+    ByteBuffer view = view(key);
+    if (view == null) {
+      return null;
+    }
+    byte[] value = new byte[view.remaining()];
+    view.get(value);
+    return value;
+  }
+
+  /**
+   * @param key the key, encoded as UTF-8
+   * @return value decoded as UTF-8, <code>null</code> if there is no entry
+   */
+  public String get(String key) {
+    byte[] value = get(utf8(key));
+    return value == null ? null : new String(value, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param key the key
+   * @return <code>true</code> if entry was removed
+   */
+  public boolean remove(byte[] key) {
+    long slot = find(key, hash(key));
+    if (slot < 0) {
+      return false;
+    }
+    index.putLong(slotOffset(slot), TOMBSTONE);
+    size--;
+    tombstones++;
+    writeHeader(index);
+    return true;
+  }
+
+  /**
+   * @param key the key, encoded as UTF-8
+   * @return <code>true</code> if entry was removed
+   */
+  public boolean remove(String key) {
+    return remove(utf8(key));
+  }
+
+  /** Force changes of mapped files to disk. */
+  public void flush() {
+    assertOpen();
+    index.force();
+    data.force();
+  }
+
+  /**
+   * Flush and close files. Buffers returned by {@link #view(byte[])} must not be used afterwards.
+   *
+   * @throws IOException If an I/O error occurs
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      flush();
+    } finally {
+      closed = true;
+      close(index);
+      close(data);
+    }
+  }
+
+  private static void close(Region region) throws IOException {
+    if (region != null) {
+      region.channel.close();
+    }
+  }
+
+  private void assertOpen() {
+    if (closed) {
+      throw new IllegalStateException("MappedKeyValueMap is closed");
+    }
+  }
+
+  private static byte[] utf8(String key) {
+    Assert.nonNull(key, NullPointerException::new);
+    return key.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** FNV-1a of key bytes spread by {@link PrimitiveMaps#mix(long)}. */
+  private static int hash(byte[] key) {
+    Assert.nonNull(key, NullPointerException::new);
+    int hash = 0x811c9dc5;
+    for (byte b : key) {
+      hash = (hash ^ (b & 0xff)) * 0x01000193;
+    }
+    return PrimitiveMaps.mix(hash);
+  }
+
+  private static long slotOffset(long slot) {
+    return HEADER_SIZE + slot * SLOT_SIZE;
+  }
+
+  /**
+   * @param key the key
+   * @param hash hash of key
+   * @return slot of key or <code>-(insertion slot) - 1</code> if key doesn't exist
+   */
+  private long find(byte[] key, int hash) {
+    assertOpen();
+    int mask = capacity - 1;
+    long insert = -1;
+    for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+      long offset = slotOffset(slot);
+      long record = index.getLong(offset);
+      if (record == FREE) {
+        return -(insert >= 0 ? insert : slot) - 1;
+      } else if (record == TOMBSTONE) {
+        insert = insert >= 0 ? insert : slot;
+      } else if (index.getInt(offset + 8) == hash
+          && index.getInt(offset + 12) == key.length
+          && keyEquals(record - 1, key)) {
+        return slot;
+      }
+    }
+  }
+
+  private boolean keyEquals(long record, byte[] key) {
+    ByteBuffer segment = data.segment(record);
+    int start = data.position(record) + RECORD_HEADER_SIZE;
+    for (int i = 0; i < key.length; i++) {
+      if (segment.get(start + i) != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** @return offset of appended record */
+  private long append(byte[] key, byte[] value) {
+    long length = (long) RECORD_HEADER_SIZE + key.length + value.length;
+    if (length > segmentSize) {
+      throw new IllegalArgumentException("Record of " + length + " bytes is larger than segment");
+    }
+    long record = dataEnd;
+    if (data.position(record) + length > segmentSize) {
+      /* record never crosses segment, start at next one */
+      record = (record | (segmentSize - 1)) + 1;
+    }
+    ByteBuffer segment = data.segment(record).duplicate();
+    int position = data.position(record);
+    segment.putInt(position, key.length);
+    segment.putInt(position + 4, value.length);
+    segment.position(position + RECORD_HEADER_SIZE);
+    segment.put(key);
+    segment.put(value);
+    dataEnd = record + length;
+    return record;
+  }
+
+  /** Rebuild index without tombstones in new file and replace index file with it. */
+  private void rehash(int newCapacity) {
+    File rebuilt = new File(indexFile.getPath() + ".tmp");
+    try {
+      assertCreated(Files.deleteAndCreateNewFile(rebuilt.getAbsoluteFile()), rebuilt);
+      Region region = new Region(rebuilt, segmentSize);
+      int mask = newCapacity - 1;
+      for (long slot = 0; slot < capacity; slot++) {
+        long offset = slotOffset(slot);
+        long record = index.getLong(offset);
+        if (record == FREE || record == TOMBSTONE) {
+          continue;
+        }
+        int hash = index.getInt(offset + 8);
+        long target = hash & mask;
+        while (region.getLong(slotOffset(target)) != FREE) {
+          target = (target + 1) & mask;
+        }
+        region.putLong(slotOffset(target), record);
+        region.putInt(slotOffset(target) + 8, hash);
+        region.putInt(slotOffset(target) + 12, index.getInt(offset + 12));
+      }
+      capacity = newCapacity;
+      tombstones = 0;
+      writeHeader(region);
+      region.force();
+      java.nio.file.Files.move(
+          rebuilt.toPath(),
+          indexFile.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      close(index);
+      index = region;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** File mapped in segments of same size, segments are mapped on first access. */
+  private static final class Region {
+    private final FileChannel channel;
+    private final int segmentSize;
+    private final int shift;
+    private MappedByteBuffer[] segments = new MappedByteBuffer[8];
+
+    private Region(File file, int segmentSize) throws IOException {
+      this.channel =
+          FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.segmentSize = segmentSize;
+      this.shift = Integer.numberOfTrailingZeros(segmentSize);
+    }
+
+    private MappedByteBuffer segment(long offset) {
+      int i = (int) (offset >>> shift);
+      if (i >= segments.length) {
+        segments = Arrays.copyOf(segments, Math.max(i + 1, segments.length * 2));
+      }
+      if (segments[i] == null) {
+        try {
+          segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << shift, segmentSize);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return segments[i];
+    }
+
+    private int position(long offset) {
+      return (int) (offset & (segmentSize - 1));
+    }
+
+    private long getLong(long offset) {
+      return segment(offset).getLong(position(offset));
+    }
+
+    private void putLong(long offset, long value) {
+      segment(offset).putLong(position(offset), value);
+    }
+
+    private int getInt(long offset) {
+      return segment(offset).getInt(position(offset));
+    }
+
+    private void putInt(long offset, int value) {
+      segment(offset).putInt(position(offset), value);
+    }
+
+    private void force() {
+      for (MappedByteBuffer segment : segments) {
+        if (segment != null) {
+          segment.force();
+        }
+      }
+    }
+  }
+}
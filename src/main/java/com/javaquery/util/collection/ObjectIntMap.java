@@ -0,0 +1,193 @@
+package com.javaquery.util.collection;
+
+import com.javaquery.util.Assert;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Map of object keys to <code>int</code> values without boxing values. Entries are stored in two
+ * arrays using open addressing with linear probing, there is no object per entry. Use it instead
+ * of <code>HashMap&lt;K, Integer&gt;</code> for counters.
+ *
+ * <pre>
+ * ObjectIntMap&lt;String&gt; counts = new ObjectIntMap&lt;&gt;();
+ * for (String word : words) {
+ *   counts.increment(word, 1);
+ * }
+ * </pre>
+ *
+ * <p>Note: <code>null</code> keys are not allowed. This class is not thread-safe.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class ObjectIntMap<K> {
+
+  /* null key marks free slot */
+  private Object[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+
+  public ObjectIntMap() {
+    this(PrimitiveMaps.DEFAULT_EXPECTED_SIZE);
+  }
+
+  /**
+   * @param expectedSize number of entries expected, map grows beyond it when needed
+   * @throws IllegalArgumentException if expectedSize is negative
+   */
+  public ObjectIntMap(int expectedSize) {
+    allocate(PrimitiveMaps.capacity(expectedSize));
+  }
+
+  private void allocate(int capacity) {
+    keys = new Object[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  /** @return number of entries */
+  public int size() {
+    return size;
+  }
+
+  /** @return <code>true</code> if map has no entry */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @param key the key
+   * @return <code>true</code> if map has entry for key
+   * @throws NullPointerException if key is <code>null</code>
+   */
+  public boolean containsKey(K key) {
+    return keys[slot(key)] != null;
+  }
+
+  /**
+   * @param key the key whose associated value is to be returned
+   * @return the value to which the specified key is mapped, or 0 if this map contains no mapping
+   *     for the key
+   * @throws NullPointerException if key is <code>null</code>
+   */
+  public int optInt(K key) {
+    return optInt(key, 0);
+  }
+
+  /**
+   * @param key the key whose associated value is to be returned
+   * @param defaultValue the default mapping of the key
+   * @return the value to which the specified key is mapped, or defaultValue if this map contains
+   *     no mapping for the key
+   * @throws NullPointerException if key is <code>null</code>
+   */
+  public int optInt(K key, int defaultValue) {
+    int slot = slot(key);
+    return keys[slot] != null ? values[slot] : defaultValue;
+  }
+
+  /**
+   * @param key the key
+   * @param value value to associate with key
+   * @throws NullPointerException if key is <code>null</code>
+   */
+  public void put(K key, int value) {
+    int slot = slot(key);
+    if (keys[slot] == null) {
+      insert(slot, key, value);
+    } else {
+      values[slot] = value;
+    }
+  }
+
+  /**
+   * Add delta to value of key, missing key starts at 0.
+   *
+   * @param key the key
+   * @param delta value to add
+   * @return new value of key
+   * @throws NullPointerException if key is <code>null</code>
+   */
+  public int increment(K key, int delta) {
+    int slot = slot(key);
+    if (keys[slot] == null) {
+      insert(slot, key, delta);
+      return delta;
+    }
+    return values[slot] += delta;
+  }
+
+  /**
+   * @param key the key
+   * @return <code>true</code> if entry was removed
+   * @throws NullPointerException if key is <code>null</code>
+   */
+  public boolean remove(K key) {
+    int gap = slot(key);
+    if (keys[gap] == null) {
+      return false;
+    }
+    for (int slot = (gap + 1) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+      if (PrimitiveMaps.canShift(PrimitiveMaps.mix(keys[slot].hashCode()) & mask, slot, gap, mask)) {
+        keys[gap] = keys[slot];
+        values[gap] = values[slot];
+        gap = slot;
+      }
+    }
+    keys[gap] = null;
+    values[gap] = 0;
+    size--;
+    return true;
+  }
+
+  /** Remove all entries, capacity is kept. */
+  public void clear() {
+    Arrays.fill(keys, null);
+    Arrays.fill(values, 0);
+    size = 0;
+  }
+
+  /** @param consumer called for each entry, order is unspecified */
+  @SuppressWarnings("unchecked")
+  public void forEach(ObjIntConsumer<? super K> consumer) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != null) {
+        consumer.accept((K) keys[slot], values[slot]);
+      }
+    }
+  }
+
+  /** @return slot of key or free slot where key should be inserted */
+  private int slot(Object key) {
+    Assert.nonNull(key, NullPointerException::new);
+    int slot = PrimitiveMaps.mix(key.hashCode()) & mask;
+    while (keys[slot] != null && !keys[slot].equals(key)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void insert(int slot, K key, int value) {
+    keys[slot] = key;
+    values[slot] = value;
+    if (PrimitiveMaps.isFull(++size, keys.length)) {
+      rehash(keys.length * 2);
+    }
+  }
+
+  private void rehash(int capacity) {
+    Object[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        int slot = slot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+}
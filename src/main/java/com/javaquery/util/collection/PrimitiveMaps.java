@@ -0,0 +1,73 @@
+package com.javaquery.util.collection;
+
+/**
+ * Sizing and hashing shared by open-addressing maps {@link IntIntMap}, {@link LongIntMap}, {@link
+ * LongObjectMap} and {@link ObjectIntMap}.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+final class PrimitiveMaps {
+
+  static final int DEFAULT_EXPECTED_SIZE = 8;
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private PrimitiveMaps() {}
+
+  /**
+   * Table is kept at most half full, probe sequences of linear probing stay short.
+   *
+   * @param expectedSize number of entries expected
+   * @return power of two capacity for expected entries
+   * @throws IllegalArgumentException if expectedSize is negative or too large
+   */
+  static int capacity(int expectedSize) {
+    if (expectedSize < 0 || expectedSize > MAX_CAPACITY / 2) {
+      throw new IllegalArgumentException("expectedSize out of range: " + expectedSize);
+    }
+    int capacity = 8;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /**
+   * @param size number of entries after insert
+   * @param capacity current capacity
+   * @return <code>true</code> if table must grow
+   */
+  static boolean isFull(int size, int capacity) {
+    if (size > capacity / 2) {
+      if (capacity == MAX_CAPACITY) {
+        throw new IllegalStateException("Map is full");
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /** Finalizer of MurmurHash3, spreads every bit of key over the slot index. */
+  static int mix(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return (int) key;
+  }
+
+  /**
+   * Backward shift deletion: entry at <code>slot</code> can fill the gap when gap is between its
+   * ideal slot and its current slot.
+   *
+   * @param ideal ideal slot of entry
+   * @param slot current slot of entry
+   * @param gap free slot
+   * @param mask capacity - 1
+   * @return <code>true</code> if entry should move to the gap
+   */
+  static boolean canShift(int ideal, int slot, int gap, int mask) {
+    return ((slot - ideal) & mask) >= ((slot - gap) & mask);
+  }
+}
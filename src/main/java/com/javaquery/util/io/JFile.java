@@ -2,10 +2,10 @@ package com.javaquery.util.io;
 
 import com.javaquery.util.Assert;
 import com.javaquery.util.collection.Collections;
+import com.javaquery.util.collection.CompactMap;
 import com.javaquery.util.string.Strings;
 
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -18,7 +18,7 @@ public final class JFile extends File {
 
   public JFile(String pathname) {
     super(pathname);
-    attributes = new HashMap<>();
+    attributes = new CompactMap<>();
   }
 
   /** @return file extension */
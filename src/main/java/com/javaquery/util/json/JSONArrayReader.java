@@ -0,0 +1,218 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Parse json array of objects in parallel. Text is scanned once to find the boundary of each top
+ * level element, then elements are parsed in chunks on fork-join pool of the stream. Use it for
+ * large payloads (bulk import) instead of single threaded <code>new org.json.JSONArray(text)
+ * </code>.
+ *
+ * <pre>
+ * new JSONArrayReader().batches(body, 500).forEach(batch -&gt; repository.saveAll(batch));
+ * </pre>
+ *
+ * <p>Note: Boundary scan checks brackets and strings only, syntax inside element is validated
+ * when element is parsed by terminal operation of the stream. Instance is immutable and can be
+ * shared between threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONArrayReader {
+
+  /** default number of characters parsed by single task (1M) */
+  public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+  private final int chunkSize;
+  private final boolean ordered;
+
+  /** Reader with {@link #DEFAULT_CHUNK_SIZE} which keeps order of elements. */
+  public JSONArrayReader() {
+    this(DEFAULT_CHUNK_SIZE, true);
+  }
+
+  /**
+   * @param chunkSize approximate number of characters parsed by single task
+   * @param ordered <code>true</code> to keep order of elements in stream, <code>false</code> is
+   *     faster when order doesn't matter
+   */
+  public JSONArrayReader(int chunkSize, boolean ordered) {
+    Assert.isTrue(chunkSize > 0, () -> new IllegalArgumentException("chunkSize must be positive"));
+    this.chunkSize = chunkSize;
+    this.ordered = ordered;
+  }
+
+  /**
+   * @param json json array of objects
+   * @return parallel stream of json object of each element
+   * @throws JSONException If json is not an array or brackets are not balanced, if element is not
+   *     a valid json object it is thrown by terminal operation
+   */
+  public Stream<JSONObject> read(String json) {
+    Boundaries boundaries = new Boundaries(json);
+    List<Integer> chunks = new ArrayList<>();
+    chunks.add(0);
+    int chars = 0;
+    for (int i = 0; i < boundaries.size; i++) {
+      chars += boundaries.ends[i] - boundaries.starts[i];
+      if (chars >= chunkSize && i + 1 < boundaries.size) {
+        chunks.add(i + 1);
+        chars = 0;
+      }
+    }
+    chunks.add(boundaries.size);
+    return stream(json, boundaries, chunks.stream().mapToInt(Integer::intValue).toArray())
+        .flatMap(List::stream);
+  }
+
+  /**
+   * Read array in batches, every batch has <code>batchSize</code> objects and last batch may be
+   * smaller. Batches are parsed in parallel.
+   *
+   * @param json json array of objects
+   * @param batchSize size of batch
+   * @return parallel stream of batches
+   * @throws IllegalArgumentException if batchSize is not positive
+   * @throws JSONException If json is not an array or brackets are not balanced, if element is not
+   *     a valid json object it is thrown by terminal operation
+   */
+  public Stream<List<JSONObject>> batches(String json, int batchSize) {
+    Assert.isTrue(batchSize > 0, () -> new IllegalArgumentException("batchSize must be positive"));
+    Boundaries boundaries = new Boundaries(json);
+    int count = (boundaries.size + batchSize - 1) / batchSize;
+    int[] chunks = new int[count + 1];
+    for (int i = 0; i < count; i++) {
+      chunks[i] = i * batchSize;
+    }
+    chunks[count] = boundaries.size;
+    return stream(json, boundaries, chunks);
+  }
+
+  private Stream<List<JSONObject>> stream(String json, Boundaries boundaries, int[] chunks) {
+    Stream<List<JSONObject>> stream =
+        IntStream.range(0, chunks.length - 1)
+            .parallel()
+            .mapToObj(i -> parse(json, boundaries, chunks[i], chunks[i + 1]));
+    return ordered ? stream : stream.unordered();
+  }
+
+  /**
+   * Parse elements of chunk.
+   *
+   * @param json json array
+   * @param boundaries boundaries of elements
+   * @param from index of first element of chunk
+   * @param to index after last element of chunk
+   * @return json objects of chunk
+   */
+  private static List<JSONObject> parse(String json, Boundaries boundaries, int from, int to) {
+    List<JSONObject> result = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      int start = boundaries.starts[i];
+      if (json.charAt(start) != '{') {
+        throw new JSONException("JSONArray[" + i + "] is not a JSONObject.");
+      }
+      result.add(new JSONObject(json.substring(start, boundaries.ends[i])));
+    }
+    return result;
+  }
+
+  /** Start and end offsets of top level elements found in one pass. */
+  static final class Boundaries {
+    int[] starts = new int[64];
+    int[] ends = new int[64];
+    int size;
+
+    Boundaries(String json) {
+      Assert.nonNull(json, NullPointerException::new);
+      int length = json.length();
+      int i = skipWhitespace(json, 0);
+      if (i == length || json.charAt(i) != '[') {
+        throw new JSONException("A JSONArray text must start with '[' at " + i);
+      }
+      i = skipWhitespace(json, i + 1);
+      if (i < length && json.charAt(i) == ']') {
+        end(json, i);
+        return;
+      }
+      while (true) {
+        int start = i;
+        int depth = 0;
+        boolean string = false;
+        int last = -1;
+        for (; i < length; i++) {
+          char c = json.charAt(i);
+          if (string) {
+            if (c == '\\') {
+              i++;
+            } else if (c == '"') {
+              string = false;
+            }
+          } else if (c == '"') {
+            string = true;
+          } else if (c == '{' || c == '[') {
+            depth++;
+          } else if (c == '}' || c == ']') {
+            if (depth == 0) {
+              break;
+            }
+            depth--;
+          } else if (c == ',' && depth == 0) {
+            break;
+          } else if (isWhitespace(c)) {
+            continue;
+          }
+          last = i;
+        }
+        if (i >= length) {
+          throw new JSONException("Unterminated JSONArray at " + start);
+        } else if (last < start) {
+          throw new JSONException("Missing value at " + start);
+        }
+        add(start, last + 1);
+        if (json.charAt(i) == ']') {
+          end(json, i);
+          return;
+        } else if (json.charAt(i) == '}') {
+          throw new JSONException("Expected ',' or ']' at " + i);
+        }
+        i = skipWhitespace(json, i + 1);
+      }
+    }
+
+    private void add(int start, int end) {
+      if (size == starts.length) {
+        starts = Arrays.copyOf(starts, size * 2);
+        ends = Arrays.copyOf(ends, size * 2);
+      }
+      starts[size] = start;
+      ends[size++] = end;
+    }
+
+    private static void end(String json, int bracket) {
+      int i = skipWhitespace(json, bracket + 1);
+      if (i < json.length()) {
+        throw new JSONException("Unexpected character after JSONArray at " + i);
+      }
+    }
+
+    private static int skipWhitespace(String json, int i) {
+      while (i < json.length() && isWhitespace(json.charAt(i))) {
+        i++;
+      }
+      return i;
+    }
+
+    private static boolean isWhitespace(char c) {
+      return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+  }
+}
@@ -0,0 +1,657 @@
+package com.javaquery.util.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bind {@link JSONObject} to plain java object and back. Properties of class are resolved once per
+ * class and cached, each property gets a getter and setter generated by {@link LambdaMetafactory}
+ * so binding costs about the same as hand written <code>optXxx</code> calls.
+ *
+ * <pre>
+ * public class Order {
+ *   &#64;JsonProperty("order_id")
+ *   private long orderId;
+ *   private List&lt;Item&gt; items;
+ *   ...getter/setter
+ * }
+ *
+ * Order order = JSONBinder.of(Order.class).bind(jsonObject);
+ * JSONObject json = JSONBinder.of(Order.class).toJSON(order);
+ * </pre>
+ *
+ * Property rules (subset of Jackson):
+ *
+ * <ul>
+ *   <li>Non static, non transient field is a property when it's annotated with {@link
+ *       JsonProperty}, is public or has public getter/setter. {@link JsonIgnore} excludes field.
+ *   <li>Name of property is {@link JsonProperty#value()} or name of field.
+ *   <li>Public getter/setter of public class is used, otherwise field is accessed directly. Final
+ *       field without setter is only written to json.
+ *   <li>Null value is not written when class or field is annotated with {@link JsonInclude} other
+ *       than {@link JsonInclude.Include#ALWAYS}.
+ *   <li>Supported types are primitives and wrappers, String, enum, BigDecimal, BigInteger, Date
+ *       (epoch millis), arrays, Collection, Map with String key, {@link JSONObject}, org.json types
+ *       and nested classes following the same rules.
+ *   <li>Collection and Map are created as declared class (e.g. <code>TreeSet</code>, <code>EnumSet
+ *       </code>), interface gets <code>ArrayList</code>, <code>LinkedHashSet</code>, <code>TreeSet
+ *       </code>, <code>LinkedList</code>, <code>LinkedHashMap</code>, <code>TreeMap</code> or
+ *       concurrent map. Other types are rejected when binder is created.
+ * </ul>
+ *
+ * <p>Note: Class must have no-arg constructor (can be private) to bind json. Binder is immutable
+ * and can be shared between threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONBinder<T> {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final ClassValue<JSONBinder<?>> BINDERS =
+      new ClassValue<JSONBinder<?>>() {
+        @Override
+        protected JSONBinder<?> computeValue(Class<?> type) {
+          return new JSONBinder<>(type);
+        }
+      };
+
+  /* implementations of interface or abstract collection types, first assignable one is used */
+  private static final Class<?>[] COLLECTION_TYPES = {
+    ArrayList.class, LinkedHashSet.class, TreeSet.class, LinkedList.class
+  };
+  private static final Class<?>[] MAP_TYPES = {
+    LinkedHashMap.class, TreeMap.class, ConcurrentHashMap.class, ConcurrentSkipListMap.class
+  };
+
+  private final Class<T> type;
+  private final Supplier<Object> constructor;
+  private final Property[] properties;
+
+  private JSONBinder(Class<T> type) {
+    this.type = type;
+    this.constructor = constructor(type);
+    this.properties = properties(type);
+  }
+
+  /**
+   * @param type class to bind
+   * @param <T> type of class
+   * @return cached binder of class
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> JSONBinder<T> of(Class<T> type) {
+    Assert.nonNull(type, NullPointerException::new);
+    return (JSONBinder<T>) BINDERS.get(type);
+  }
+
+  /**
+   * @param jsonObject json to bind
+   * @return new object with properties from json, property not present in json keeps its default
+   *     value
+   * @throws JSONException if class has no no-arg constructor or value can't be converted to type of
+   *     property
+   */
+  public T bind(JSONObject jsonObject) {
+    Assert.nonNull(jsonObject, NullPointerException::new);
+    return bind(jsonObject.root());
+  }
+
+  /**
+   * @param jsonObject json to bind
+   * @return new object with properties from json, property not present in json keeps its default
+   *     value
+   * @throws JSONException if class has no no-arg constructor or value can't be converted to type of
+   *     property
+   */
+  public T bind(org.json.JSONObject jsonObject) {
+    Assert.nonNull(jsonObject, NullPointerException::new);
+    if (Objects.isNull(constructor)) {
+      throw new JSONException("No no-arg constructor found for " + type.getName());
+    }
+    T object = type.cast(constructor.get());
+    for (Property property : properties) {
+      if (Objects.isNull(property.setter)) {
+        continue;
+      }
+      Object value = jsonObject.opt(property.name);
+      if (Objects.isNull(value) || (value == org.json.JSONObject.NULL && property.primitive)) {
+        continue;
+      }
+      try {
+        property.setter.accept(
+            object, value == org.json.JSONObject.NULL ? null : property.reader.apply(value));
+      } catch (RuntimeException e) {
+        throw new JSONException(
+            "Unable to bind '" + property.name + "' of " + type.getName() + ": " + e, e);
+      }
+    }
+    return object;
+  }
+
+  /**
+   * @param object object to convert
+   * @return json of object properties
+   */
+  public JSONObject toJSON(T object) {
+    Assert.nonNull(object, NullPointerException::new);
+    return new JSONObject(write(object));
+  }
+
+  private org.json.JSONObject write(Object object) {
+    org.json.JSONObject jsonObject = new org.json.JSONObject();
+    for (Property property : properties) {
+      if (Objects.isNull(property.getter)) {
+        continue;
+      }
+      Object value = property.getter.apply(object);
+      if (Objects.nonNull(value)) {
+        jsonObject.put(property.name, toJSONValue(value));
+      } else if (property.includeNull) {
+        jsonObject.put(property.name, org.json.JSONObject.NULL);
+      }
+    }
+    return jsonObject;
+  }
+
+  /**
+   * Stream properties of object to writer without building <code>org.json</code> tree.
+   *
+   * @param object object of this binder's class
+   * @param writer writer positioned where value is allowed
+   */
+  void write(Object object, JSONWriter writer) {
+    writer.object();
+    for (Property property : properties) {
+      if (Objects.isNull(property.getter)) {
+        continue;
+      }
+      Object value = property.getter.apply(object);
+      if (Objects.nonNull(value) || property.includeNull) {
+        writer.key(property.jsonName).value(value);
+      }
+    }
+    writer.endObject();
+  }
+
+  /**
+   * @param value java value
+   * @return value accepted by <code>org.json</code>
+   */
+  private static Object toJSONValue(Object value) {
+    if (Objects.isNull(value)) {
+      return org.json.JSONObject.NULL;
+    } else if (value instanceof String
+        || value instanceof Number
+        || value instanceof Boolean
+        || value instanceof org.json.JSONObject
+        || value instanceof JSONArray
+        || value == org.json.JSONObject.NULL) {
+      return value;
+    } else if (value instanceof Character) {
+      return value.toString();
+    } else if (value instanceof Enum) {
+      return ((Enum<?>) value).name();
+    } else if (value instanceof Date) {
+      return ((Date) value).getTime();
+    } else if (value instanceof JSONObject) {
+      return ((JSONObject) value).root();
+    } else if (value instanceof Map) {
+      org.json.JSONObject jsonObject = new org.json.JSONObject();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        jsonObject.put(String.valueOf(entry.getKey()), toJSONValue(entry.getValue()));
+      }
+      return jsonObject;
+    } else if (value instanceof Iterable) {
+      JSONArray jsonArray = new JSONArray();
+      for (Object element : (Iterable<?>) value) {
+        jsonArray.put(toJSONValue(element));
+      }
+      return jsonArray;
+    } else if (value.getClass().isArray()) {
+      int length = Array.getLength(value);
+      JSONArray jsonArray = new JSONArray();
+      for (int i = 0; i < length; i++) {
+        jsonArray.put(toJSONValue(Array.get(value, i)));
+      }
+      return jsonArray;
+    }
+    return BINDERS.get(value.getClass()).write(value);
+  }
+
+  /**
+   * @param type declared type of property
+   * @return function to convert json value to declared type
+   */
+  private static Function<Object, Object> reader(Type type) {
+    Class<?> raw = rawType(type);
+    if (raw == String.class) {
+      return String::valueOf;
+    } else if (raw == int.class || raw == Integer.class) {
+      return value -> number(value).intValue();
+    } else if (raw == long.class || raw == Long.class) {
+      return value -> number(value).longValue();
+    } else if (raw == double.class || raw == Double.class) {
+      return value -> number(value).doubleValue();
+    } else if (raw == float.class || raw == Float.class) {
+      return value -> number(value).floatValue();
+    } else if (raw == short.class || raw == Short.class) {
+      return value -> number(value).shortValue();
+    } else if (raw == byte.class || raw == Byte.class) {
+      return value -> number(value).byteValue();
+    } else if (raw == boolean.class || raw == Boolean.class) {
+      return value -> value instanceof Boolean ? value : Boolean.valueOf(value.toString());
+    } else if (raw == char.class || raw == Character.class) {
+      return value -> value.toString().charAt(0);
+    } else if (raw == BigDecimal.class) {
+      return value -> value instanceof BigDecimal ? value : new BigDecimal(value.toString());
+    } else if (raw == BigInteger.class) {
+      return value -> value instanceof BigInteger ? value : new BigInteger(value.toString());
+    } else if (raw == Date.class) {
+      return value -> new Date(number(value).longValue());
+    } else if (raw.isEnum()) {
+      return value -> enumValue(raw, value.toString());
+    } else if (raw == Object.class
+        || raw == org.json.JSONObject.class
+        || raw == JSONArray.class) {
+      return value -> value;
+    } else if (raw == JSONObject.class) {
+      return value -> new JSONObject((org.json.JSONObject) value);
+    } else if (raw.isArray()) {
+      Type componentType =
+          type instanceof GenericArrayType
+              ? ((GenericArrayType) type).getGenericComponentType()
+              : raw.getComponentType();
+      Function<Object, Object> elementReader = reader(componentType);
+      Class<?> componentClass = raw.getComponentType();
+      return value -> {
+        JSONArray jsonArray = (JSONArray) value;
+        Object array = Array.newInstance(componentClass, jsonArray.length());
+        for (int i = 0; i < jsonArray.length(); i++) {
+          Object element = jsonArray.opt(i);
+          if (element != org.json.JSONObject.NULL) {
+            Array.set(array, i, elementReader.apply(element));
+          }
+        }
+        return array;
+      };
+    } else if (Collection.class.isAssignableFrom(raw)) {
+      Type elementType = typeArgument(type, 0);
+      Function<Object, Object> elementReader = reader(elementType);
+      Supplier<Object> factory = containerFactory(raw, rawType(elementType), COLLECTION_TYPES);
+      return value -> {
+        JSONArray jsonArray = (JSONArray) value;
+        @SuppressWarnings("unchecked")
+        Collection<Object> collection = (Collection<Object>) factory.get();
+        for (int i = 0; i < jsonArray.length(); i++) {
+          Object element = jsonArray.opt(i);
+          collection.add(
+              element == org.json.JSONObject.NULL ? null : elementReader.apply(element));
+        }
+        return collection;
+      };
+    } else if (Map.class.isAssignableFrom(raw)) {
+      Function<Object, Object> valueReader = reader(typeArgument(type, 1));
+      Supplier<Object> factory = containerFactory(raw, rawType(typeArgument(type, 0)), MAP_TYPES);
+      return value -> {
+        org.json.JSONObject jsonObject = (org.json.JSONObject) value;
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) factory.get();
+        for (String key : jsonObject.keySet()) {
+          Object element = jsonObject.opt(key);
+          map.put(key, element == org.json.JSONObject.NULL ? null : valueReader.apply(element));
+        }
+        return map;
+      };
+    }
+    /* binder of nested class is resolved on use so self referencing classes are supported */
+    return value -> BINDERS.get(raw).bind((org.json.JSONObject) value);
+  }
+
+  /**
+   * @param raw declared collection or map type
+   * @param elementType element type of collection or key type of map
+   * @param defaultTypes implementations used in order when declared type is interface or abstract
+   * @return factory of empty collection or map
+   * @throws JSONException if declared type can't be instantiated
+   */
+  private static Supplier<Object> containerFactory(
+      Class<?> raw, Class<?> elementType, Class<?>[] defaultTypes) {
+    if (raw == EnumSet.class && elementType.isEnum()) {
+      return () -> enumSet(elementType);
+    }
+    if (Map.class.isAssignableFrom(raw) && elementType != String.class && elementType != Object.class) {
+      throw new JSONException("Unsupported key type " + elementType.getName() + " of " + raw.getName());
+    }
+    if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+      for (Class<?> defaultType : defaultTypes) {
+        if (raw.isAssignableFrom(defaultType)) {
+          raw = defaultType;
+          break;
+        }
+      }
+    }
+    Supplier<Object> constructor = constructor(raw);
+    if (Objects.isNull(constructor)) {
+      throw new JSONException("Unsupported type " + raw.getName() + ", no no-arg constructor found");
+    }
+    return constructor;
+  }
+
+  private static Number number(Object value) {
+    Number number = JSONSelector.toNumber(value);
+    if (Objects.isNull(number)) {
+      throw new NumberFormatException("Not a number: " + value);
+    }
+    return number;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Object enumValue(Class<?> type, String name) {
+    return Enum.valueOf((Class<? extends Enum>) type, name);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Object enumSet(Class<?> type) {
+    return EnumSet.noneOf((Class<? extends Enum>) type);
+  }
+
+  private static Class<?> rawType(Type type) {
+    if (type instanceof Class) {
+      return (Class<?>) type;
+    } else if (type instanceof ParameterizedType) {
+      return rawType(((ParameterizedType) type).getRawType());
+    } else if (type instanceof GenericArrayType) {
+      Class<?> component = rawType(((GenericArrayType) type).getGenericComponentType());
+      return Array.newInstance(component, 0).getClass();
+    }
+    /* type variable or wildcard */
+    return Object.class;
+  }
+
+  private static Type typeArgument(Type type, int index) {
+    if (type instanceof ParameterizedType) {
+      Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+      if (index < arguments.length) {
+        return arguments[index];
+      }
+    }
+    return Object.class;
+  }
+
+  private static Property[] properties(Class<?> type) {
+    List<Class<?>> hierarchy = new ArrayList<>();
+    for (Class<?> current = type;
+        Objects.nonNull(current) && current != Object.class;
+        current = current.getSuperclass()) {
+      hierarchy.add(0, current);
+    }
+
+    JsonInclude classInclude = type.getAnnotation(JsonInclude.class);
+    Map<String, Property> properties = new LinkedHashMap<>();
+    for (Class<?> declaringClass : hierarchy) {
+      for (Field field : declaringClass.getDeclaredFields()) {
+        int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers)
+            || Modifier.isTransient(modifiers)
+            || field.isSynthetic()
+            || isIgnored(field)) {
+          continue;
+        }
+
+        JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+        Method getter = getter(type, field);
+        Method setter = setter(type, field);
+        if (Objects.isNull(jsonProperty)
+            && !Modifier.isPublic(modifiers)
+            && Objects.isNull(getter)
+            && Objects.isNull(setter)) {
+          continue;
+        }
+
+        String name =
+            Objects.isNull(jsonProperty) || jsonProperty.value().isEmpty()
+                ? field.getName()
+                : jsonProperty.value();
+        JsonProperty.Access access =
+            Objects.isNull(jsonProperty) ? JsonProperty.Access.AUTO : jsonProperty.access();
+        JsonInclude include = field.getAnnotation(JsonInclude.class);
+        include = Objects.isNull(include) ? classInclude : include;
+
+        Property property = new Property();
+        property.name = name;
+        property.jsonName = JSONWriter.Name.of(name);
+        property.primitive = field.getType().isPrimitive();
+        property.includeNull =
+            Objects.isNull(include) || include.value() == JsonInclude.Include.ALWAYS;
+        if (access != JsonProperty.Access.WRITE_ONLY) {
+          property.getter = getterFunction(type, field, getter);
+        }
+        if (access != JsonProperty.Access.READ_ONLY
+            && (Objects.nonNull(setter) || !Modifier.isFinal(modifiers))) {
+          try {
+            property.reader = reader(field.getGenericType());
+          } catch (JSONException e) {
+            throw new JSONException(
+                "Unable to bind '" + name + "' of " + type.getName() + ": " + e.getMessage(), e);
+          }
+          property.setter = setterFunction(type, field, setter);
+        }
+        properties.putIfAbsent(name, property);
+      }
+    }
+    return properties.values().toArray(new Property[0]);
+  }
+
+  private static boolean isIgnored(Field field) {
+    JsonIgnore jsonIgnore = field.getAnnotation(JsonIgnore.class);
+    return Objects.nonNull(jsonIgnore) && jsonIgnore.value();
+  }
+
+  private static Method getter(Class<?> type, Field field) {
+    String suffix = capitalize(field.getName());
+    Method method = publicMethod(type, "get" + suffix);
+    if (Objects.isNull(method) && field.getType() == boolean.class) {
+      method = publicMethod(type, "is" + suffix);
+    }
+    return Objects.nonNull(method) && method.getReturnType() == field.getType() ? method : null;
+  }
+
+  private static Method setter(Class<?> type, Field field) {
+    return publicMethod(type, "set" + capitalize(field.getName()), field.getType());
+  }
+
+  private static Method publicMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+    try {
+      Method method = type.getMethod(name, parameterTypes);
+      return Modifier.isStatic(method.getModifiers()) ? null : method;
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> getterFunction(
+      Class<?> type, Field field, Method getter) {
+    try {
+      if (Objects.nonNull(getter) && isLinkable(type) && isLinkable(getter.getDeclaringClass())) {
+        MethodHandle handle = LOOKUP.unreflect(getter);
+        CallSite callSite =
+            LambdaMetafactory.metafactory(
+                LOOKUP,
+                "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                handle,
+                MethodType.methodType(box(field.getType()), type));
+        return (Function<Object, Object>) callSite.getTarget().invokeExact();
+      }
+      field.setAccessible(true);
+      MethodHandle handle =
+          LOOKUP.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+      return object -> {
+        try {
+          return handle.invokeExact(object);
+        } catch (Throwable e) {
+          throw propagate(e);
+        }
+      };
+    } catch (Throwable e) {
+      throw new JSONException("Unable to access '" + field.getName() + "' of " + type.getName(), e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> setterFunction(
+      Class<?> type, Field field, Method setter) {
+    try {
+      if (Objects.nonNull(setter) && isLinkable(type) && isLinkable(setter.getDeclaringClass())) {
+        MethodHandle handle = LOOKUP.unreflect(setter);
+        CallSite callSite =
+            LambdaMetafactory.metafactory(
+                LOOKUP,
+                "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                handle,
+                MethodType.methodType(void.class, type, box(field.getType())));
+        return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+      }
+      field.setAccessible(true);
+      MethodHandle handle =
+          LOOKUP
+              .unreflectSetter(field)
+              .asType(MethodType.methodType(void.class, Object.class, Object.class));
+      return (object, value) -> {
+        try {
+          handle.invokeExact(object, value);
+        } catch (Throwable e) {
+          throw propagate(e);
+        }
+      };
+    } catch (Throwable e) {
+      throw new JSONException("Unable to access '" + field.getName() + "' of " + type.getName(), e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Supplier<Object> constructor(Class<?> type) {
+    if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+      return null;
+    }
+    try {
+      Constructor<?> constructor = type.getDeclaredConstructor();
+      if (Modifier.isPublic(constructor.getModifiers()) && isLinkable(type)) {
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+        CallSite callSite =
+            LambdaMetafactory.metafactory(
+                LOOKUP,
+                "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                handle,
+                MethodType.methodType(type));
+        return (Supplier<Object>) callSite.getTarget().invokeExact();
+      }
+      constructor.setAccessible(true);
+      MethodHandle handle =
+          LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+      return () -> {
+        try {
+          return handle.invokeExact();
+        } catch (Throwable e) {
+          throw propagate(e);
+        }
+      };
+    } catch (NoSuchMethodException e) {
+      return null;
+    } catch (Throwable e) {
+      throw new JSONException("Unable to access constructor of " + type.getName(), e);
+    }
+  }
+
+  /**
+   * Lambda generated by {@link LambdaMetafactory} can only call class which is public (including
+   * enclosing classes) and visible from class loader of this library.
+   */
+  private static boolean isLinkable(Class<?> type) {
+    for (Class<?> current = type; Objects.nonNull(current); current = current.getEnclosingClass()) {
+      if (!Modifier.isPublic(current.getModifiers())) {
+        return false;
+      }
+    }
+    try {
+      return Class.forName(type.getName(), false, JSONBinder.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private static Class<?> box(Class<?> type) {
+    if (!type.isPrimitive()) {
+      return type;
+    }
+    return MethodType.methodType(type).wrap().returnType();
+  }
+
+  private static RuntimeException propagate(Throwable e) {
+    if (e instanceof RuntimeException) {
+      return (RuntimeException) e;
+    } else if (e instanceof Error) {
+      throw (Error) e;
+    }
+    return new IllegalStateException(e);
+  }
+
+  /** Resolved property of class. */
+  private static final class Property {
+    private String name;
+    private JSONWriter.Name jsonName;
+    private boolean primitive;
+    private boolean includeNull;
+    private Function<Object, Object> reader;
+    private Function<Object, Object> getter;
+    private BiConsumer<Object, Object> setter;
+  }
+}
@@ -0,0 +1,267 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import org.json.JSONArray;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Canonical form of {@link JSONObject} for deduplication and cache keys. Two documents with same
+ * content have the same canonical bytes regardless of key order, whitespace or number formatting.
+ *
+ * <ul>
+ *   <li>Keys of object are sorted by UTF-16 code units (same as {@link String#compareTo}).
+ *   <li>No whitespace, strings are escaped same as {@link JSONWriter}.
+ *   <li>Numbers are normalized by value, <code>1</code>, <code>1.0</code> and <code>1e0</code> are
+ *       written as <code>1</code>. Fraction is written without trailing zeros, in plain notation
+ *       when exponent is -6 or above (<code>0.000015</code>) otherwise in scientific notation
+ *       (<code>1.5E-7</code>).
+ * </ul>
+ *
+ * Hash is computed while canonical bytes are streamed in small chunks, canonical
+ * <code>String</code> is never created.
+ *
+ * <pre>
+ * long key = JSONCanonical.hash64(event);
+ * if (seen.add(key)) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONCanonical {
+
+  private JSONCanonical() {}
+
+  /**
+   * Write canonical UTF-8 bytes of json object. Stream is not closed.
+   *
+   * @param jsonObject json object to write
+   * @param outputStream stream to write
+   * @throws java.io.UncheckedIOException If an I/O error occurs
+   */
+  public static void write(JSONObject jsonObject, OutputStream outputStream) {
+    Assert.nonNull(jsonObject, NullPointerException::new);
+    Assert.nonNull(outputStream, NullPointerException::new);
+    try (JSONWriter writer = new JSONWriter(outputStream)) {
+      write(jsonObject.root(), writer);
+    }
+  }
+
+  /**
+   * @param jsonObject json object
+   * @return canonical json string
+   */
+  public static String toString(JSONObject jsonObject) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    write(jsonObject, outputStream);
+    return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param jsonObject json object
+   * @return 64-bit hash of canonical bytes, first half of {@link #hash128(JSONObject)}
+   */
+  public static long hash64(JSONObject jsonObject) {
+    return hash128(jsonObject)[0];
+  }
+
+  /**
+   * @param jsonObject json object
+   * @return 128-bit MurmurHash3 (x64 variant, seed 0) of canonical bytes as two longs
+   */
+  public static long[] hash128(JSONObject jsonObject) {
+    Murmur3OutputStream outputStream = new Murmur3OutputStream();
+    write(jsonObject, outputStream);
+    return outputStream.hash();
+  }
+
+  private static void write(Object value, JSONWriter writer) {
+    if (value instanceof org.json.JSONObject) {
+      org.json.JSONObject jsonObject = (org.json.JSONObject) value;
+      String[] keys = jsonObject.keySet().toArray(new String[0]);
+      Arrays.sort(keys);
+      writer.object();
+      for (String key : keys) {
+        writer.key(key);
+        write(jsonObject.opt(key), writer);
+      }
+      writer.endObject();
+    } else if (value instanceof JSONArray) {
+      JSONArray jsonArray = (JSONArray) value;
+      writer.array();
+      for (int i = 0; i < jsonArray.length(); i++) {
+        write(jsonArray.opt(i), writer);
+      }
+      writer.endArray();
+    } else if (value instanceof Number) {
+      writer.number(normalize((Number) value));
+    } else {
+      writer.value(value);
+    }
+  }
+
+  /**
+   * @param number the number
+   * @return normalized text of number
+   * @throws org.json.JSONException if number is not finite
+   */
+  static String normalize(Number number) {
+    if (number instanceof Integer
+        || number instanceof Long
+        || number instanceof Short
+        || number instanceof Byte) {
+      return Long.toString(number.longValue());
+    }
+    BigDecimal decimal;
+    if (number instanceof BigDecimal) {
+      decimal = (BigDecimal) number;
+    } else if (number instanceof BigInteger) {
+      return number.toString();
+    } else {
+      double value = number.doubleValue();
+      if (!Double.isFinite(value)) {
+        throw new org.json.JSONException("JSON does not allow non-finite numbers.");
+      }
+      /* cast saturates at 2^63, values outside long range take the BigDecimal path */
+      if (value >= -0x1p63 && value < 0x1p63 && value == (long) value) {
+        return Long.toString((long) value);
+      }
+      /* Float.toString avoids widening noise like 0.10000000149011612 */
+      decimal =
+          new BigDecimal(
+              number instanceof Float ? Float.toString((Float) number) : Double.toString(value));
+    }
+    if (decimal.signum() == 0) {
+      return "0";
+    }
+    decimal = decimal.stripTrailingZeros();
+    if (decimal.scale() <= 0) {
+      return decimal.toBigInteger().toString();
+    }
+    /* exponent of scientific notation */
+    int exponent = decimal.precision() - decimal.scale() - 1;
+    return exponent >= -6 ? decimal.toPlainString() : decimal.toString();
+  }
+
+  /** Streaming MurmurHash3 x64 128-bit. */
+  static final class Murmur3OutputStream extends OutputStream {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final byte[] block = new byte[16];
+    private int blockLength;
+    private long length;
+    private long h1;
+    private long h2;
+
+    @Override
+    public void write(int b) {
+      block[blockLength++] = (byte) b;
+      if (blockLength == 16) {
+        mixBlock(block, 0);
+        blockLength = 0;
+      }
+      length++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int count) {
+      length += count;
+      int end = offset + count;
+      if (blockLength > 0) {
+        int copy = Math.min(16 - blockLength, count);
+        System.arraycopy(bytes, offset, block, blockLength, copy);
+        blockLength += copy;
+        offset += copy;
+        if (blockLength < 16) {
+          return;
+        }
+        mixBlock(block, 0);
+        blockLength = 0;
+      }
+      while (end - offset >= 16) {
+        mixBlock(bytes, offset);
+        offset += 16;
+      }
+      blockLength = end - offset;
+      System.arraycopy(bytes, offset, block, 0, blockLength);
+    }
+
+    private void mixBlock(byte[] bytes, int offset) {
+      long k1 = getLong(bytes, offset);
+      long k2 = getLong(bytes, offset + 8);
+      h1 ^= mixK1(k1);
+      h1 = Long.rotateLeft(h1, 27);
+      h1 += h2;
+      h1 = h1 * 5 + 0x52dce729;
+      h2 ^= mixK2(k2);
+      h2 = Long.rotateLeft(h2, 31);
+      h2 += h1;
+      h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    /** @return hash of bytes written so far, stream can't be used afterwards */
+    long[] hash() {
+      long k1 = 0;
+      long k2 = 0;
+      for (int i = blockLength - 1; i >= 8; i--) {
+        k2 = (k2 << 8) | (block[i] & 0xff);
+      }
+      for (int i = Math.min(blockLength, 8) - 1; i >= 0; i--) {
+        k1 = (k1 << 8) | (block[i] & 0xff);
+      }
+      if (blockLength > 8) {
+        h2 ^= mixK2(k2);
+      }
+      if (blockLength > 0) {
+        h1 ^= mixK1(k1);
+      }
+      h1 ^= length;
+      h2 ^= length;
+      h1 += h2;
+      h2 += h1;
+      h1 = fmix(h1);
+      h2 = fmix(h2);
+      h1 += h2;
+      h2 += h1;
+      return new long[] {h1, h2};
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+      long value = 0;
+      for (int i = 7; i >= 0; i--) {
+        value = (value << 8) | (bytes[offset + i] & 0xff);
+      }
+      return value;
+    }
+
+    private static long mixK1(long k1) {
+      k1 *= C1;
+      k1 = Long.rotateLeft(k1, 31);
+      return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+      k2 *= C2;
+      k2 = Long.rotateLeft(k2, 33);
+      return k2 * C1;
+    }
+
+    private static long fmix(long k) {
+      k ^= k >>> 33;
+      k *= 0xff51afd7ed558ccdL;
+      k ^= k >>> 33;
+      k *= 0xc4ceb9fe1a85ec53L;
+      k ^= k >>> 33;
+      return k;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import com.javaquery.util.collection.JHashMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Extract values of selected paths from JSON text in a single pass without building the complete
+ * <code>org.json</code> tree. Unrequested values are skipped without creating objects and reading
+ * stops as soon as all paths are found.
+ *
+ * <pre>
+ * private static final JSONExtractor EXTRACTOR = JSONExtractor.compile("order.id", "order.items[0].sku");
+ * ...
+ * JHashMap&lt;String, Object&gt; values = EXTRACTOR.extract(inputStream);
+ * String sku = (String) values.get("order.items[0].sku");
+ * </pre>
+ *
+ * Path uses the same syntax as {@link JSONObject}, <code>array[n]</code> at the end of path
+ * selects the element of array. Value of path is String, Boolean, Number, {@link
+ * org.json.JSONObject#NULL}, org.json.JSONObject or {@link org.json.JSONArray}.
+ *
+ * <p>Note: Instance is immutable and can be shared between threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONExtractor {
+
+  private final String[] expressions;
+  private final PathTrie root;
+
+  private JSONExtractor(Collection<String> paths) {
+    Set<String> distinct = new LinkedHashSet<>(paths);
+    expressions = distinct.toArray(new String[0]);
+    JSONPath[] jsonPaths = new JSONPath[expressions.length];
+    for (int i = 0; i < expressions.length; i++) {
+      jsonPaths[i] = JSONPath.compile(expressions[i]);
+    }
+    root = PathTrie.build(jsonPaths);
+  }
+
+  /**
+   * @param paths paths to extract
+   * @return extractor of provided paths
+   * @throws IllegalArgumentException if any path is invalid
+   */
+  public static JSONExtractor compile(String... paths) {
+    Assert.nonNull(paths, NullPointerException::new);
+    return compile(Arrays.asList(paths));
+  }
+
+  /**
+   * @param paths paths to extract
+   * @return extractor of provided paths
+   * @throws IllegalArgumentException if any path is invalid
+   */
+  public static JSONExtractor compile(Collection<String> paths) {
+    Assert.nonNull(paths, NullPointerException::new);
+    return new JSONExtractor(paths);
+  }
+
+  /**
+   * @param json json string
+   * @return map of path and value, path not found in json is not present in map
+   * @throws org.json.JSONException If json is malformed
+   */
+  public JHashMap<String, Object> extract(String json) {
+    try {
+      return extract(new StringReader(json));
+    } catch (IOException e) {
+      /* StringReader doesn't throw IOException */
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Read UTF-8 json from <code>inputStream</code>. Stream is not closed.
+   *
+   * @param inputStream stream to read json
+   * @return map of path and value, path not found in json is not present in map
+   * @throws IOException If an I/O error occurs
+   * @throws org.json.JSONException If json is malformed
+   */
+  public JHashMap<String, Object> extract(InputStream inputStream) throws IOException {
+    return extract(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Read json from <code>reader</code>. Reader is not closed.
+   *
+   * @param reader reader to read json
+   * @return map of path and value, path not found in json is not present in map
+   * @throws IOException If an I/O error occurs
+   * @throws org.json.JSONException If json is malformed
+   */
+  public JHashMap<String, Object> extract(Reader reader) throws IOException {
+    Assert.nonNull(reader, NullPointerException::new);
+    Object[] values = new Object[expressions.length];
+    new Extraction(new JSONStreamReader(reader), values).document(root);
+
+    JHashMap<String, Object> result = new JHashMap<>();
+    for (int i = 0; i < expressions.length; i++) {
+      if (Objects.nonNull(values[i])) {
+        result.put(expressions[i], values[i]);
+      }
+    }
+    return result;
+  }
+
+  /** State of single extraction. */
+  private final class Extraction {
+    private final JSONStreamReader in;
+    private final Object[] values;
+    private final StringBuilder name = new StringBuilder();
+    private final StringBuilder scratch = new StringBuilder();
+    private int remaining;
+
+    private Extraction(JSONStreamReader in, Object[] values) {
+      this.in = in;
+      this.values = values;
+      this.remaining = values.length;
+    }
+
+    private void document(PathTrie node) throws IOException {
+      value(node, in.nextClean());
+    }
+
+    private void value(PathTrie node, int first) throws IOException {
+      if (node.isTerminal()) {
+        Object value = in.readValue(first, scratch);
+        remaining -= node.collect(value, values);
+      } else if (first == '{' && node.hasFields()) {
+        object(node);
+      } else if (first == '[' && node.hasIndexes()) {
+        array(node);
+      } else {
+        in.skipValue(first, null);
+      }
+    }
+
+    private void object(PathTrie node) throws IOException {
+      int c = in.nextClean();
+      if (c == '}') {
+        return;
+      }
+      while (remaining > 0) {
+        if (c != '"') {
+          throw in.syntaxError("expected name of field");
+        }
+        name.setLength(0);
+        in.readString(name);
+        in.expect(':');
+
+        PathTrie child = node.field(name);
+        int first = in.nextClean();
+        if (Objects.nonNull(child)) {
+          value(child, first);
+        } else {
+          in.skipValue(first, null);
+        }
+
+        if (remaining == 0) {
+          return;
+        }
+        c = in.nextClean();
+        if (c == '}') {
+          return;
+        } else if (c != ',') {
+          throw in.syntaxError("expected ',' or '}'");
+        }
+        c = in.nextClean();
+      }
+    }
+
+    private void array(PathTrie node) throws IOException {
+      if (in.peekClean() == ']') {
+        in.read();
+        return;
+      }
+      int index = 0;
+      while (remaining > 0) {
+        PathTrie child = node.index(index++);
+        int first = in.nextClean();
+        if (Objects.nonNull(child)) {
+          value(child, first);
+        } else {
+          in.skipValue(first, null);
+        }
+
+        if (remaining == 0) {
+          return;
+        }
+        int c = in.nextClean();
+        if (c == ']') {
+          return;
+        } else if (c != ',') {
+          throw in.syntaxError("expected ',' or ']'");
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,452 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+/**
+ * Copy json from input to output keeping only selected paths (include) or dropping selected paths
+ * (exclude). Input is read and written in a single pass, memory used doesn't depend on size of
+ * document.
+ *
+ * <pre>
+ * private static final JSONFilter PUBLIC_FIELDS = JSONFilter.include("id", "order.items.sku");
+ * private static final JSONFilter REDACT = JSONFilter.exclude("user.password", "card.number");
+ * ...
+ * REDACT.filter(request.getInputStream(), response.getOutputStream());
+ * </pre>
+ *
+ * Path uses the same syntax as {@link JSONObject}, <code>array[n]</code> selects the element of
+ * array. Additionally when path continues with field name after an array (<code>items.sku</code>
+ * where <code>items</code> is an array), rest of the path applies to every element of the array.
+ *
+ * <p>Included objects and arrays are written only when something under them is selected. Excluded
+ * path removes the field or array element, parent is kept. Selected values are copied as is from
+ * input including whitespace inside them.
+ *
+ * <p>Note: Instance is immutable and can be shared between threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONFilter {
+
+  private final PathTrie root;
+  private final boolean include;
+
+  private JSONFilter(Collection<String> paths, boolean include) {
+    String[] expressions = new LinkedHashSet<>(paths).toArray(new String[0]);
+    JSONPath[] jsonPaths = new JSONPath[expressions.length];
+    for (int i = 0; i < expressions.length; i++) {
+      jsonPaths[i] = JSONPath.compile(expressions[i]);
+    }
+    this.root = PathTrie.build(jsonPaths);
+    this.include = include;
+  }
+
+  /**
+   * @param paths paths to keep
+   * @return filter which writes only provided paths
+   * @throws IllegalArgumentException if any path is invalid
+   */
+  public static JSONFilter include(String... paths) {
+    Assert.nonNull(paths, NullPointerException::new);
+    return new JSONFilter(Arrays.asList(paths), true);
+  }
+
+  /**
+   * @param paths paths to drop
+   * @return filter which writes everything except provided paths
+   * @throws IllegalArgumentException if any path is invalid
+   */
+  public static JSONFilter exclude(String... paths) {
+    Assert.nonNull(paths, NullPointerException::new);
+    return new JSONFilter(Arrays.asList(paths), false);
+  }
+
+  /**
+   * @param json json string
+   * @return filtered json string
+   * @throws org.json.JSONException If json is malformed
+   */
+  public String filter(String json) {
+    Assert.nonNull(json, NullPointerException::new);
+    StringWriter writer = new StringWriter(json.length());
+    try {
+      filter(new StringReader(json), writer);
+    } catch (IOException e) {
+      /* StringReader and StringWriter don't throw IOException */
+      throw new IllegalStateException(e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Read UTF-8 json from <code>inputStream</code> and write filtered UTF-8 json to <code>
+   * outputStream</code>. Streams are not closed, output stream is flushed.
+   *
+   * @param inputStream stream to read json
+   * @param outputStream stream to write filtered json
+   * @throws IOException If an I/O error occurs
+   * @throws org.json.JSONException If json is malformed
+   */
+  public void filter(InputStream inputStream, OutputStream outputStream) throws IOException {
+    Assert.nonNull(inputStream, NullPointerException::new);
+    Assert.nonNull(outputStream, NullPointerException::new);
+    filter(
+        new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+        new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Read json from <code>reader</code> and write filtered json to <code>writer</code>. Reader and
+   * writer are not closed, writer is flushed.
+   *
+   * @param reader reader to read json
+   * @param writer writer to write filtered json
+   * @throws IOException If an I/O error occurs
+   * @throws org.json.JSONException If json is malformed
+   */
+  public void filter(Reader reader, Writer writer) throws IOException {
+    Assert.nonNull(reader, NullPointerException::new);
+    Assert.nonNull(writer, NullPointerException::new);
+    Output output = new Output(writer);
+    Filtering filtering = new Filtering(new JSONStreamReader(reader), output);
+    int first = filtering.in.nextClean();
+    if (include) {
+      filtering.include(root, first, true);
+    } else {
+      filtering.exclude(root, first);
+    }
+    if (filtering.in.nextClean() != JSONStreamReader.EOF) {
+      throw filtering.in.syntaxError("unexpected content after end of document");
+    }
+    output.flush();
+  }
+
+  /** Unsynchronized buffer in front of writer. */
+  private static final class Output implements Appendable {
+    private final Writer writer;
+    private final char[] buffer = new char[8192];
+    private int position;
+
+    private Output(Writer writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public Output append(CharSequence chars) throws IOException {
+      return append(chars, 0, chars.length());
+    }
+
+    @Override
+    public Output append(CharSequence chars, int start, int end) throws IOException {
+      for (int i = start; i < end; i++) {
+        append(chars.charAt(i));
+      }
+      return this;
+    }
+
+    @Override
+    public Output append(char c) throws IOException {
+      if (position == buffer.length) {
+        drain();
+      }
+      buffer[position++] = c;
+      return this;
+    }
+
+    private void drain() throws IOException {
+      writer.write(buffer, 0, position);
+      position = 0;
+    }
+
+    private void flush() throws IOException {
+      drain();
+      writer.flush();
+    }
+  }
+
+  /** State of single filtering. */
+  private static final class Filtering {
+    private final JSONStreamReader in;
+    private final Output out;
+    private final StringBuilder name = new StringBuilder();
+    /* keys and brackets of included containers not written yet */
+    private final StringBuilder pending = new StringBuilder();
+    /* emitted[d] is true when container at depth d has written element */
+    private boolean[] emitted = new boolean[16];
+    private int depth;
+    private int written;
+
+    private Filtering(JSONStreamReader in, Output out) {
+      this.in = in;
+      this.out = out;
+    }
+
+    /**
+     * Include selected values of value whose first character is consumed.
+     *
+     * @param node trie node of value
+     * @param first first character of value
+     * @param document <code>true</code> for root value which is always written
+     */
+    private void include(PathTrie node, int first, boolean document) throws IOException {
+      if (node.isTerminal()) {
+        flush();
+        in.skipValue(first, out);
+      } else if (first == '{' && node.hasFields()) {
+        int mark = open('{');
+        readObject(
+            () -> {
+              PathTrie child = node.field(name);
+              int value = in.nextClean();
+              if (Objects.isNull(child)) {
+                in.skipValue(value, null);
+              } else {
+                int keyMark = pending.length();
+                prefix(true);
+                include(child, value, false);
+                rollback(keyMark);
+              }
+            });
+        close('}', mark, document);
+      } else if (first == '[' && (node.hasIndexes() || node.hasFields())) {
+        int mark = open('[');
+        readArray(
+            index -> {
+              PathTrie child = element(node, index);
+              int value = in.nextClean();
+              if (Objects.isNull(child)) {
+                in.skipValue(value, null);
+              } else {
+                int elementMark = pending.length();
+                prefix(false);
+                include(child, value, false);
+                rollback(elementMark);
+              }
+            });
+        close(']', mark, document);
+      } else if (document) {
+        if (first != '{' && first != '[') {
+          throw in.syntaxError("expected object or array to include paths from");
+        }
+        in.skipValue(first, null);
+        out.append(first == '[' ? "[]" : "{}");
+      } else {
+        in.skipValue(first, null);
+      }
+    }
+
+    /**
+     * Copy value whose first character is consumed except excluded paths.
+     *
+     * @param node trie node of value, <code>null</code> if nothing below is excluded
+     * @param first first character of value
+     */
+    private void exclude(PathTrie node, int first) throws IOException {
+      if (Objects.nonNull(node) && first == '{' && node.hasFields()) {
+        out.append('{');
+        boolean[] empty = {true};
+        readObject(
+            () -> {
+              PathTrie child = node.field(name);
+              int value = in.nextClean();
+              if (Objects.nonNull(child) && child.isTerminal()) {
+                in.skipValue(value, null);
+              } else {
+                if (!empty[0]) {
+                  out.append(',');
+                }
+                empty[0] = false;
+                org.json.JSONObject.quote(name.toString(), new AppendableWriter(out));
+                out.append(':');
+                exclude(child, value);
+              }
+            });
+        out.append('}');
+      } else if (Objects.nonNull(node)
+          && first == '['
+          && (node.hasIndexes() || node.hasFields())) {
+        out.append('[');
+        boolean[] empty = {true};
+        readArray(
+            index -> {
+              PathTrie child = element(node, index);
+              int value = in.nextClean();
+              if (Objects.nonNull(child) && child.isTerminal()) {
+                in.skipValue(value, null);
+              } else {
+                if (!empty[0]) {
+                  out.append(',');
+                }
+                empty[0] = false;
+                exclude(child, value);
+              }
+            });
+        out.append(']');
+      } else {
+        in.skipValue(first, out);
+      }
+    }
+
+    /** Child of array element: selected index, otherwise the node itself when path has fields. */
+    private static PathTrie element(PathTrie node, int index) {
+      PathTrie child = node.index(index);
+      return Objects.nonNull(child) || !node.hasFields() ? child : node;
+    }
+
+    private void readObject(FieldHandler handler) throws IOException {
+      int c = in.nextClean();
+      if (c == '}') {
+        return;
+      }
+      while (true) {
+        if (c != '"') {
+          throw in.syntaxError("expected name of field");
+        }
+        name.setLength(0);
+        in.readString(name);
+        in.expect(':');
+        handler.field();
+
+        c = in.nextClean();
+        if (c == '}') {
+          return;
+        } else if (c != ',') {
+          throw in.syntaxError("expected ',' or '}'");
+        }
+        c = in.nextClean();
+      }
+    }
+
+    private void readArray(ElementHandler handler) throws IOException {
+      if (in.peekClean() == ']') {
+        in.read();
+        return;
+      }
+      int index = 0;
+      while (true) {
+        handler.element(index++);
+        int c = in.nextClean();
+        if (c == ']') {
+          return;
+        } else if (c != ',') {
+          throw in.syntaxError("expected ',' or ']'");
+        }
+      }
+    }
+
+    /** Append comma and key (for object) of next element to pending text. */
+    private void prefix(boolean key) throws IOException {
+      if (emitted[depth]) {
+        pending.append(',');
+      }
+      if (key) {
+        org.json.JSONObject.quote(name.toString(), new AppendableWriter(pending));
+        pending.append(':');
+      }
+    }
+
+    /** Drop pending text of element which had nothing selected. */
+    private void rollback(int mark) {
+      if (pending.length() > mark) {
+        pending.setLength(mark);
+      }
+    }
+
+    /** @return length of pending text before container */
+    private int open(char bracket) {
+      int mark = pending.length();
+      pending.append(bracket);
+      if (++depth == emitted.length) {
+        emitted = Arrays.copyOf(emitted, depth * 2);
+      }
+      emitted[depth] = false;
+      return mark;
+    }
+
+    private void close(char bracket, int mark, boolean document) throws IOException {
+      if (document) {
+        flush();
+      }
+      depth--;
+      if (written > depth) {
+        out.append(bracket);
+        written = depth;
+      } else {
+        pending.setLength(mark);
+      }
+    }
+
+    /** Write pending text, all open containers now have an element. */
+    private void flush() throws IOException {
+      out.append(pending);
+      pending.setLength(0);
+      for (int d = depth; d > 0 && !emitted[d]; d--) {
+        emitted[d] = true;
+      }
+      written = depth;
+    }
+  }
+
+  /** Adapter to use {@link org.json.JSONObject#quote(String, Writer)} with appendable. */
+  private static final class AppendableWriter extends Writer {
+    private final Appendable appendable;
+
+    private AppendableWriter(Appendable appendable) {
+      this.appendable = appendable;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+      appendable.append((char) c);
+    }
+
+    @Override
+    public void write(String value) throws IOException {
+      appendable.append(value);
+    }
+
+    @Override
+    public void write(String value, int offset, int length) throws IOException {
+      appendable.append(value, offset, offset + length);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+      for (int i = 0; i < length; i++) {
+        appendable.append(chars[offset + i]);
+      }
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+
+  @FunctionalInterface
+  private interface FieldHandler {
+    void field() throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface ElementHandler {
+    void element(int index) throws IOException;
+  }
+}
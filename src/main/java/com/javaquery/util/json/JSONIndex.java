@@ -0,0 +1,302 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flat <code>path -&gt; value</code> index of {@link JSONObject} built by {@link JSONObject#index()}.
+ * Tree is walked once and every object field and array element is stored under its full path
+ * (<code>items.item[0].batters.batter[2].available</code>), so each lookup is a single hash lookup
+ * regardless of depth.
+ *
+ * <p>Index costs one map entry and one path <code>String</code> per value, use {@link
+ * #estimatedSize()} to decide when it is worth it. Documents queried a few times are usually
+ * cheaper with {@link JSONObject} path cache.
+ *
+ * <p>Note: Index is a snapshot, changes made to {@link JSONObject} after index is built are not
+ * visible. Values are shared with the tree, not copied. Keys containing <code>.</code> or <code>[
+ * </code> can't be told apart from nested paths. Instance is immutable and can be shared between
+ * threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONIndex {
+
+  private final Map<String, Object> values;
+  private final long estimatedSize;
+
+  JSONIndex(org.json.JSONObject root) {
+    Assert.nonNull(root, NullPointerException::new);
+    Map<String, Object> values = new HashMap<>();
+    long keyBytes = walkObject(root, new StringBuilder(64), values);
+    this.values = values;
+    this.estimatedSize = mapSize(values.size()) + keyBytes;
+  }
+
+  private static long walkObject(
+      org.json.JSONObject jsonObject, StringBuilder path, Map<String, Object> values) {
+    long keyBytes = 0;
+    int mark = path.length();
+    for (String key : jsonObject.keySet()) {
+      if (mark > 0) {
+        path.append('.');
+      }
+      path.append(key);
+      keyBytes += add(jsonObject.opt(key), path, values);
+      path.setLength(mark);
+    }
+    return keyBytes;
+  }
+
+  private static long walkArray(JSONArray jsonArray, StringBuilder path, Map<String, Object> values) {
+    long keyBytes = 0;
+    int mark = path.length();
+    for (int i = 0; i < jsonArray.length(); i++) {
+      path.append('[').append(i).append(']');
+      keyBytes += add(jsonArray.opt(i), path, values);
+      path.setLength(mark);
+    }
+    return keyBytes;
+  }
+
+  /** @return retained bytes of path strings added for value and its children */
+  private static long add(Object value, StringBuilder path, Map<String, Object> values) {
+    values.put(path.toString(), value);
+    long keyBytes = JSONKeyDictionary.retainedSize(path.length());
+    if (value instanceof org.json.JSONObject) {
+      keyBytes += walkObject((org.json.JSONObject) value, path, values);
+    } else if (value instanceof JSONArray) {
+      keyBytes += walkArray((JSONArray) value, path, values);
+    }
+    return keyBytes;
+  }
+
+  /**
+   * Approximate heap size of {@link HashMap} with <code>size</code> entries assuming compressed
+   * references: map object (48 bytes), table (16 bytes header and 4 bytes per bucket) and 32 bytes
+   * per entry node.
+   */
+  static long mapSize(int size) {
+    int capacity = 16;
+    while (size > capacity * 3L / 4) {
+      capacity <<= 1;
+    }
+    return 48 + 16 + 4L * capacity + 32L * size;
+  }
+
+  /** @return number of indexed paths */
+  public int size() {
+    return values.size();
+  }
+
+  /**
+   * @return approximate retained heap of index in bytes (map, entries and path strings), values
+   *     are shared with the tree and not counted
+   */
+  public long estimatedSize() {
+    return estimatedSize;
+  }
+
+  /**
+   * @param key A key string.
+   * @return <code>true</code> if the key exists
+   */
+  public boolean has(String key) {
+    return values.containsKey(key);
+  }
+
+  /**
+   * @param key A key string.
+   * @return String, Boolean, Number, {@link org.json.JSONObject#NULL}, org.json.JSONObject or {@link
+   *     JSONArray} or <code>null</code> if there is no such key.
+   */
+  public Object opt(String key) {
+    return values.get(key);
+  }
+
+  /**
+   * Same as {@link #optBoolean(String, boolean)} with default <code>false</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public boolean optBoolean(String key) {
+    return optBoolean(key, false);
+  }
+
+  /**
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return The truth or defaultValue if it is not a Boolean or the String "true" or "false".
+   */
+  public boolean optBoolean(String key, boolean defaultValue) {
+    Object value = values.get(key);
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    } else if (value instanceof String) {
+      if ("true".equalsIgnoreCase((String) value)) {
+        return true;
+      } else if ("false".equalsIgnoreCase((String) value)) {
+        return false;
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Same as {@link #optInt(String, int)} with default <code>0</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public int optInt(String key) {
+    return optInt(key, 0);
+  }
+
+  /**
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return int value or defaultValue if the value is not a number.
+   */
+  public int optInt(String key, int defaultValue) {
+    Object value = values.get(key);
+    if (value instanceof Integer) {
+      return (Integer) value;
+    }
+    Number number = JSONSelector.toNumber(value);
+    return Objects.isNull(number) ? defaultValue : number.intValue();
+  }
+
+  /**
+   * Same as {@link #optLong(String, long)} with default <code>0L</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public long optLong(String key) {
+    return optLong(key, 0L);
+  }
+
+  /**
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return long value or defaultValue if the value is not a number.
+   */
+  public long optLong(String key, long defaultValue) {
+    Number number = JSONSelector.toNumber(values.get(key));
+    return Objects.isNull(number) ? defaultValue : number.longValue();
+  }
+
+  /**
+   * Same as {@link #optDouble(String, double)} with default <code>Double.NaN</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public double optDouble(String key) {
+    return optDouble(key, Double.NaN);
+  }
+
+  /**
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return double value or defaultValue if the value is not a number.
+   */
+  public double optDouble(String key, double defaultValue) {
+    Number number = JSONSelector.toNumber(values.get(key));
+    return Objects.isNull(number) ? defaultValue : number.doubleValue();
+  }
+
+  /**
+   * Same as {@link #optNumber(String, Number)} with default <code>null</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public Number optNumber(String key) {
+    return optNumber(key, null);
+  }
+
+  /**
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return {@link Number} value or defaultValue if the value is not a number.
+   */
+  public Number optNumber(String key, Number defaultValue) {
+    Number number = JSONSelector.toNumber(values.get(key));
+    return Objects.isNull(number) ? defaultValue : number;
+  }
+
+  /**
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return {@link BigDecimal} value or defaultValue if the value is not a number.
+   */
+  public BigDecimal optBigDecimal(String key, BigDecimal defaultValue) {
+    Object value = values.get(key);
+    if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    } else if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    } else if (value instanceof Double || value instanceof Float) {
+      double number = ((Number) value).doubleValue();
+      return Double.isFinite(number) ? new BigDecimal(value.toString()) : defaultValue;
+    } else if (value instanceof Number) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+    } else if (value instanceof String) {
+      try {
+        return new BigDecimal((String) value);
+      } catch (NumberFormatException e) {
+        return defaultValue;
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Same as {@link #optString(String, String)} with default <code>""</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public String optString(String key) {
+    return optString(key, "");
+  }
+
+  /**
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return A string which is the value or defaultValue if there is no such key or value is null.
+   */
+  public String optString(String key, String defaultValue) {
+    Object value = values.get(key);
+    return Objects.isNull(value) || org.json.JSONObject.NULL.equals(value)
+        ? defaultValue
+        : value.toString();
+  }
+
+  /**
+   * @param key A key string.
+   * @return A JSONObject which is the value or <code>null</code> if it is not an object.
+   */
+  public org.json.JSONObject optJSONObject(String key) {
+    Object value = values.get(key);
+    return value instanceof org.json.JSONObject ? (org.json.JSONObject) value : null;
+  }
+
+  /**
+   * @param key A key string.
+   * @return A JSONArray which is the value or <code>null</code> if it is not an array.
+   */
+  public JSONArray optJSONArray(String key) {
+    Object value = values.get(key);
+    return value instanceof JSONArray ? (JSONArray) value : null;
+  }
+}
@@ -0,0 +1,268 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared dictionary of json keys. Documents parsed with dictionary (see {@link
+ * JSONObject#JSONObject(String, JSONKeyDictionary)}) reuse the same <code>String</code> instance for
+ * equal keys, so thousands of cached documents with same shape retain each key only once.
+ *
+ * <p>Keys are held weakly, key not used by any live document is removed from dictionary. Lookup
+ * compares characters read from json directly, <code>String</code> is created only for key seen for
+ * the first time.
+ *
+ * <pre>
+ * private static final JSONKeyDictionary KEYS = new JSONKeyDictionary();
+ * ...
+ * JSONObject jsonObject = new JSONObject(json, KEYS);
+ * log.info("keys: {}, bytes saved: {}", KEYS.size(), KEYS.getSavedBytes());
+ * </pre>
+ *
+ * <p>Note: Dictionary is thread-safe.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONKeyDictionary {
+
+  private static final JSONKeyDictionary SHARED = new JSONKeyDictionary();
+
+  private final ConcurrentHashMap<Object, Key> keys = new ConcurrentHashMap<>();
+  private final ReferenceQueue<String> queue = new ReferenceQueue<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder savedBytes = new LongAdder();
+
+  /** @return dictionary shared by whole application */
+  public static JSONKeyDictionary shared() {
+    return SHARED;
+  }
+
+  /**
+   * @param key the key
+   * @return canonical instance of key
+   */
+  public String intern(String key) {
+    Assert.nonNull(key, NullPointerException::new);
+    return intern(key, key);
+  }
+
+  /**
+   * @param chars characters of key, not retained
+   * @param key string of <code>chars</code> if already created otherwise <code>null</code>
+   * @return canonical instance of key
+   */
+  private String intern(CharSequence chars, String key) {
+    Key found = keys.get(new Probe(chars));
+    String canonical = Objects.isNull(found) ? null : found.get();
+    if (Objects.nonNull(canonical)) {
+      hits.increment();
+      savedBytes.add(retainedSize(canonical.length()));
+      return canonical;
+    }
+
+    expungeStaleKeys();
+    String candidate = Objects.isNull(key) ? chars.toString() : key;
+    Key created = new Key(candidate, queue);
+    while (true) {
+      Key existing = keys.putIfAbsent(created, created);
+      if (Objects.isNull(existing)) {
+        return candidate;
+      }
+      canonical = existing.get();
+      if (Objects.nonNull(canonical)) {
+        hits.increment();
+        savedBytes.add(retainedSize(canonical.length()));
+        return canonical;
+      }
+      /* cleared but not yet expunged */
+      keys.remove(existing, existing);
+    }
+  }
+
+  String intern(CharSequence chars) {
+    return intern(chars, null);
+  }
+
+  private void expungeStaleKeys() {
+    Reference<? extends String> reference;
+    while (Objects.nonNull(reference = queue.poll())) {
+      keys.remove(reference, reference);
+    }
+  }
+
+  /**
+   * Approximate heap size of <code>String</code> with <code>length</code> characters: object
+   * header and fields (24 bytes) plus character array (16 bytes header and 2 bytes per char),
+   * aligned to 8 bytes.
+   */
+  static long retainedSize(int length) {
+    return 24 + ((16 + 2L * length + 7) & ~7L);
+  }
+
+  /** @return number of keys in dictionary */
+  public int size() {
+    expungeStaleKeys();
+    return keys.size();
+  }
+
+  /** @return number of lookups which returned already existing key */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return approximate bytes of duplicate key strings not retained because of this dictionary, it
+   *     doesn't subtract the overhead of dictionary entries
+   */
+  public long getSavedBytes() {
+    return savedBytes.sum();
+  }
+
+  /** Reset {@link #getHits()} and {@link #getSavedBytes()}. */
+  public void resetStatistics() {
+    hits.reset();
+    savedBytes.reset();
+  }
+
+  /**
+   * Parse json object with keys from this dictionary.
+   *
+   * @param json json string
+   * @return parsed json object
+   * @throws org.json.JSONException If json is malformed
+   */
+  org.json.JSONObject parse(String json) {
+    Assert.nonNull(json, NullPointerException::new);
+    try {
+      JSONStreamReader in = new JSONStreamReader(new StringReader(json));
+      if (in.nextClean() != '{') {
+        throw in.syntaxError("A JSONObject text must begin with '{'");
+      }
+      return object(in, new StringBuilder());
+    } catch (IOException e) {
+      /* StringReader doesn't throw IOException */
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Object value(JSONStreamReader in, int first, StringBuilder scratch) throws IOException {
+    if (first == '{') {
+      return object(in, scratch);
+    } else if (first == '[') {
+      return array(in, scratch);
+    }
+    return in.readValue(first, scratch);
+  }
+
+  private org.json.JSONObject object(JSONStreamReader in, StringBuilder scratch)
+      throws IOException {
+    org.json.JSONObject jsonObject = new org.json.JSONObject();
+    int c = in.nextClean();
+    if (c == '}') {
+      return jsonObject;
+    }
+    while (true) {
+      if (c != '"') {
+        throw in.syntaxError("expected name of field");
+      }
+      scratch.setLength(0);
+      in.readString(scratch);
+      String key = intern(scratch);
+      in.expect(':');
+      if (jsonObject.has(key)) {
+        throw in.syntaxError("Duplicate key \"" + key + "\"");
+      }
+      jsonObject.put(key, value(in, in.nextClean(), scratch));
+
+      c = in.nextClean();
+      if (c == '}') {
+        return jsonObject;
+      } else if (c != ',') {
+        throw in.syntaxError("expected ',' or '}'");
+      }
+      c = in.nextClean();
+    }
+  }
+
+  private JSONArray array(JSONStreamReader in, StringBuilder scratch) throws IOException {
+    JSONArray jsonArray = new JSONArray();
+    if (in.peekClean() == ']') {
+      in.read();
+      return jsonArray;
+    }
+    while (true) {
+      jsonArray.put(value(in, in.nextClean(), scratch));
+      int c = in.nextClean();
+      if (c == ']') {
+        return jsonArray;
+      } else if (c != ',') {
+        throw in.syntaxError("expected ',' or ']'");
+      }
+    }
+  }
+
+  /** Weak entry of dictionary, equal to other key or probe with same characters. */
+  private static final class Key extends WeakReference<String> {
+    private final int hash;
+
+    private Key(String key, ReferenceQueue<String> queue) {
+      super(key, queue);
+      this.hash = key.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      } else if (!(other instanceof Key) || ((Key) other).hash != hash) {
+        return false;
+      }
+      String key = get();
+      return Objects.nonNull(key) && key.equals(((Key) other).get());
+    }
+  }
+
+  /** Lookup of characters without creating <code>String</code>, hash is same as String. */
+  private static final class Probe {
+    private final CharSequence chars;
+    private final int hash;
+
+    private Probe(CharSequence chars) {
+      this.chars = chars;
+      int h = 0;
+      for (int i = 0; i < chars.length(); i++) {
+        h = 31 * h + chars.charAt(i);
+      }
+      this.hash = h;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key) || ((Key) other).hash != hash) {
+        return false;
+      }
+      String key = ((Key) other).get();
+      return Objects.nonNull(key) && key.contentEquals(chars);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.collection.Collections;
+import com.javaquery.util.iface.Reader;
+import com.javaquery.util.io.JFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read JSON Lines (NDJSON) file, one json object per line. File is memory-mapped and split into
+ * newline aligned chunks, chunks are parsed in parallel on fork-join pool of the stream.
+ *
+ * <pre>
+ * try (Stream&lt;JSONObject&gt; stream = new JSONLinesReader().read(new JFile("/tmp/export.ndjson"))) {
+ *   stream.forEach(...);
+ * }
+ * </pre>
+ *
+ * <p>Note: Close the returned stream to release the file. Empty lines are ignored.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONLinesReader implements Reader<Stream<JSONObject>> {
+
+  /** default size of chunk parsed by single task (8 MB) */
+  public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+  private final int chunkSize;
+  private final boolean ordered;
+
+  /** Reader with {@link #DEFAULT_CHUNK_SIZE} which keeps order of lines. */
+  public JSONLinesReader() {
+    this(DEFAULT_CHUNK_SIZE, true);
+  }
+
+  /**
+   * @param chunkSize approximate size of chunk in bytes parsed by single task
+   * @param ordered <code>true</code> to keep order of lines in stream, <code>false</code> is faster
+   *     when order doesn't matter
+   */
+  public JSONLinesReader(int chunkSize, boolean ordered) {
+    Assert.isTrue(chunkSize > 0, () -> new IllegalArgumentException("chunkSize must be positive"));
+    this.chunkSize = chunkSize;
+    this.ordered = ordered;
+  }
+
+  /**
+   * @param file file to read
+   * @return parallel stream of json object of each line
+   * @throws IOException If an I/O error occurs while opening file or finding chunks
+   * @throws org.json.JSONException If line is not a valid json object, thrown by terminal
+   *     operation
+   * @throws UncheckedIOException If an I/O error occurs while mapping chunk, thrown by terminal
+   *     operation
+   */
+  @Override
+  public Stream<JSONObject> read(JFile file) throws IOException {
+    return chunks(file).flatMap(List::stream);
+  }
+
+  /**
+   * Read file in batches. Each chunk is split into batches using {@link Collections#batches(List,
+   * int)}, so every batch has at most <code>batchSize</code> objects and last batch of each chunk
+   * may be smaller.
+   *
+   * @param file file to read
+   * @param batchSize size of batch
+   * @return parallel stream of batches
+   * @throws IOException If an I/O error occurs while opening file or finding chunks
+   * @throws IllegalArgumentException if batchSize is negative
+   */
+  public Stream<List<JSONObject>> batches(JFile file, int batchSize) throws IOException {
+    Assert.isTrue(batchSize >= 0, () -> new IllegalArgumentException("batchSize can not be negative"));
+    return chunks(file).flatMap(chunk -> Collections.batches(chunk, batchSize));
+  }
+
+  private Stream<List<JSONObject>> chunks(JFile file) throws IOException {
+    Assert.nonNull(file, NullPointerException::new);
+    FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      long[] boundaries = boundaries(fileChannel);
+      Stream<List<JSONObject>> stream =
+          IntStream.range(0, boundaries.length - 1)
+              .parallel()
+              .mapToObj(i -> parse(fileChannel, boundaries[i], boundaries[i + 1]));
+      stream = ordered ? stream : stream.unordered();
+      return stream.onClose(() -> close(fileChannel));
+    } catch (IOException | RuntimeException e) {
+      close(fileChannel);
+      throw e;
+    }
+  }
+
+  /**
+   * Find chunk boundaries, each boundary except first is the offset right after new line.
+   *
+   * @param fileChannel channel of file
+   * @return offsets of chunk boundaries including 0 and size of file
+   * @throws IOException If an I/O error occurs
+   */
+  private long[] boundaries(FileChannel fileChannel) throws IOException {
+    long size = fileChannel.size();
+    List<Long> boundaries = new ArrayList<>();
+    boundaries.add(0L);
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    long position = chunkSize;
+    while (position < size) {
+      long newLine = nextNewLine(fileChannel, buffer, position);
+      if (newLine < 0) {
+        break;
+      }
+      boundaries.add(newLine + 1);
+      position = newLine + 1 + chunkSize;
+    }
+    if (boundaries.get(boundaries.size() - 1) < size) {
+      boundaries.add(size);
+    }
+    return boundaries.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  private long nextNewLine(FileChannel fileChannel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (true) {
+      buffer.clear();
+      int read = fileChannel.read(buffer, position);
+      if (read <= 0) {
+        return -1;
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return position + i;
+        }
+      }
+      position += read;
+    }
+  }
+
+  /**
+   * Parse lines of chunk.
+   *
+   * @param fileChannel channel of file
+   * @param start offset of first byte of chunk
+   * @param end offset after last byte of chunk
+   * @return json objects of chunk
+   */
+  private List<JSONObject> parse(FileChannel fileChannel, long start, long end) {
+    MappedByteBuffer buffer;
+    try {
+      buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    List<JSONObject> result = new ArrayList<>();
+    byte[] line = new byte[1024];
+    int length = 0;
+    while (buffer.hasRemaining()) {
+      byte b = buffer.get();
+      if (b == '\n') {
+        addLine(result, line, length);
+        length = 0;
+      } else {
+        if (length == line.length) {
+          line = Arrays.copyOf(line, length * 2);
+        }
+        line[length++] = b;
+      }
+    }
+    addLine(result, line, length);
+    return result;
+  }
+
+  private void addLine(List<JSONObject> result, byte[] line, int length) {
+    if (length > 0 && line[length - 1] == '\r') {
+      length--;
+    }
+    String json = new String(line, 0, length, StandardCharsets.UTF_8);
+    if (!json.trim().isEmpty()) {
+      result.add(new JSONObject(json));
+    }
+  }
+
+  private void close(FileChannel fileChannel) {
+    try {
+      fileChannel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,246 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deep merge of layered json documents, later layer overrides earlier layer.
+ *
+ * <pre>
+ * JSONObject config = JSONMerge.merge(ArrayStrategy.REPLACE, defaults, region, tenant);
+ * </pre>
+ *
+ * <ul>
+ *   <li>Objects are merged key by key.
+ *   <li>Any other value replaces value of earlier layers. <code>null</code> removes the key, same
+ *       as <a href="https://datatracker.ietf.org/doc/html/rfc7396">JSON Merge Patch (RFC
+ *       7396)</a>.
+ *   <li>Arrays are resolved by {@link ArrayStrategy}.
+ * </ul>
+ *
+ * Result shares structure with layers: object or array provided by only one layer (or by the same
+ * instance in all layers) is used as is, new objects are created only where layers actually
+ * overlap. Object of single layer is scanned for <code>null</code> members, only objects on the path
+ * to a <code>null</code> are copied. <code>null</code> inside arrays is kept.
+ *
+ * <p>Note: Since subtrees are shared, do not modify result or layers after merge. Use {@link
+ * JSONObject#freeze()} to share result between threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONMerge {
+
+  /** How arrays of multiple layers are merged. */
+  public enum ArrayStrategy {
+    /** array of last layer replaces earlier arrays */
+    REPLACE,
+    /** elements of all layers in layer order */
+    CONCAT,
+    /** elements of all layers in layer order, element equal to earlier element is skipped */
+    UNION,
+    /** elements at same index are merged, longer array keeps its extra elements */
+    MERGE_BY_INDEX
+  }
+
+  private JSONMerge() {}
+
+  /**
+   * Merge with {@link ArrayStrategy#REPLACE}.
+   *
+   * @param layers documents in order of priority, last one wins
+   * @return merged document
+   */
+  public static JSONObject merge(JSONObject... layers) {
+    return merge(ArrayStrategy.REPLACE, layers);
+  }
+
+  /**
+   * @param arrayStrategy how arrays are merged
+   * @param layers documents in order of priority, last one wins
+   * @return merged document
+   */
+  public static JSONObject merge(ArrayStrategy arrayStrategy, JSONObject... layers) {
+    Assert.nonNull(layers, NullPointerException::new);
+    return merge(arrayStrategy, Arrays.asList(layers));
+  }
+
+  /**
+   * @param arrayStrategy how arrays are merged
+   * @param layers documents in order of priority, last one wins
+   * @return merged document, empty document when there is no layer
+   */
+  public static JSONObject merge(ArrayStrategy arrayStrategy, List<JSONObject> layers) {
+    Assert.nonNull(arrayStrategy, NullPointerException::new);
+    Assert.nonNull(layers, NullPointerException::new);
+    List<Object> roots = new ArrayList<>(layers.size());
+    for (JSONObject layer : layers) {
+      Assert.nonNull(layer, NullPointerException::new);
+      roots.add(layer.root());
+    }
+    if (roots.isEmpty()) {
+      return new JSONObject();
+    }
+    return new JSONObject((org.json.JSONObject) new Merge(arrayStrategy).value(roots));
+  }
+
+  /** State of single merge. */
+  private static final class Merge {
+    private final ArrayStrategy arrayStrategy;
+    private final Map<Object, Long> hashes = new IdentityHashMap<>();
+
+    private Merge(ArrayStrategy arrayStrategy) {
+      this.arrayStrategy = arrayStrategy;
+    }
+
+    /**
+     * @param values value of each layer which has it, in layer order
+     * @return merged value, {@link org.json.JSONObject#NULL} when key should be removed
+     */
+    private Object value(List<Object> values) {
+      Object last = values.get(values.size() - 1);
+      boolean object = last instanceof org.json.JSONObject;
+      boolean array = last instanceof JSONArray && arrayStrategy != ArrayStrategy.REPLACE;
+      if (!object && !array) {
+        return last;
+      }
+      /* trailing run of same kind, anything else before it is overridden */
+      int start = values.size() - 1;
+      while (start > 0 && sameKind(values.get(start - 1), object)) {
+        start--;
+      }
+      List<Object> run = distinct(values, start);
+      if (run.size() == 1) {
+        return object ? withoutNulls((org.json.JSONObject) run.get(0)) : run.get(0);
+      }
+      return object ? object(run) : array(run);
+    }
+
+    /**
+     * Remove <code>null</code> members of object supplied by single layer, nested objects included.
+     *
+     * @param object object of single layer
+     * @return same instance when there is no <code>null</code> member, otherwise a copy where only
+     *     objects containing <code>null</code> are copied
+     */
+    private static org.json.JSONObject withoutNulls(org.json.JSONObject object) {
+      org.json.JSONObject result = null;
+      for (String key : object.keySet()) {
+        Object value = object.opt(key);
+        Object stripped =
+            value instanceof org.json.JSONObject
+                ? withoutNulls((org.json.JSONObject) value)
+                : value;
+        if (stripped == value && value != org.json.JSONObject.NULL) {
+          continue;
+        }
+        if (Objects.isNull(result)) {
+          result = new org.json.JSONObject();
+          for (String name : object.keySet()) {
+            result.put(name, object.opt(name));
+          }
+        }
+        if (value == org.json.JSONObject.NULL) {
+          result.remove(key);
+        } else {
+          result.put(key, stripped);
+        }
+      }
+      return Objects.isNull(result) ? object : result;
+    }
+
+    private static boolean sameKind(Object value, boolean object) {
+      return object ? value instanceof org.json.JSONObject : value instanceof JSONArray;
+    }
+
+    /** Drop consecutive repeats of same instance, they have nothing to merge. */
+    private static List<Object> distinct(List<Object> values, int start) {
+      List<Object> result = new ArrayList<>(values.size() - start);
+      for (int i = start; i < values.size(); i++) {
+        Object value = values.get(i);
+        if (result.isEmpty() || result.get(result.size() - 1) != value) {
+          result.add(value);
+        }
+      }
+      return result;
+    }
+
+    private org.json.JSONObject object(List<Object> layers) {
+      Set<String> keys = new LinkedHashSet<>();
+      for (Object layer : layers) {
+        keys.addAll(((org.json.JSONObject) layer).keySet());
+      }
+      org.json.JSONObject result = new org.json.JSONObject();
+      List<Object> values = new ArrayList<>(layers.size());
+      for (String key : keys) {
+        values.clear();
+        for (Object layer : layers) {
+          Object value = ((org.json.JSONObject) layer).opt(key);
+          if (Objects.nonNull(value)) {
+            values.add(value);
+          }
+        }
+        Object value = value(values);
+        if (value != org.json.JSONObject.NULL) {
+          result.put(key, value);
+        }
+      }
+      return result;
+    }
+
+    private JSONArray array(List<Object> layers) {
+      JSONArray result = new JSONArray();
+      if (arrayStrategy == ArrayStrategy.MERGE_BY_INDEX) {
+        int length = 0;
+        for (Object layer : layers) {
+          length = Math.max(length, ((JSONArray) layer).length());
+        }
+        List<Object> values = new ArrayList<>(layers.size());
+        for (int i = 0; i < length; i++) {
+          values.clear();
+          for (Object layer : layers) {
+            JSONArray jsonArray = (JSONArray) layer;
+            if (i < jsonArray.length()) {
+              values.add(jsonArray.opt(i));
+            }
+          }
+          result.put(value(values));
+        }
+        return result;
+      }
+
+      Map<Long, List<Object>> seen = new HashMap<>();
+      for (Object layer : layers) {
+        for (Object element : (JSONArray) layer) {
+          if (arrayStrategy == ArrayStrategy.CONCAT || add(seen, element)) {
+            result.put(element);
+          }
+        }
+      }
+      return result;
+    }
+
+    /** @return <code>false</code> if equal element was already added */
+    private boolean add(Map<Long, List<Object>> seen, Object element) {
+      List<Object> bucket =
+          seen.computeIfAbsent(JSONPatch.hash(element, hashes), hash -> new ArrayList<>(1));
+      for (Object existing : bucket) {
+        if (JSONPatch.valueEquals(existing, element)) {
+          return false;
+        }
+      }
+      bucket.add(element);
+      return true;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.javaquery.util.json;
 
+import com.javaquery.util.Assert;
 import com.javaquery.util.Objects;
 import com.javaquery.util.string.Strings;
 import com.javaquery.util.time.DateTimeFormat;
@@ -9,9 +10,12 @@ import org.json.JSONException;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author vicky.thakor
@@ -22,26 +26,72 @@ public final class JSONObject {
   private static final org.json.JSONObject EMPTY_JSON = new org.json.JSONObject("{}");
   private org.json.JSONObject ROOT;
   private Map<String, org.json.JSONObject> CACHED_OBJECT;
+  private final boolean frozen;
+  private final Map<Object, Long> subtreeHashes;
+  private volatile JSONIndex index;
 
   /** @param json json string to prepare {@link JSONObject} */
   public JSONObject(String json) {
     this(new org.json.JSONObject(json));
   }
 
+  /**
+   * Parse json with keys from <code>keyDictionary</code>, equal keys of all documents parsed with
+   * same dictionary share one <code>String</code> instance.
+   *
+   * @param json json string to prepare {@link JSONObject}
+   * @param keyDictionary dictionary of keys
+   */
+  public JSONObject(String json, JSONKeyDictionary keyDictionary) {
+    this(keyDictionary.parse(json));
+  }
+
   public JSONObject(){
     this(new org.json.JSONObject());
   }
 
   /** @param jsonObject {@link org.json.JSONObject} to prepare {@link JSONObject} */
   public JSONObject(org.json.JSONObject jsonObject) {
+    this(jsonObject, new HashMap<>(), false);
+  }
+
+  private JSONObject(org.json.JSONObject jsonObject, Map<String, org.json.JSONObject> cachedObject, boolean frozen) {
     ROOT = jsonObject;
-    CACHED_OBJECT = new HashMap<>();
+    CACHED_OBJECT = cachedObject;
+    this.frozen = frozen;
+    this.subtreeHashes = frozen ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * Get read-only view of this object which can be shared between threads. Path cache of view is
+   * backed by {@link ConcurrentHashMap} so lookups from any number of threads are lock-free. View
+   * starts with the paths already cached in this object.
+   *
+   * <p>Note: View shares the underlying {@link org.json.JSONObject}, do not modify this object or
+   * objects returned by {@link #optJSONObject(String)}/{@link #optJSONArray(String)} once view is
+   * shared.
+   *
+   * @return read-only thread-safe {@link JSONObject}, <code>this</code> if already frozen
+   */
+  public JSONObject freeze() {
+    if (frozen) {
+      return this;
+    }
+    return new JSONObject(ROOT, new ConcurrentHashMap<>(CACHED_OBJECT), true);
+  }
+
+  /** @return <code>true</code> if this object is read-only view created by {@link #freeze()} */
+  public boolean isFrozen() {
+    return frozen;
   }
 
   /**
    * Put a key/value pair in the JSONObject. If the value is <code>null</code>, then the
    * key will be removed from the JSONObject if it is present.
    *
+   * <p>Key can be a path like <code>items.item[0].name</code>, missing objects in the path are
+   * created and cached objects under the path are refreshed.
+   *
    * @param key
    *            A key string.
    * @param value
@@ -53,12 +103,119 @@ public final class JSONObject {
    *            If the value is non-finite number.
    * @throws NullPointerException
    *            If the key is <code>null</code>.
+   * @throws UnsupportedOperationException
+   *            If this object is frozen.
    */
   public JSONObject put(String key, Object value){
-    ROOT.put(key, value);
+    if (key.indexOf('.') < 0 && key.indexOf('[') < 0) {
+      assertNotFrozen();
+      ROOT.put(key, value);
+      invalidate(key);
+      return this;
+    }
+    return put(JSONPath.compile(key), value);
+  }
+
+  /**
+   * Same as {@link #put(String, Object)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param value An object which is the value.
+   * @return this.
+   * @throws JSONException
+   *            If the value is non-finite number or an object in the path is not a JSONObject.
+   * @throws UnsupportedOperationException
+   *            If this object is frozen.
+   */
+  public JSONObject put(JSONPath path, Object value) {
+    assertNotFrozen();
+    org.json.JSONObject jsonObject = ROOT;
+    for (int i = 0; i < path.segments.length; i++) {
+      jsonObject = putIntermediate(jsonObject, path.names[i], path.indexes[i]);
+    }
+    if (path.keyIndex == JSONPath.NO_INDEX) {
+      jsonObject.put(path.key, value);
+    } else {
+      putArray(jsonObject, path.keyName).put(path.keyIndex, value);
+    }
+    invalidate(path.getExpression());
     return this;
   }
 
+  /**
+   * Get or create {@link org.json.JSONObject} of intermediate segment.
+   *
+   * @param jsonObject object holding the segment
+   * @param name name of segment
+   * @param index index of array or {@link JSONPath#NO_INDEX}
+   * @return {@link org.json.JSONObject} of segment
+   */
+  private org.json.JSONObject putIntermediate(org.json.JSONObject jsonObject, String name, int index) {
+    if (index == JSONPath.NO_INDEX) {
+      Object value = jsonObject.opt(name);
+      if (Objects.isNull(value)) {
+        org.json.JSONObject result = new org.json.JSONObject();
+        jsonObject.put(name, result);
+        return result;
+      } else if (value instanceof org.json.JSONObject) {
+        return (org.json.JSONObject) value;
+      }
+      throw new JSONException("JSONObject[" + name + "] is not a JSONObject.");
+    }
+
+    JSONArray jsonArray = putArray(jsonObject, name);
+    Object value = jsonArray.opt(index);
+    if (Objects.isNull(value) || org.json.JSONObject.NULL.equals(value)) {
+      org.json.JSONObject result = new org.json.JSONObject();
+      jsonArray.put(index, result);
+      return result;
+    } else if (value instanceof org.json.JSONObject) {
+      return (org.json.JSONObject) value;
+    }
+    throw new JSONException("JSONArray[" + name + "][" + index + "] is not a JSONObject.");
+  }
+
+  private JSONArray putArray(org.json.JSONObject jsonObject, String name) {
+    Object value = jsonObject.opt(name);
+    if (Objects.isNull(value)) {
+      JSONArray result = new JSONArray();
+      jsonObject.put(name, result);
+      return result;
+    } else if (value instanceof JSONArray) {
+      return (JSONArray) value;
+    }
+    throw new JSONException("JSONObject[" + name + "] is not a JSONArray.");
+  }
+
+  /**
+   * Remove cached objects affected by write at provided path. Objects at or under the path are
+   * replaced and missing objects on the path may exist now.
+   *
+   * @param path path of written key
+   */
+  private void invalidate(String path) {
+    if (!CACHED_OBJECT.isEmpty()) {
+      CACHED_OBJECT.entrySet().removeIf(entry -> isUnder(entry.getKey(), path)
+          || (entry.getValue() == EMPTY_JSON && isUnder(path, entry.getKey())));
+    }
+  }
+
+  /**
+   * @param path path to check
+   * @param parent parent path
+   * @return <code>true</code> if path is same as parent or under the parent
+   */
+  private static boolean isUnder(String path, String parent) {
+    if (!path.startsWith(parent)) {
+      return false;
+    }
+    if (path.length() == parent.length()) {
+      return true;
+    }
+    char c = path.charAt(parent.length());
+    return c == '.' || c == '[';
+  }
+
   /**
    * Get an optional boolean associated with a key. It returns false if there is no such key, or if
    * the value is not Boolean.TRUE or the String "true".
@@ -70,6 +227,16 @@ public final class JSONObject {
     return optBoolean(key, false);
   }
 
+  /**
+   * Same as {@link #optBoolean(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return The truth.
+   */
+  public boolean optBoolean(JSONPath path) {
+    return optBoolean(path, false);
+  }
+
   /**
    * Get an optional boolean associated with a key. It returns the defaultValue if there is no such
    * key, or if it is not a Boolean or the String "true" or "false" (case insensitive).
@@ -83,6 +250,17 @@ public final class JSONObject {
     return findByKey(keyPath).optBoolean(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optBoolean(String, boolean)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return The truth.
+   */
+  public boolean optBoolean(JSONPath path, boolean defaultValue) {
+    return findByKey(path).optBoolean(path.key, defaultValue);
+  }
+
   /**
    * Get an optional BigDecimal associated with a key, or the defaultValue if there is no such key
    * or if its value is not a number. If the value is a string, an attempt will be made to evaluate
@@ -98,6 +276,17 @@ public final class JSONObject {
     return findByKey(keyPath).optBigDecimal(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optBigDecimal(String, BigDecimal)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public BigDecimal optBigDecimal(JSONPath path, BigDecimal defaultValue) {
+    return findByKey(path).optBigDecimal(path.key, defaultValue);
+  }
+
   /**
    * Get an optional BigInteger associated with a key, or the defaultValue if there is no such key
    * or if its value is not a number. If the value is a string, an attempt will be made to evaluate
@@ -112,6 +301,17 @@ public final class JSONObject {
     return findByKey(keyPath).optBigInteger(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optBigInteger(String, BigInteger)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public BigInteger optBigInteger(JSONPath path, BigInteger defaultValue) {
+    return findByKey(path).optBigInteger(path.key, defaultValue);
+  }
+
   /**
    * Get an optional double associated with a key, or NaN if there is no such key or if its value is
    * not a number. If the value is a string, an attempt will be made to evaluate it as a number.
@@ -123,6 +323,16 @@ public final class JSONObject {
     return optDouble(key, Double.NaN);
   }
 
+  /**
+   * Same as {@link #optDouble(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public double optDouble(JSONPath path) {
+    return optDouble(path, Double.NaN);
+  }
+
   /**
    * Get an optional double associated with a key, or the defaultValue if there is no such key or if
    * its value is not a number. If the value is a string, an attempt will be made to evaluate it as
@@ -137,6 +347,17 @@ public final class JSONObject {
     return findByKey(keyPath).optDouble(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optDouble(String, double)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public double optDouble(JSONPath path, double defaultValue) {
+    return findByKey(path).optDouble(path.key, defaultValue);
+  }
+
   /**
    * Get an optional {@link Date} associated with a key, or current {@link Date} if there is no such
    * key or if the value is not a {@link Date}. An attempt will be made to evaluate it as a {@link
@@ -151,6 +372,18 @@ public final class JSONObject {
     return optDate(key, dateTimeFormat, new Date());
   }
 
+  /**
+   * Same as {@link #optDate(String, DateTimeFormat)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param dateTimeFormat date format to parse from String value. Use {@link
+   *     com.javaquery.util.time.DatePattern}.
+   * @return An object which is the value.
+   */
+  public Date optDate(JSONPath path, DateTimeFormat dateTimeFormat) {
+    return optDate(path, dateTimeFormat, new Date());
+  }
+
   /**
    * Get an optional {@link Date} associated with a key, or the defaultValue if there is no such key
    * or if its value is not a Date. An attempt will be made to evaluate it as a {@link Date}.
@@ -162,7 +395,10 @@ public final class JSONObject {
    * @return An object which is the value.
    */
   public Date optDate(String key, DateTimeFormat dateTimeFormat, Date defaultValue) {
-    String strDate = optString(key);
+    return parseDate(optString(key), dateTimeFormat, defaultValue);
+  }
+
+  private Date parseDate(String strDate, DateTimeFormat dateTimeFormat, Date defaultValue) {
     Date result = defaultValue;
     if (Strings.nonNullNonEmpty(strDate)) {
       Date parsedDate = Dates.parse(strDate, dateTimeFormat);
@@ -173,6 +409,19 @@ public final class JSONObject {
     return result;
   }
 
+  /**
+   * Same as {@link #optDate(String, DateTimeFormat, Date)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param dateTimeFormat date format to parse from String value. Use {@link
+   *     com.javaquery.util.time.DatePattern}.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public Date optDate(JSONPath path, DateTimeFormat dateTimeFormat, Date defaultValue) {
+    return parseDate(optString(path), dateTimeFormat, defaultValue);
+  }
+
   /**
    * Get the enum value associated with a key.
    *
@@ -185,6 +434,18 @@ public final class JSONObject {
     return this.optEnum(clazz, key, null);
   }
 
+  /**
+   * Same as {@link #optEnum(Class, String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param <E> Enum Type
+   * @param clazz The type of enum to retrieve.
+   * @param path A compiled key path.
+   * @return The enum value associated with the key or null if not found
+   */
+  public <E extends Enum<E>> E optEnum(Class<E> clazz, JSONPath path) {
+    return this.optEnum(clazz, path, null);
+  }
+
   /**
    * Get the enum value associated with a key.
    *
@@ -200,6 +461,20 @@ public final class JSONObject {
     return findByKey(keyPath).optEnum(clazz, keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optEnum(Class, String, Enum)} using pre-compiled {@link JSONPath}.
+   *
+   * @param <E> Enum Type
+   * @param clazz The type of enum to retrieve.
+   * @param path A compiled key path.
+   * @param defaultValue The default in case the value is not found
+   * @return The enum value associated with the key or defaultValue if the value is not found or
+   *     cannot be assigned to <code>clazz</code>
+   */
+  public <E extends Enum<E>> E optEnum(Class<E> clazz, JSONPath path, E defaultValue) {
+    return findByKey(path).optEnum(clazz, path.key, defaultValue);
+  }
+
   /**
    * Get the optional double value associated with an index. NaN is returned if there is no value
    * for the index, or if the value is not a number and cannot be converted to a number.
@@ -211,6 +486,16 @@ public final class JSONObject {
     return optFloat(key, Float.NaN);
   }
 
+  /**
+   * Same as {@link #optFloat(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return The value.
+   */
+  public float optFloat(JSONPath path) {
+    return optFloat(path, Float.NaN);
+  }
+
   /**
    * Get the optional double value associated with an index. The defaultValue is returned if there
    * is no value for the index, or if the value is not a number and cannot be converted to a number.
@@ -224,6 +509,17 @@ public final class JSONObject {
     return findByKey(keyPath).optFloat(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optFloat(String, float)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return The value.
+   */
+  public float optFloat(JSONPath path, float defaultValue) {
+    return findByKey(path).optFloat(path.key, defaultValue);
+  }
+
   /**
    * Get an optional int value associated with a key, or zero if there is no such key or if the
    * value is not a number. If the value is a string, an attempt will be made to evaluate it as a
@@ -236,6 +532,16 @@ public final class JSONObject {
     return optInt(key, 0);
   }
 
+  /**
+   * Same as {@link #optInt(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public int optInt(JSONPath path) {
+    return optInt(path, 0);
+  }
+
   /**
    * Get an optional int value associated with a key, or the default if there is no such key or if
    * the value is not a number. If the value is a string, an attempt will be made to evaluate it as
@@ -250,6 +556,17 @@ public final class JSONObject {
     return findByKey(keyPath).optInt(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optInt(String, int)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public int optInt(JSONPath path, int defaultValue) {
+    return findByKey(path).optInt(path.key, defaultValue);
+  }
+
   /**
    * Get an optional long value associated with a key, or zero if there is no such key or if the
    * value is not a number. If the value is a string, an attempt will be made to evaluate it as a
@@ -262,6 +579,16 @@ public final class JSONObject {
     return optLong(key, 0);
   }
 
+  /**
+   * Same as {@link #optLong(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public long optLong(JSONPath path) {
+    return optLong(path, 0);
+  }
+
   /**
    * Get an optional long value associated with a key, or the default if there is no such key or if
    * the value is not a number. If the value is a string, an attempt will be made to evaluate it as
@@ -276,6 +603,17 @@ public final class JSONObject {
     return findByKey(keyPath).optLong(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optLong(String, long)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public long optLong(JSONPath path, long defaultValue) {
+    return findByKey(path).optLong(path.key, defaultValue);
+  }
+
   /**
    * Get an optional {@link Number} value associated with a key, or <code>null</code> if there is no
    * such key or if the value is not a number. If the value is a string, an attempt will be made to
@@ -289,6 +627,16 @@ public final class JSONObject {
     return optNumber(key, null);
   }
 
+  /**
+   * Same as {@link #optNumber(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public Number optNumber(JSONPath path) {
+    return optNumber(path, null);
+  }
+
   /**
    * Get an optional {@link Number} value associated with a key, or the default if there is no such
    * key or if the value is not a number. If the value is a string, an attempt will be made to
@@ -304,6 +652,17 @@ public final class JSONObject {
     return findByKey(keyPath).optNumber(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optNumber(String, Number)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public Number optNumber(JSONPath path, Number defaultValue) {
+    return findByKey(path).optNumber(path.key, defaultValue);
+  }
+
   /**
    * Get an optional string associated with a key. It returns an empty string if there is no such
    * key. If the value is not a string and is not null, then it is converted to a string.
@@ -315,6 +674,16 @@ public final class JSONObject {
     return optString(key, "");
   }
 
+  /**
+   * Same as {@link #optString(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return A string which is the value.
+   */
+  public String optString(JSONPath path) {
+    return optString(path, "");
+  }
+
   /**
    * Get an optional string associated with a key. It returns the defaultValue if there is no such
    * key.
@@ -328,6 +697,17 @@ public final class JSONObject {
     return findByKey(keyPath).optString(keyPath.key, defaultValue);
   }
 
+  /**
+   * Same as {@link #optString(String, String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return A string which is the value.
+   */
+  public String optString(JSONPath path, String defaultValue) {
+    return findByKey(path).optString(path.key, defaultValue);
+  }
+
   /**
    * Get an optional JSONObject associated with a key. It returns null if there is no such key, or
    * if its value is not a JSONObject.
@@ -345,6 +725,21 @@ public final class JSONObject {
     return result;
   }
 
+  /**
+   * Same as {@link #optJSONObject(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return A JSONObject which is the value.
+   */
+  public org.json.JSONObject optJSONObject(JSONPath path) {
+    org.json.JSONObject jsonObject = findByKey(path);
+    org.json.JSONObject result = jsonObject.optJSONObject(path.key);
+    if (Objects.isNull(result)) {
+      result = path.arrayJSONObject(jsonObject);
+    }
+    return result;
+  }
+
   /**
    * Get an optional JSONArray associated with a key. It returns null if there is no such key, or if
    * its value is not a JSONArray.
@@ -358,29 +753,357 @@ public final class JSONObject {
   }
 
   /**
-   * Find {@link org.json.JSONObject} at provided path
+   * Same as {@link #optJSONArray(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return A JSONArray which is the value.
+   */
+  public JSONArray optJSONArray(JSONPath path) {
+    return findByKey(path).optJSONArray(path.key);
+  }
+
+  /**
+   * Get an optional int array associated with a key. Number elements are converted without boxing,
+   * numeric string is parsed and any other element is 0.
+   *
+   * @param key A key string.
+   * @return A int array or <code>null</code> if there is no such key or value is not a JSONArray.
+   */
+  public int[] optIntArray(String key) {
+    return toIntArray(optJSONArray(key));
+  }
+
+  /**
+   * Same as {@link #optIntArray(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return A int array or <code>null</code> if there is no such key or value is not a JSONArray.
+   */
+  public int[] optIntArray(JSONPath path) {
+    return toIntArray(optJSONArray(path));
+  }
+
+  /**
+   * Copy int array associated with a key in provided buffer, so same buffer can be reused.
+   *
+   * @param key A key string.
+   * @param buffer buffer to fill
+   * @return length of array or 0 if there is no such array. Only first <code>buffer.length
+   *     </code> elements are copied if array is longer than buffer.
+   */
+  public int optIntArray(String key, int[] buffer) {
+    return toIntArray(optJSONArray(key), buffer);
+  }
+
+  /**
+   * Same as {@link #optIntArray(String, int[])} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param buffer buffer to fill
+   * @return length of array or 0 if there is no such array. Only first <code>buffer.length
+   *     </code> elements are copied if array is longer than buffer.
+   */
+  public int optIntArray(JSONPath path, int[] buffer) {
+    return toIntArray(optJSONArray(path), buffer);
+  }
+
+  /**
+   * Get an optional long array associated with a key. Number elements are converted without boxing,
+   * numeric string is parsed and any other element is 0.
+   *
+   * @param key A key string.
+   * @return A long array or <code>null</code> if there is no such key or value is not a JSONArray.
+   */
+  public long[] optLongArray(String key) {
+    return toLongArray(optJSONArray(key));
+  }
+
+  /**
+   * Same as {@link #optLongArray(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return A long array or <code>null</code> if there is no such key or value is not a JSONArray.
+   */
+  public long[] optLongArray(JSONPath path) {
+    return toLongArray(optJSONArray(path));
+  }
+
+  /**
+   * Copy long array associated with a key in provided buffer, so same buffer can be reused.
+   *
+   * @param key A key string.
+   * @param buffer buffer to fill
+   * @return length of array or 0 if there is no such array. Only first <code>buffer.length
+   *     </code> elements are copied if array is longer than buffer.
+   */
+  public int optLongArray(String key, long[] buffer) {
+    return toLongArray(optJSONArray(key), buffer);
+  }
+
+  /**
+   * Same as {@link #optLongArray(String, long[])} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param buffer buffer to fill
+   * @return length of array or 0 if there is no such array. Only first <code>buffer.length
+   *     </code> elements are copied if array is longer than buffer.
+   */
+  public int optLongArray(JSONPath path, long[] buffer) {
+    return toLongArray(optJSONArray(path), buffer);
+  }
+
+  /**
+   * Get an optional double array associated with a key. Number elements are converted without boxing,
+   * numeric string is parsed and any other element is NaN.
+   *
+   * @param key A key string.
+   * @return A double array or <code>null</code> if there is no such key or value is not a JSONArray.
+   */
+  public double[] optDoubleArray(String key) {
+    return toDoubleArray(optJSONArray(key));
+  }
+
+  /**
+   * Same as {@link #optDoubleArray(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return A double array or <code>null</code> if there is no such key or value is not a JSONArray.
+   */
+  public double[] optDoubleArray(JSONPath path) {
+    return toDoubleArray(optJSONArray(path));
+  }
+
+  /**
+   * Copy double array associated with a key in provided buffer, so same buffer can be reused.
+   *
+   * @param key A key string.
+   * @param buffer buffer to fill
+   * @return length of array or 0 if there is no such array. Only first <code>buffer.length
+   *     </code> elements are copied if array is longer than buffer.
+   */
+  public int optDoubleArray(String key, double[] buffer) {
+    return toDoubleArray(optJSONArray(key), buffer);
+  }
+
+  /**
+   * Same as {@link #optDoubleArray(String, double[])} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param buffer buffer to fill
+   * @return length of array or 0 if there is no such array. Only first <code>buffer.length
+   *     </code> elements are copied if array is longer than buffer.
+   */
+  public int optDoubleArray(JSONPath path, double[] buffer) {
+    return toDoubleArray(optJSONArray(path), buffer);
+  }
+
+  /**
+   * Get an optional String array associated with a key. Element which is not a string is converted
+   * to string and null is empty string.
+   *
+   * @param key A key string.
+   * @return A String array or <code>null</code> if there is no such key or value is not a JSONArray.
+   */
+  public String[] optStringArray(String key) {
+    return toStringArray(optJSONArray(key));
+  }
+
+  /**
+   * Same as {@link #optStringArray(String)} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @return A String array or <code>null</code> if there is no such key or value is not a JSONArray.
+   */
+  public String[] optStringArray(JSONPath path) {
+    return toStringArray(optJSONArray(path));
+  }
+
+  /**
+   * Copy String array associated with a key in provided buffer, so same buffer can be reused.
+   *
+   * @param key A key string.
+   * @param buffer buffer to fill
+   * @return length of array or 0 if there is no such array. Only first <code>buffer.length
+   *     </code> elements are copied if array is longer than buffer.
+   */
+  public int optStringArray(String key, String[] buffer) {
+    return toStringArray(optJSONArray(key), buffer);
+  }
+
+  /**
+   * Same as {@link #optStringArray(String, String[])} using pre-compiled {@link JSONPath}.
+   *
+   * @param path A compiled key path.
+   * @param buffer buffer to fill
+   * @return length of array or 0 if there is no such array. Only first <code>buffer.length
+   *     </code> elements are copied if array is longer than buffer.
+   */
+  public int optStringArray(JSONPath path, String[] buffer) {
+    return toStringArray(optJSONArray(path), buffer);
+  }
+
+  /**
+   * Extract values of multiple paths in a single walk of the document. Use {@link
+   * #extract(JSONProjection)} when same paths are extracted from many documents.
+   *
+   * @param paths key paths, <code>array[n]</code> at the end of path selects the element of array
+   * @return values in the same order as paths, <code>null</code> if path doesn't exist
+   */
+  public Object[] extract(String... paths) {
+    return extract(JSONProjection.compile(paths));
+  }
+
+  /**
+   * Extract values of pre-compiled paths in a single walk of the document.
+   *
+   * @param projection compiled paths
+   * @return values in the same order as paths, <code>null</code> if path doesn't exist
+   */
+  public Object[] extract(JSONProjection projection) {
+    return extract(projection, new Object[projection.size()]);
+  }
+
+  /**
+   * Extract values of pre-compiled paths in provided array, so same array can be reused.
+   *
+   * @param projection compiled paths
+   * @param values array to fill, length must be at least {@link JSONProjection#size()}
+   * @return <code>values</code> in the same order as paths, <code>null</code> if path doesn't exist
+   */
+  public Object[] extract(JSONProjection projection, Object[] values) {
+    Arrays.fill(values, 0, projection.size(), null);
+    projection.root.collect(ROOT, values);
+    return values;
+  }
+
+  private static int[] toIntArray(JSONArray jsonArray) {
+    if (Objects.isNull(jsonArray)) {
+      return null;
+    }
+    int[] result = new int[jsonArray.length()];
+    toIntArray(jsonArray, result);
+    return result;
+  }
+
+  private static int toIntArray(JSONArray jsonArray, int[] buffer) {
+    if (Objects.isNull(jsonArray)) {
+      return 0;
+    }
+    int length = jsonArray.length();
+    for (int i = 0, n = Math.min(length, buffer.length); i < n; i++) {
+      Object value = jsonArray.opt(i);
+      buffer[i] = value instanceof Number ? ((Number) value).intValue() : jsonArray.optInt(i);
+    }
+    return length;
+  }
+
+  private static long[] toLongArray(JSONArray jsonArray) {
+    if (Objects.isNull(jsonArray)) {
+      return null;
+    }
+    long[] result = new long[jsonArray.length()];
+    toLongArray(jsonArray, result);
+    return result;
+  }
+
+  private static int toLongArray(JSONArray jsonArray, long[] buffer) {
+    if (Objects.isNull(jsonArray)) {
+      return 0;
+    }
+    int length = jsonArray.length();
+    for (int i = 0, n = Math.min(length, buffer.length); i < n; i++) {
+      Object value = jsonArray.opt(i);
+      buffer[i] = value instanceof Number ? ((Number) value).longValue() : jsonArray.optLong(i);
+    }
+    return length;
+  }
+
+  private static double[] toDoubleArray(JSONArray jsonArray) {
+    if (Objects.isNull(jsonArray)) {
+      return null;
+    }
+    double[] result = new double[jsonArray.length()];
+    toDoubleArray(jsonArray, result);
+    return result;
+  }
+
+  private static int toDoubleArray(JSONArray jsonArray, double[] buffer) {
+    if (Objects.isNull(jsonArray)) {
+      return 0;
+    }
+    int length = jsonArray.length();
+    for (int i = 0, n = Math.min(length, buffer.length); i < n; i++) {
+      Object value = jsonArray.opt(i);
+      buffer[i] = value instanceof Number ? ((Number) value).doubleValue() : jsonArray.optDouble(i);
+    }
+    return length;
+  }
+
+  private static String[] toStringArray(JSONArray jsonArray) {
+    if (Objects.isNull(jsonArray)) {
+      return null;
+    }
+    String[] result = new String[jsonArray.length()];
+    toStringArray(jsonArray, result);
+    return result;
+  }
+
+  private static int toStringArray(JSONArray jsonArray, String[] buffer) {
+    if (Objects.isNull(jsonArray)) {
+      return 0;
+    }
+    int length = jsonArray.length();
+    for (int i = 0, n = Math.min(length, buffer.length); i < n; i++) {
+      buffer[i] = jsonArray.optString(i);
+    }
+    return length;
+  }
+
+  /**
+   * Find {@link org.json.JSONObject} at provided path. Missing path is cached as empty object.
    *
    * @param keyPath object containing key and path of object
    * @return A {@link org.json.JSONObject} which hold the value
    */
   private org.json.JSONObject findByKey(KeyPath keyPath) {
     if (Strings.nonNullNonEmpty(keyPath.path)) {
-      if (CACHED_OBJECT.containsKey(keyPath.path)) {
-        return CACHED_OBJECT.get(keyPath.path);
-      } else {
-        org.json.JSONObject result = (org.json.JSONObject) recursion(ROOT, keyPath.path);
-        if (Objects.nonNull(result)) {
-          CACHED_OBJECT.put(keyPath.path, result);
-        } else {
+      org.json.JSONObject result = CACHED_OBJECT.get(keyPath.path);
+      if (Objects.isNull(result)) {
+        result = (org.json.JSONObject) recursion(ROOT, keyPath.path);
+        if (Objects.isNull(result)) {
+          /* cache missing path as well, optional keys shouldn't walk the tree again */
           result = EMPTY_JSON;
         }
-        return result;
+        CACHED_OBJECT.put(keyPath.path, result);
       }
+      return result;
     } else {
       return ROOT;
     }
   }
 
+  /**
+   * Find {@link org.json.JSONObject} at provided compiled path. Shares the cache with {@link
+   * #findByKey(KeyPath)}.
+   *
+   * @param path compiled path of key
+   * @return A {@link org.json.JSONObject} which hold the value
+   */
+  private org.json.JSONObject findByKey(JSONPath path) {
+    if (Objects.isNull(path.path)) {
+      return ROOT;
+    }
+    org.json.JSONObject result = CACHED_OBJECT.get(path.path);
+    if (Objects.isNull(result)) {
+      result = path.resolve(ROOT);
+      if (Objects.isNull(result)) {
+        result = EMPTY_JSON;
+      }
+      CACHED_OBJECT.put(path.path, result);
+    }
+    return result;
+  }
+
   /**
    * Do a recursive call to fine Object at provided path
    *
@@ -407,12 +1130,15 @@ public final class JSONObject {
       }
     } else {
       if (path.contains("[") && path.endsWith("]")) {
-        return arrayJSONObject(jsonObject, path);
+        org.json.JSONObject jsonArrayValueObject = arrayJSONObject(jsonObject, path);
+        if (Objects.nonNull(jsonArrayValueObject)) {
+          return jsonArrayValueObject;
+        }
       }
 
       return jsonObject.optJSONObject(path);
     }
-    return jsonObject;
+    return null;
   }
 
   /**
@@ -437,12 +1163,131 @@ public final class JSONObject {
     return null;
   }
 
-  /** Nullify object for garbage collection */
+  void assertNotFrozen() {
+    if (frozen) {
+      throw new UnsupportedOperationException("JSONObject is frozen");
+    }
+  }
+
+  /**
+   * Nullify object for garbage collection
+   *
+   * @throws UnsupportedOperationException If this object is frozen, other threads may still be
+   *     reading it.
+   */
   public void flush() {
+    assertNotFrozen();
     ROOT = null;
     CACHED_OBJECT = null;
   }
 
+  /**
+   * Reuse this object for another json. Path cache is cleared and reused, so parsing a stream of
+   * messages doesn't allocate new wrapper and cache for each message.
+   *
+   * @param json json string to prepare {@link JSONObject}
+   * @return this
+   * @throws UnsupportedOperationException If this object is frozen
+   */
+  public JSONObject reset(String json) {
+    assertNotFrozen();
+    return reset(new org.json.JSONObject(json));
+  }
+
+  /**
+   * Same as {@link #reset(String)} with keys from <code>keyDictionary</code>.
+   *
+   * @param json json string to prepare {@link JSONObject}
+   * @param keyDictionary dictionary of keys
+   * @return this
+   * @throws UnsupportedOperationException If this object is frozen
+   */
+  public JSONObject reset(String json, JSONKeyDictionary keyDictionary) {
+    assertNotFrozen();
+    return reset(keyDictionary.parse(json));
+  }
+
+  /**
+   * Same as {@link #reset(String)} for already parsed json.
+   *
+   * @param jsonObject {@link org.json.JSONObject} to prepare {@link JSONObject}
+   * @return this
+   * @throws UnsupportedOperationException If this object is frozen
+   */
+  public JSONObject reset(org.json.JSONObject jsonObject) {
+    assertNotFrozen();
+    Assert.nonNull(jsonObject, NullPointerException::new);
+    ROOT = jsonObject;
+    if (Objects.isNull(CACHED_OBJECT)) {
+      CACHED_OBJECT = new HashMap<>();
+    } else {
+      CACHED_OBJECT.clear();
+    }
+    return this;
+  }
+
+  /** Release document but keep cache map for next {@link #reset(String)}. */
+  void clear() {
+    ROOT = null;
+    if (Objects.nonNull(CACHED_OBJECT)) {
+      CACHED_OBJECT.clear();
+    }
+  }
+
+  /**
+   * Compute JSON Patch (RFC 6902) which transforms this object into <code>other</code>. See
+   * {@link JSONPatch} for details.
+   *
+   * @param other target object
+   * @return list of patch operations
+   */
+  public JSONArray diff(JSONObject other) {
+    return JSONPatch.diff(this, other);
+  }
+
+  /**
+   * Apply JSON Patch (RFC 6902) on copy of this object. See {@link JSONPatch} for details.
+   *
+   * @param patch list of patch operations
+   * @return new patched object, this object is not modified
+   * @throws JSONException if operation is invalid, path doesn't exist or test fails
+   */
+  public JSONObject apply(JSONArray patch) {
+    return JSONPatch.apply(this, patch);
+  }
+
+  /**
+   * Build flat <code>path -&gt; value</code> index of this object for documents queried many
+   * times, see {@link JSONIndex}. Index of frozen object is built once and reused.
+   *
+   * @return index of current content
+   */
+  public JSONIndex index() {
+    if (!frozen) {
+      return new JSONIndex(ROOT);
+    }
+    JSONIndex result = index;
+    if (Objects.isNull(result)) {
+      /* concurrent callers may build it twice, both are equal */
+      result = new JSONIndex(ROOT);
+      index = result;
+    }
+    return result;
+  }
+
+  /** @return underlying {@link org.json.JSONObject} */
+  org.json.JSONObject root() {
+    return ROOT;
+  }
+
+  /**
+   * @return cache of subtree hashes used by {@link JSONPatch}, kept only by frozen object since
+   *     other objects can change between calls
+   */
+  Map<Object, Long> subtreeHashes() {
+    return frozen ? subtreeHashes : new IdentityHashMap<>();
+  }
+
   @Override
   public String toString() {
     return ROOT.toString();
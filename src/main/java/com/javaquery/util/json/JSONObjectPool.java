@@ -0,0 +1,105 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+
+import java.util.ArrayDeque;
+
+/**
+ * Per thread pool of {@link JSONObject} for high rate consumers. Released objects keep their path
+ * cache map and are reused by next {@link #acquire(String)} on the same thread using {@link
+ * JSONObject#reset(org.json.JSONObject)}.
+ *
+ * <pre>
+ * private static final JSONObjectPool POOL = new JSONObjectPool();
+ * ...
+ * JSONObject message = POOL.acquire(payload);
+ * try {
+ *   process(message);
+ * } finally {
+ *   POOL.release(message);
+ * }
+ * </pre>
+ *
+ * <p>Note: Released object must not be used by caller anymore.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONObjectPool {
+
+  private static final int DEFAULT_SIZE = 4;
+
+  private final int size;
+  private final ThreadLocal<ArrayDeque<JSONObject>> pool = ThreadLocal.withInitial(ArrayDeque::new);
+
+  /** Pool which keeps up to 4 released objects per thread. */
+  public JSONObjectPool() {
+    this(DEFAULT_SIZE);
+  }
+
+  /**
+   * @param size maximum number of released objects kept per thread
+   * @throws IllegalArgumentException if size is not positive
+   */
+  public JSONObjectPool(int size) {
+    Assert.isTrue(size > 0, () -> new IllegalArgumentException("size must be positive"));
+    this.size = size;
+  }
+
+  /**
+   * @param json json string
+   * @return pooled object of current thread reset with json, new object when pool is empty
+   */
+  public JSONObject acquire(String json) {
+    return acquire(new org.json.JSONObject(json));
+  }
+
+  /**
+   * @param json json string
+   * @param keyDictionary dictionary of keys
+   * @return pooled object of current thread reset with json, new object when pool is empty
+   */
+  public JSONObject acquire(String json, JSONKeyDictionary keyDictionary) {
+    return acquire(keyDictionary.parse(json));
+  }
+
+  /**
+   * @param jsonObject {@link org.json.JSONObject} to wrap
+   * @return pooled object of current thread reset with json object, new object when pool is empty
+   */
+  public JSONObject acquire(org.json.JSONObject jsonObject) {
+    JSONObject pooled = pool.get().pollFirst();
+    return pooled == null ? new JSONObject(jsonObject) : pooled.reset(jsonObject);
+  }
+
+  /**
+   * Return object to the pool of current thread. Object is dropped when pool is full.
+   *
+   * @param jsonObject object acquired from this pool
+   * @throws UnsupportedOperationException If object is frozen
+   */
+  public void release(JSONObject jsonObject) {
+    Assert.nonNull(jsonObject, NullPointerException::new);
+    /* reset on frozen object fails, reject it now rather than on next acquire */
+    jsonObject.assertNotFrozen();
+    ArrayDeque<JSONObject> objects = pool.get();
+    jsonObject.clear();
+    if (objects.size() < size && !containsSame(objects, jsonObject)) {
+      objects.addFirst(jsonObject);
+    }
+  }
+
+  private static boolean containsSame(ArrayDeque<JSONObject> objects, JSONObject jsonObject) {
+    for (JSONObject object : objects) {
+      if (object == jsonObject) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** @return number of released objects kept for current thread */
+  public int size() {
+    return pool.get().size();
+  }
+}
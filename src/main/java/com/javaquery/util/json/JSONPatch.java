@@ -0,0 +1,481 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Structural diff and patch of json documents as <a
+ * href="https://datatracker.ietf.org/doc/html/rfc6902">JSON Patch (RFC 6902)</a>.
+ *
+ * <pre>
+ * JSONArray patch = oldVersion.diff(newVersion);
+ * // [{"op":"replace","path":"/order/items/0/price","value":12.5}]
+ * JSONObject updated = oldVersion.apply(patch);
+ * String keyPath = JSONPatch.toKeyPath("/order/items/0/price"); // order.items[0].price
+ * </pre>
+ *
+ * Every object and array of both documents gets a 64-bit structural hash, computed once bottom-up.
+ * Subtrees with equal hash are treated as identical and skipped without comparing their content.
+ * Hashes of a frozen {@link JSONObject} (see {@link JSONObject#freeze()}) are cached in the object
+ * and reused by later diffs.
+ *
+ * <p>Note: Diff emits <code>add</code>, <code>remove</code> and <code>replace</code> operations,
+ * array elements are compared by position. Apply supports all operations of RFC 6902.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONPatch {
+
+  private static final String OP = "op";
+  private static final String PATH = "path";
+  private static final String FROM = "from";
+  private static final String VALUE = "value";
+
+  private JSONPatch() {}
+
+  /**
+   * @param source source document
+   * @param target target document
+   * @return operations which transform <code>source</code> into <code>target</code>
+   */
+  public static JSONArray diff(JSONObject source, JSONObject target) {
+    Assert.nonNull(source, NullPointerException::new);
+    Assert.nonNull(target, NullPointerException::new);
+    JSONArray patch = new JSONArray();
+    new Diff(source.subtreeHashes(), target.subtreeHashes(), patch)
+        .diff(new StringBuilder(), source.root(), target.root());
+    return patch;
+  }
+
+  /**
+   * @param source document to patch, it is not modified
+   * @param patch operations to apply
+   * @return new patched document
+   * @throws JSONException if operation is invalid, path doesn't exist or <code>test</code> fails
+   */
+  public static JSONObject apply(JSONObject source, JSONArray patch) {
+    Assert.nonNull(source, NullPointerException::new);
+    Assert.nonNull(patch, NullPointerException::new);
+    Object document = copy(source.root());
+    for (int i = 0; i < patch.length(); i++) {
+      document = apply(document, patch.getJSONObject(i));
+    }
+    if (!(document instanceof org.json.JSONObject)) {
+      throw new JSONException("Patched document is not a json object");
+    }
+    return new JSONObject((org.json.JSONObject) document);
+  }
+
+  /**
+   * Convert JSON Pointer to key path of {@link JSONObject}, <code>/a/b/0/c</code> to <code>
+   * a.b[0].c</code>. Numeric token is treated as array index.
+   *
+   * @param pointer JSON Pointer
+   * @return key path
+   */
+  public static String toKeyPath(String pointer) {
+    Assert.nonNull(pointer, NullPointerException::new);
+    StringBuilder keyPath = new StringBuilder();
+    for (String token : tokens(pointer)) {
+      if (isIndex(token) && keyPath.length() > 0) {
+        keyPath.append('[').append(token).append(']');
+      } else {
+        if (keyPath.length() > 0) {
+          keyPath.append('.');
+        }
+        keyPath.append(token);
+      }
+    }
+    return keyPath.toString();
+  }
+
+  /** Diff of two documents. */
+  private static final class Diff {
+    private final Map<Object, Long> sourceHashes;
+    private final Map<Object, Long> targetHashes;
+    private final JSONArray patch;
+
+    private Diff(Map<Object, Long> sourceHashes, Map<Object, Long> targetHashes, JSONArray patch) {
+      this.sourceHashes = sourceHashes;
+      this.targetHashes = targetHashes;
+      this.patch = patch;
+    }
+
+    private void diff(StringBuilder path, Object source, Object target) {
+      if (source == target) {
+        return;
+      }
+      if (source instanceof org.json.JSONObject && target instanceof org.json.JSONObject) {
+        if (hash(source, sourceHashes) != hash(target, targetHashes)) {
+          diffObject(path, (org.json.JSONObject) source, (org.json.JSONObject) target);
+        }
+      } else if (source instanceof JSONArray && target instanceof JSONArray) {
+        if (hash(source, sourceHashes) != hash(target, targetHashes)) {
+          diffArray(path, (JSONArray) source, (JSONArray) target);
+        }
+      } else if (!valueEquals(source, target)) {
+        patch.put(operation("replace", path, target));
+      }
+    }
+
+    private void diffObject(
+        StringBuilder path, org.json.JSONObject source, org.json.JSONObject target) {
+      int length = path.length();
+      for (String key : source.keySet()) {
+        appendToken(path, key);
+        Object targetValue = target.opt(key);
+        if (Objects.isNull(targetValue)) {
+          patch.put(operation("remove", path, null));
+        } else {
+          diff(path, source.opt(key), targetValue);
+        }
+        path.setLength(length);
+      }
+      for (String key : target.keySet()) {
+        if (!source.has(key)) {
+          appendToken(path, key);
+          patch.put(operation("add", path, target.opt(key)));
+          path.setLength(length);
+        }
+      }
+    }
+
+    private void diffArray(StringBuilder path, JSONArray source, JSONArray target) {
+      int length = path.length();
+      int common = Math.min(source.length(), target.length());
+      for (int i = 0; i < common; i++) {
+        diff(path.append('/').append(i), source.opt(i), target.opt(i));
+        path.setLength(length);
+      }
+      /* remove from the end so index of each operation is valid when applied in order */
+      for (int i = source.length() - 1; i >= common; i--) {
+        patch.put(operation("remove", path.append('/').append(i), null));
+        path.setLength(length);
+      }
+      for (int i = common; i < target.length(); i++) {
+        patch.put(operation("add", path.append('/').append(i), target.opt(i)));
+        path.setLength(length);
+      }
+    }
+  }
+
+  private static org.json.JSONObject operation(String op, CharSequence path, Object value) {
+    org.json.JSONObject operation = new org.json.JSONObject();
+    operation.put(OP, op);
+    operation.put(PATH, path.toString());
+    if (Objects.nonNull(value)) {
+      operation.put(VALUE, value);
+    }
+    return operation;
+  }
+
+  /**
+   * Structural 64-bit hash of value, numbers are normalized so <code>1</code> and <code>1.0</code>
+   * have the same hash. Hash of object and array is cached in <code>hashes</code>.
+   */
+  static long hash(Object value, Map<Object, Long> hashes) {
+    if (value instanceof org.json.JSONObject || value instanceof JSONArray) {
+      Long cached = hashes.get(value);
+      if (Objects.nonNull(cached)) {
+        return cached;
+      }
+      long hash;
+      if (value instanceof org.json.JSONObject) {
+        org.json.JSONObject jsonObject = (org.json.JSONObject) value;
+        /* order of keys doesn't matter */
+        hash = 0x6a09e667f3bcc909L;
+        for (String key : jsonObject.keySet()) {
+          hash += mix(mix(hash(key)) ^ hash(jsonObject.opt(key), hashes));
+        }
+      } else {
+        JSONArray jsonArray = (JSONArray) value;
+        hash = 0xbb67ae8584caa73bL;
+        for (int i = 0; i < jsonArray.length(); i++) {
+          hash = mix(hash * 31 + hash(jsonArray.opt(i), hashes));
+        }
+      }
+      hashes.put(value, hash);
+      return hash;
+    } else if (value instanceof String) {
+      return hash((String) value);
+    } else if (value instanceof Number) {
+      return hash((Number) value);
+    } else if (value instanceof Boolean) {
+      return (Boolean) value ? 0x3c6ef372fe94f82bL : 0xa54ff53a5f1d36f1L;
+    } else if (Objects.isNull(value) || value == org.json.JSONObject.NULL) {
+      return 0x510e527fade682d1L;
+    }
+    return hash(value.toString());
+  }
+
+  /** FNV-1a of characters. */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static long hash(Number number) {
+    if (number instanceof Integer
+        || number instanceof Long
+        || number instanceof Short
+        || number instanceof Byte) {
+      return mix(number.longValue());
+    } else if (number instanceof Double || number instanceof Float) {
+      double value = number.doubleValue();
+      if (value == Math.rint(value) && Math.abs(value) < 0x1p62) {
+        return mix((long) value);
+      }
+    }
+    BigDecimal decimal = toBigDecimal(number);
+    if (Objects.isNull(decimal)) {
+      return hash(number.toString());
+    }
+    decimal = decimal.stripTrailingZeros();
+    if (decimal.scale() <= 0 && decimal.precision() - decimal.scale() < 19) {
+      return mix(decimal.longValueExact());
+    }
+    return hash(decimal.toPlainString());
+  }
+
+  /** Finalizer of SplitMix64. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  private static BigDecimal toBigDecimal(Number number) {
+    if (number instanceof BigDecimal) {
+      return (BigDecimal) number;
+    } else if (number instanceof BigInteger) {
+      return new BigDecimal((BigInteger) number);
+    } else if (number instanceof Double || number instanceof Float) {
+      double value = number.doubleValue();
+      return Double.isFinite(value) ? BigDecimal.valueOf(value) : null;
+    }
+    return BigDecimal.valueOf(number.longValue());
+  }
+
+  static boolean valueEquals(Object source, Object target) {
+    if (source instanceof Number && target instanceof Number) {
+      BigDecimal left = toBigDecimal((Number) source);
+      BigDecimal right = toBigDecimal((Number) target);
+      if (Objects.nonNull(left) && Objects.nonNull(right)) {
+        return left.compareTo(right) == 0;
+      }
+    } else if (source instanceof org.json.JSONObject || source instanceof JSONArray) {
+      return source instanceof org.json.JSONObject
+          ? ((org.json.JSONObject) source).similar(target)
+          : ((JSONArray) source).similar(target);
+    }
+    return source.equals(target);
+  }
+
+  /**
+   * Apply single operation.
+   *
+   * @param document document to modify
+   * @param operation operation to apply
+   * @return document, replaced when operation targets the root
+   */
+  private static Object apply(Object document, org.json.JSONObject operation) {
+    String op = operation.getString(OP);
+    List<String> path = tokens(operation.getString(PATH));
+    switch (op) {
+      case "add":
+        return add(document, path, copy(value(operation)));
+      case "remove":
+        remove(document, path);
+        return document;
+      case "replace":
+        if (path.isEmpty()) {
+          return copy(value(operation));
+        }
+        remove(document, path);
+        return add(document, path, copy(value(operation)));
+      case "move":
+        {
+          List<String> from = tokens(operation.getString(FROM));
+          Object value = remove(document, from);
+          return add(document, path, value);
+        }
+      case "copy":
+        return add(document, path, copy(get(document, tokens(operation.getString(FROM)))));
+      case "test":
+        if (!valueEquals(get(document, path), value(operation))) {
+          throw new JSONException("Test failed for path " + operation.getString(PATH));
+        }
+        return document;
+      default:
+        throw new JSONException("Unknown operation " + op);
+    }
+  }
+
+  private static Object value(org.json.JSONObject operation) {
+    if (!operation.has(VALUE)) {
+      throw new JSONException("Operation " + operation.getString(OP) + " requires value");
+    }
+    return operation.get(VALUE);
+  }
+
+  private static Object get(Object document, List<String> path) {
+    Object value = document;
+    for (String token : path) {
+      value = child(value, token, path);
+    }
+    return value;
+  }
+
+  private static Object child(Object container, String token, List<String> path) {
+    Object value = null;
+    if (container instanceof org.json.JSONObject) {
+      value = ((org.json.JSONObject) container).opt(token);
+    } else if (container instanceof JSONArray && isIndex(token)) {
+      value = ((JSONArray) container).opt(Integer.parseInt(token));
+    }
+    if (Objects.isNull(value)) {
+      throw new JSONException("Path not found " + toPointer(path));
+    }
+    return value;
+  }
+
+  private static Object add(Object document, List<String> path, Object value) {
+    if (path.isEmpty()) {
+      return value;
+    }
+    Object parent = get(document, path.subList(0, path.size() - 1));
+    String token = path.get(path.size() - 1);
+    if (parent instanceof org.json.JSONObject) {
+      ((org.json.JSONObject) parent).put(token, value);
+    } else if (parent instanceof JSONArray) {
+      JSONArray jsonArray = (JSONArray) parent;
+      int index = "-".equals(token) ? jsonArray.length() : arrayIndex(token, path);
+      if (index > jsonArray.length()) {
+        throw new JSONException("Index out of bounds " + toPointer(path));
+      }
+      /* shift elements right */
+      for (int i = jsonArray.length(); i > index; i--) {
+        jsonArray.put(i, jsonArray.opt(i - 1));
+      }
+      jsonArray.put(index, value);
+    } else {
+      throw new JSONException("Path not found " + toPointer(path));
+    }
+    return document;
+  }
+
+  private static Object remove(Object document, List<String> path) {
+    if (path.isEmpty()) {
+      throw new JSONException("Root can not be removed");
+    }
+    Object parent = get(document, path.subList(0, path.size() - 1));
+    String token = path.get(path.size() - 1);
+    Object removed = null;
+    if (parent instanceof org.json.JSONObject) {
+      removed = ((org.json.JSONObject) parent).remove(token);
+    } else if (parent instanceof JSONArray) {
+      JSONArray jsonArray = (JSONArray) parent;
+      int index = arrayIndex(token, path);
+      if (index < jsonArray.length()) {
+        removed = jsonArray.remove(index);
+      }
+    }
+    if (Objects.isNull(removed)) {
+      throw new JSONException("Path not found " + toPointer(path));
+    }
+    return removed;
+  }
+
+  private static int arrayIndex(String token, List<String> path) {
+    if (!isIndex(token)) {
+      throw new JSONException("Invalid array index " + toPointer(path));
+    }
+    return Integer.parseInt(token);
+  }
+
+  private static boolean isIndex(String token) {
+    if (token.isEmpty() || token.length() > 9 || (token.length() > 1 && token.charAt(0) == '0')) {
+      return false;
+    }
+    for (int i = 0; i < token.length(); i++) {
+      if (token.charAt(i) < '0' || token.charAt(i) > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** @return deep copy of object or array, other values are immutable */
+  private static Object copy(Object value) {
+    if (value instanceof org.json.JSONObject) {
+      org.json.JSONObject source = (org.json.JSONObject) value;
+      org.json.JSONObject jsonObject = new org.json.JSONObject();
+      for (String key : source.keySet()) {
+        jsonObject.put(key, copy(source.opt(key)));
+      }
+      return jsonObject;
+    } else if (value instanceof JSONArray) {
+      JSONArray source = (JSONArray) value;
+      JSONArray jsonArray = new JSONArray();
+      for (int i = 0; i < source.length(); i++) {
+        jsonArray.put(copy(source.opt(i)));
+      }
+      return jsonArray;
+    }
+    return value;
+  }
+
+  private static List<String> tokens(String pointer) {
+    List<String> tokens = new ArrayList<>();
+    if (pointer.isEmpty()) {
+      return tokens;
+    } else if (pointer.charAt(0) != '/') {
+      throw new JSONException("Invalid JSON Pointer " + pointer);
+    }
+    int start = 1;
+    while (true) {
+      int end = pointer.indexOf('/', start);
+      String token = pointer.substring(start, end < 0 ? pointer.length() : end);
+      tokens.add(token.replace("~1", "/").replace("~0", "~"));
+      if (end < 0) {
+        return tokens;
+      }
+      start = end + 1;
+    }
+  }
+
+  private static void appendToken(StringBuilder path, String token) {
+    path.append('/');
+    for (int i = 0; i < token.length(); i++) {
+      char c = token.charAt(i);
+      if (c == '~') {
+        path.append("~0");
+      } else if (c == '/') {
+        path.append("~1");
+      } else {
+        path.append(c);
+      }
+    }
+  }
+
+  private static String toPointer(List<String> tokens) {
+    StringBuilder pointer = new StringBuilder();
+    for (String token : tokens) {
+      appendToken(pointer, token);
+    }
+    return pointer.toString();
+  }
+}
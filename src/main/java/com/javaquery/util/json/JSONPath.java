@@ -0,0 +1,187 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+
+/**
+ * Pre-compiled key path of {@link JSONObject}. Path is split into segments and array indexes are
+ * parsed only once at {@link #compile(String)}, so same path can be used for any number of lookups
+ * without allocating or parsing again.
+ *
+ * <pre>
+ * private static final JSONPath SKU = JSONPath.compile("order.items[2].sku");
+ * ...
+ * String sku = jsonObject.optString(SKU);
+ * </pre>
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONPath {
+
+  static final int NO_INDEX = -1;
+
+  private final String expression;
+  /* path of the object holding key, same as path used by JSONObject cache. */
+  final String path;
+  final String[] segments;
+  final String[] names;
+  final int[] indexes;
+  final String key;
+  final String keyName;
+  final int keyIndex;
+
+  private JSONPath(String expression) {
+    this.expression = expression;
+    String[] tokens = split(expression);
+    int parentLength = tokens.length - 1;
+
+    this.path = parentLength > 0 ? expression.substring(0, expression.lastIndexOf('.')) : null;
+    this.segments = new String[parentLength];
+    this.names = new String[parentLength];
+    this.indexes = new int[parentLength];
+    for (int i = 0; i < parentLength; i++) {
+      segments[i] = tokens[i];
+      names[i] = arrayName(tokens[i]);
+      indexes[i] = arrayIndex(tokens[i]);
+    }
+    this.key = tokens[parentLength];
+    this.keyName = arrayName(key);
+    this.keyIndex = arrayIndex(key);
+  }
+
+  /**
+   * Compile key path like <code>items.item[0].batters.batter[2].available</code>.
+   *
+   * @param expression key path to compile
+   * @return compiled {@link JSONPath}
+   * @throws IllegalArgumentException if expression has empty segment or invalid array index
+   * @throws NullPointerException if expression is <code>null</code>
+   */
+  public static JSONPath compile(String expression) {
+    Assert.nonNull(expression, NullPointerException::new);
+    return new JSONPath(expression);
+  }
+
+  /** @return expression used to compile this path */
+  public String getExpression() {
+    return expression;
+  }
+
+  /** @return number of segments in path including key */
+  public int length() {
+    return segments.length + 1;
+  }
+
+  /**
+   * Walk the compiled segments and find {@link org.json.JSONObject} holding the key.
+   *
+   * @param root object to start walk from
+   * @return {@link org.json.JSONObject} holding the key or <code>null</code> if path doesn't exist
+   */
+  org.json.JSONObject resolve(org.json.JSONObject root) {
+    org.json.JSONObject current = root;
+    for (int i = 0; i < segments.length && Objects.nonNull(current); i++) {
+      current = step(current, i);
+    }
+    return current;
+  }
+
+  /**
+   * Get {@link org.json.JSONObject} of provided segment.
+   *
+   * @param jsonObject object holding the segment
+   * @param i index of segment
+   * @return {@link org.json.JSONObject} of segment or <code>null</code> if not exists
+   */
+  private org.json.JSONObject step(org.json.JSONObject jsonObject, int i) {
+    if (indexes[i] != NO_INDEX) {
+      JSONArray jsonArray = jsonObject.optJSONArray(names[i]);
+      if (Objects.nonNull(jsonArray)) {
+        org.json.JSONObject result = jsonArray.optJSONObject(indexes[i]);
+        if (Objects.nonNull(result)) {
+          return result;
+        }
+      }
+    }
+    return jsonObject.optJSONObject(segments[i]);
+  }
+
+  /**
+   * Get {@link org.json.JSONObject} from array when key is in <code>array[n]</code> form.
+   *
+   * @param jsonObject object holding the key
+   * @return org.json.JSONObject from {@link JSONArray} or <code>null</code>
+   */
+  org.json.JSONObject arrayJSONObject(org.json.JSONObject jsonObject) {
+    if (keyIndex != NO_INDEX) {
+      JSONArray jsonArray = jsonObject.optJSONArray(keyName);
+      if (Objects.nonNull(jsonArray)) {
+        return jsonArray.optJSONObject(keyIndex);
+      }
+    }
+    return null;
+  }
+
+  private static String[] split(String expression) {
+    int count = 1;
+    for (int i = 0; i < expression.length(); i++) {
+      if (expression.charAt(i) == '.') {
+        count++;
+      }
+    }
+
+    String[] tokens = new String[count];
+    int start = 0;
+    for (int i = 0; i < count; i++) {
+      int end = expression.indexOf('.', start);
+      end = end < 0 ? expression.length() : end;
+      if (end == start) {
+        throw new IllegalArgumentException("empty segment in path: " + expression);
+      }
+      tokens[i] = expression.substring(start, end);
+      start = end + 1;
+    }
+    return tokens;
+  }
+
+  private static String arrayName(String segment) {
+    int startBracket = segment.indexOf('[');
+    return startBracket > -1 && segment.endsWith("]") ? segment.substring(0, startBracket) : segment;
+  }
+
+  private static int arrayIndex(String segment) {
+    int startBracket = segment.indexOf('[');
+    if (startBracket > -1 && segment.endsWith("]")) {
+      String index = segment.substring(startBracket + 1, segment.length() - 1);
+      try {
+        int result = Integer.parseInt(index);
+        if (result >= 0) {
+          return result;
+        }
+      } catch (NumberFormatException e) {
+        /* fall through to exception below */
+      }
+      throw new IllegalArgumentException("invalid array index in segment: " + segment);
+    }
+    return NO_INDEX;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    return expression.equals(((JSONPath) o).expression);
+  }
+
+  @Override
+  public int hashCode() {
+    return expression.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+}
@@ -0,0 +1,59 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+
+/**
+ * Pre-compiled set of key paths extracted together by {@link JSONObject#extract(JSONProjection)}.
+ * Paths are kept in prefix tree, so document is walked only once and common prefix of paths is
+ * visited only once.
+ *
+ * <pre>
+ * private static final JSONProjection ORDER = JSONProjection.compile("order.id", "order.customer.name", "order.items[0].sku");
+ * ...
+ * Object[] values = jsonObject.extract(ORDER);
+ * </pre>
+ *
+ * <p>Note: Instance is immutable and can be shared between threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONProjection {
+
+  private final String[] paths;
+  final PathTrie root;
+
+  private JSONProjection(String[] paths) {
+    this.paths = paths.clone();
+    JSONPath[] jsonPaths = new JSONPath[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      jsonPaths[i] = JSONPath.compile(paths[i]);
+    }
+    this.root = PathTrie.build(jsonPaths);
+  }
+
+  /**
+   * Compile paths, <code>array[n]</code> at the end of path selects the element of array.
+   *
+   * @param paths paths to extract, position of path is the index of its value in result
+   * @return compiled {@link JSONProjection}
+   * @throws IllegalArgumentException if any path is invalid
+   */
+  public static JSONProjection compile(String... paths) {
+    Assert.nonNull(paths, NullPointerException::new);
+    return new JSONProjection(paths);
+  }
+
+  /** @return number of paths */
+  public int size() {
+    return paths.length;
+  }
+
+  /**
+   * @param index index of path
+   * @return path at provided index
+   */
+  public String path(int index) {
+    return paths[index];
+  }
+}
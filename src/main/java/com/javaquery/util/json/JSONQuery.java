@@ -0,0 +1,364 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Pre-compiled aggregation over stream of {@link JSONObject}: filter records on path predicates,
+ * group by paths and compute count, sum, min, max and average of numeric paths.
+ *
+ * <pre>
+ * private static final JSONQuery REVENUE =
+ *     JSONQuery.aggregate("amount")
+ *         .where("status", "PAID"::equals)
+ *         .whereNumber("amount", amount -&gt; amount &gt; 0)
+ *         .groupBy("country");
+ * ...
+ * Map&lt;List&lt;Object&gt;, JSONQuery.Group&gt; result = REVENUE.execute(records.parallel());
+ * double revenue = result.get(Collections.singletonList("IN")).sum("amount");
+ * </pre>
+ *
+ * All paths of query are compiled into one {@link JSONProjection}, so each record is walked once.
+ * Aggregates are kept in primitive arrays per group, values are not boxed. Parallel stream is
+ * aggregated per partition and partitions are merged at the end.
+ *
+ * <p>Path uses the same syntax as {@link JSONObject}. Numeric string is treated as number, other
+ * values of aggregated path are ignored. Missing value and <code>null</code> are <code>null</code>
+ * in group key.
+ *
+ * <p>Note: Instance is immutable and can be shared between threads, methods building query return
+ * new instance.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONQuery {
+
+  private final String[] aggregates;
+  private final String[] groups;
+  private final String[] filterPaths;
+  private final List<Predicate<Object>> filters;
+
+  private final JSONProjection projection;
+  private final int[] aggregateSlots;
+  private final int[] groupSlots;
+  private final int[] filterSlots;
+
+  private JSONQuery(
+      String[] aggregates, String[] groups, String[] filterPaths, List<Predicate<Object>> filters) {
+    this.aggregates = aggregates;
+    this.groups = groups;
+    this.filterPaths = filterPaths;
+    this.filters = filters;
+
+    Map<String, Integer> slots = new LinkedHashMap<>();
+    this.aggregateSlots = slots(aggregates, slots);
+    this.groupSlots = slots(groups, slots);
+    this.filterSlots = slots(filterPaths, slots);
+    this.projection = JSONProjection.compile(slots.keySet().toArray(new String[0]));
+  }
+
+  /** @return position of each path in projection, same path shares the position */
+  private static int[] slots(String[] paths, Map<String, Integer> slots) {
+    int[] result = new int[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      Integer slot = slots.get(paths[i]);
+      if (Objects.isNull(slot)) {
+        slot = slots.size();
+        slots.put(paths[i], slot);
+      }
+      result[i] = slot;
+    }
+    return result;
+  }
+
+  /**
+   * @param paths numeric paths to aggregate, may be empty when only count is needed
+   * @return query without filter and group
+   * @throws IllegalArgumentException if any path is invalid
+   */
+  public static JSONQuery aggregate(String... paths) {
+    Assert.nonNull(paths, NullPointerException::new);
+    return new JSONQuery(unique(paths), new String[0], new String[0], Collections.emptyList());
+  }
+
+  /**
+   * @param path path of value to test
+   * @param predicate test of value, value is <code>null</code> when path doesn't exist
+   * @return new query which skips records not matching the predicate
+   */
+  public JSONQuery where(String path, Predicate<Object> predicate) {
+    Assert.nonNull(path, NullPointerException::new);
+    Assert.nonNull(predicate, NullPointerException::new);
+    String[] paths = Arrays.copyOf(filterPaths, filterPaths.length + 1);
+    paths[filterPaths.length] = path;
+    List<Predicate<Object>> predicates = new ArrayList<>(filters);
+    predicates.add(predicate);
+    return new JSONQuery(aggregates, groups, paths, Collections.unmodifiableList(predicates));
+  }
+
+  /**
+   * @param path path of numeric value to test
+   * @param predicate test of value
+   * @return new query which skips records not matching the predicate or without numeric value
+   */
+  public JSONQuery whereNumber(String path, DoublePredicate predicate) {
+    Assert.nonNull(predicate, NullPointerException::new);
+    return where(
+        path,
+        value -> {
+          Number number = JSONSelector.toNumber(value);
+          return Objects.nonNull(number) && predicate.test(number.doubleValue());
+        });
+  }
+
+  /**
+   * @param paths paths of group key
+   * @return new query grouping records by values of paths
+   */
+  public JSONQuery groupBy(String... paths) {
+    Assert.nonNull(paths, NullPointerException::new);
+    return new JSONQuery(aggregates, unique(paths), filterPaths, filters);
+  }
+
+  private static String[] unique(String[] paths) {
+    Set<String> unique = new LinkedHashSet<>();
+    for (String path : paths) {
+      Assert.nonNull(path, NullPointerException::new);
+      unique.add(path);
+    }
+    return unique.toArray(new String[0]);
+  }
+
+  /**
+   * Run query, records are aggregated in parallel when stream is parallel.
+   *
+   * @param records records to aggregate
+   * @return group by key, key has one value for each group path in order (empty list when query
+   *     has no group)
+   */
+  public Map<List<Object>, Group> execute(Stream<JSONObject> records) {
+    Assert.nonNull(records, NullPointerException::new);
+    Partition partition =
+        records.collect(() -> new Partition(this), Partition::add, Partition::merge);
+    Map<List<Object>, Group> result = new HashMap<>(partition.groups.size() * 4 / 3 + 1);
+    for (Map.Entry<Object, Group> entry : partition.groups.entrySet()) {
+      result.put(toList(entry.getKey()), entry.getValue());
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Object> toList(Object key) {
+    if (groups.length == 0) {
+      return Collections.emptyList();
+    } else if (groups.length == 1) {
+      return Collections.singletonList(key);
+    }
+    return (List<Object>) key;
+  }
+
+  /** Groups of single partition with reusable buffer of extracted values. */
+  private static final class Partition {
+    private final JSONQuery query;
+    private final Object[] values;
+    private final Map<Object, Group> groups = new HashMap<>();
+
+    private Partition(JSONQuery query) {
+      this.query = query;
+      this.values = new Object[query.projection.size()];
+    }
+
+    private void add(JSONObject record) {
+      record.extract(query.projection, values);
+      for (int i = 0; i < query.filterSlots.length; i++) {
+        if (!query.filters.get(i).test(value(query.filterSlots[i]))) {
+          return;
+        }
+      }
+      Object key = key();
+      Group group = groups.get(key);
+      if (Objects.isNull(group)) {
+        group = new Group(query.aggregates);
+        groups.put(key, group);
+      }
+      group.count++;
+      for (int i = 0; i < query.aggregateSlots.length; i++) {
+        Number number = JSONSelector.toNumber(values[query.aggregateSlots[i]]);
+        if (Objects.nonNull(number)) {
+          group.add(i, number.doubleValue());
+        }
+      }
+    }
+
+    /** @return value of single group path or list of values, no list for common case */
+    private Object key() {
+      int[] slots = query.groupSlots;
+      if (slots.length == 0) {
+        return Collections.emptyList();
+      } else if (slots.length == 1) {
+        return value(slots[0]);
+      }
+      Object[] key = new Object[slots.length];
+      for (int i = 0; i < slots.length; i++) {
+        key[i] = value(slots[i]);
+      }
+      return Arrays.asList(key);
+    }
+
+    private Object value(int slot) {
+      Object value = values[slot];
+      return org.json.JSONObject.NULL.equals(value) ? null : value;
+    }
+
+    private void merge(Partition other) {
+      for (Map.Entry<Object, Group> entry : other.groups.entrySet()) {
+        Group group = groups.get(entry.getKey());
+        if (Objects.isNull(group)) {
+          groups.put(entry.getKey(), entry.getValue());
+        } else {
+          group.merge(entry.getValue());
+        }
+      }
+    }
+  }
+
+  /** Aggregates of one group. */
+  public static final class Group {
+    private final String[] paths;
+    private long count;
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] mins;
+    private final double[] maxs;
+
+    private Group(String[] paths) {
+      this.paths = paths;
+      this.counts = new long[paths.length];
+      this.sums = new double[paths.length];
+      this.mins = new double[paths.length];
+      this.maxs = new double[paths.length];
+      Arrays.fill(mins, Double.NaN);
+      Arrays.fill(maxs, Double.NaN);
+    }
+
+    private void add(int i, double value) {
+      if (counts[i]++ == 0) {
+        mins[i] = value;
+        maxs[i] = value;
+      } else {
+        mins[i] = Math.min(mins[i], value);
+        maxs[i] = Math.max(maxs[i], value);
+      }
+      sums[i] += value;
+    }
+
+    private void merge(Group other) {
+      count += other.count;
+      for (int i = 0; i < paths.length; i++) {
+        if (other.counts[i] == 0) {
+          continue;
+        } else if (counts[i] == 0) {
+          mins[i] = other.mins[i];
+          maxs[i] = other.maxs[i];
+        } else {
+          mins[i] = Math.min(mins[i], other.mins[i]);
+          maxs[i] = Math.max(maxs[i], other.maxs[i]);
+        }
+        counts[i] += other.counts[i];
+        sums[i] += other.sums[i];
+      }
+    }
+
+    private int index(String path) {
+      for (int i = 0; i < paths.length; i++) {
+        if (paths[i].equals(path)) {
+          return i;
+        }
+      }
+      throw new IllegalArgumentException(path + " is not aggregated");
+    }
+
+    /** @return number of records in group */
+    public long count() {
+      return count;
+    }
+
+    /**
+     * @param path aggregated path
+     * @return number of records in group with numeric value at path
+     * @throws IllegalArgumentException if path is not aggregated by query
+     */
+    public long count(String path) {
+      return counts[index(path)];
+    }
+
+    /**
+     * @param path aggregated path
+     * @return sum of numeric values, <code>0</code> if there is none
+     * @throws IllegalArgumentException if path is not aggregated by query
+     */
+    public double sum(String path) {
+      return sums[index(path)];
+    }
+
+    /**
+     * @param path aggregated path
+     * @return minimum of numeric values, <code>NaN</code> if there is none
+     * @throws IllegalArgumentException if path is not aggregated by query
+     */
+    public double min(String path) {
+      return mins[index(path)];
+    }
+
+    /**
+     * @param path aggregated path
+     * @return maximum of numeric values, <code>NaN</code> if there is none
+     * @throws IllegalArgumentException if path is not aggregated by query
+     */
+    public double max(String path) {
+      return maxs[index(path)];
+    }
+
+    /**
+     * @param path aggregated path
+     * @return average of numeric values, <code>NaN</code> if there is none
+     * @throws IllegalArgumentException if path is not aggregated by query
+     */
+    public double avg(String path) {
+      int i = index(path);
+      return counts[i] == 0 ? Double.NaN : sums[i] / counts[i];
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder builder = new StringBuilder("{count=").append(count);
+      for (int i = 0; i < paths.length; i++) {
+        builder
+            .append(", ")
+            .append(paths[i])
+            .append("={sum=")
+            .append(sums[i])
+            .append(", min=")
+            .append(mins[i])
+            .append(", max=")
+            .append(maxs[i])
+            .append('}');
+      }
+      return builder.append('}').toString();
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Pre-compiled query selecting multiple values from arrays of {@link JSONObject}. Each segment of
+ * path may select from array using
+ *
+ * <ul>
+ *   <li><code>items[2]</code> single element
+ *   <li><code>items[*]</code> all elements
+ *   <li><code>items[10:20]</code> elements from index 10 (inclusive) to 20 (exclusive), start or
+ *       end may be omitted like <code>items[:20]</code> or <code>items[10:]</code>
+ * </ul>
+ *
+ * <pre>
+ * private static final JSONSelector PRICES = JSONSelector.compile("order.items[*].price");
+ * ...
+ * double total = PRICES.doubleStream(jsonObject, true).sum();
+ * </pre>
+ *
+ * <p>Note: Instance is immutable and can be shared between threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONSelector {
+
+  private static final int NONE = -1;
+  private static final int ALL = Integer.MAX_VALUE;
+
+  private final String expression;
+  private final String[] names;
+  /* start index of array selection or NONE */
+  private final int[] starts;
+  /* end index (exclusive) of array selection */
+  private final int[] ends;
+
+  private JSONSelector(String expression) {
+    this.expression = expression;
+    String[] segments = expression.split("\\.", -1);
+    names = new String[segments.length];
+    starts = new int[segments.length];
+    ends = new int[segments.length];
+    for (int i = 0; i < segments.length; i++) {
+      parse(segments[i], i);
+    }
+  }
+
+  /**
+   * @param expression query like <code>items[*].price</code>
+   * @return compiled {@link JSONSelector}
+   * @throws IllegalArgumentException if expression has empty segment or invalid array selection
+   */
+  public static JSONSelector compile(String expression) {
+    Assert.nonNull(expression, NullPointerException::new);
+    return new JSONSelector(expression);
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @return sequential stream of selected values, missing values are skipped
+   */
+  public Stream<Object> stream(JSONObject jsonObject) {
+    return stream(jsonObject, false);
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @param parallel <code>true</code> to evaluate elements of first selected array in parallel
+   * @return stream of selected values, missing values are skipped
+   */
+  public Stream<Object> stream(JSONObject jsonObject, boolean parallel) {
+    Assert.nonNull(jsonObject, NullPointerException::new);
+    return select(jsonObject.root(), 0, parallel);
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @param parallel <code>true</code> to evaluate elements of first selected array in parallel
+   * @return stream of selected values which are number or numeric string
+   */
+  public DoubleStream doubleStream(JSONObject jsonObject, boolean parallel) {
+    return numbers(jsonObject, parallel).mapToDouble(Number::doubleValue);
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @param parallel <code>true</code> to evaluate elements of first selected array in parallel
+   * @return stream of selected values which are number or numeric string
+   */
+  public LongStream longStream(JSONObject jsonObject, boolean parallel) {
+    return numbers(jsonObject, parallel).mapToLong(Number::longValue);
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @param parallel <code>true</code> to evaluate elements of first selected array in parallel
+   * @return stream of selected values which are number or numeric string
+   */
+  public IntStream intStream(JSONObject jsonObject, boolean parallel) {
+    return numbers(jsonObject, parallel).mapToInt(Number::intValue);
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @return selected values which are number or numeric string
+   */
+  public double[] doubles(JSONObject jsonObject) {
+    return doubleStream(jsonObject, false).toArray();
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @return selected values which are number or numeric string
+   */
+  public long[] longs(JSONObject jsonObject) {
+    return longStream(jsonObject, false).toArray();
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @return selected values which are number or numeric string
+   */
+  public int[] ints(JSONObject jsonObject) {
+    return intStream(jsonObject, false).toArray();
+  }
+
+  /**
+   * @param jsonObject object to query
+   * @return selected values converted to String, <code>null</code> values are skipped
+   */
+  public String[] strings(JSONObject jsonObject) {
+    return stream(jsonObject, false)
+        .filter(value -> !org.json.JSONObject.NULL.equals(value))
+        .map(Object::toString)
+        .toArray(String[]::new);
+  }
+
+  /** @return expression used to compile this query */
+  public String getExpression() {
+    return expression;
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+
+  private Stream<Number> numbers(JSONObject jsonObject, boolean parallel) {
+    return stream(jsonObject, parallel).map(JSONSelector::toNumber).filter(Objects::nonNull);
+  }
+
+  static Number toNumber(Object value) {
+    if (value instanceof Number) {
+      return (Number) value;
+    } else if (value instanceof String) {
+      Object number = org.json.JSONObject.stringToValue((String) value);
+      return number instanceof Number ? (Number) number : null;
+    }
+    return null;
+  }
+
+  /**
+   * Select values of segment and remaining segments.
+   *
+   * @param value value holding the segment
+   * @param segment index of segment
+   * @param parallel evaluate array selection in parallel
+   * @return stream of selected values
+   */
+  private Stream<Object> select(Object value, int segment, boolean parallel) {
+    while (segment < names.length) {
+      if (!(value instanceof org.json.JSONObject)) {
+        return Stream.empty();
+      }
+      value = ((org.json.JSONObject) value).opt(names[segment]);
+      if (starts[segment] != NONE) {
+        if (!(value instanceof JSONArray)) {
+          return Stream.empty();
+        }
+        JSONArray jsonArray = (JSONArray) value;
+        if (ends[segment] == NONE) {
+          value = jsonArray.opt(starts[segment]);
+        } else {
+          int next = segment + 1;
+          IntStream indexes = IntStream.range(starts[segment], Math.min(ends[segment], jsonArray.length()));
+          return (parallel ? indexes.parallel() : indexes)
+              .mapToObj(jsonArray::opt)
+              .flatMap(element -> select(element, next, false));
+        }
+      }
+      if (Objects.isNull(value)) {
+        return Stream.empty();
+      }
+      segment++;
+    }
+    return Stream.of(value);
+  }
+
+  private void parse(String segment, int i) {
+    int startBracket = segment.indexOf('[');
+    if (startBracket < 0) {
+      names[i] = segment;
+      starts[i] = NONE;
+      ends[i] = NONE;
+    } else if (segment.endsWith("]") && startBracket > 0) {
+      names[i] = segment.substring(0, startBracket);
+      String selection = segment.substring(startBracket + 1, segment.length() - 1);
+      int colon = selection.indexOf(':');
+      if ("*".equals(selection)) {
+        starts[i] = 0;
+        ends[i] = ALL;
+      } else if (colon < 0) {
+        starts[i] = index(selection, segment, NONE);
+        ends[i] = NONE;
+      } else {
+        starts[i] = index(selection.substring(0, colon), segment, 0);
+        ends[i] = index(selection.substring(colon + 1), segment, ALL);
+      }
+    } else {
+      throw new IllegalArgumentException("invalid segment in query: " + expression);
+    }
+    if (names[i].isEmpty()) {
+      throw new IllegalArgumentException("empty segment in query: " + expression);
+    }
+  }
+
+  private int index(String value, String segment, int defaultValue) {
+    if (value.isEmpty() && defaultValue != NONE) {
+      return defaultValue;
+    }
+    try {
+      int result = Integer.parseInt(value);
+      if (result >= 0) {
+        return result;
+      }
+    } catch (NumberFormatException e) {
+      /* fall through to exception below */
+    }
+    throw new IllegalArgumentException("invalid array selection in segment: " + segment);
+  }
+}
@@ -0,0 +1,297 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Objects;
+import org.json.JSONException;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Buffered character level reader of JSON text. It only understands the lexical structure of JSON
+ * (strings, literals, nesting) so callers can read the parts they need and skip the rest without
+ * creating any object for skipped values.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+final class JSONStreamReader {
+
+  static final int EOF = -1;
+
+  private final Reader reader;
+  private final char[] buffer = new char[8192];
+  private int position;
+  private int limit;
+  private long offset;
+
+  JSONStreamReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * @return next character without consuming it or {@link #EOF}
+   * @throws IOException If an I/O error occurs
+   */
+  int peek() throws IOException {
+    if (position == limit && !fill()) {
+      return EOF;
+    }
+    return buffer[position];
+  }
+
+  /**
+   * @return next character or {@link #EOF}
+   * @throws IOException If an I/O error occurs
+   */
+  int read() throws IOException {
+    if (position == limit && !fill()) {
+      return EOF;
+    }
+    return buffer[position++];
+  }
+
+  /**
+   * @return next non whitespace character or {@link #EOF}
+   * @throws IOException If an I/O error occurs
+   */
+  int nextClean() throws IOException {
+    int c;
+    do {
+      c = read();
+    } while (isWhitespace(c));
+    return c;
+  }
+
+  /**
+   * @return next non whitespace character without consuming it or {@link #EOF}
+   * @throws IOException If an I/O error occurs
+   */
+  int peekClean() throws IOException {
+    int c = peek();
+    while (isWhitespace(c)) {
+      position++;
+      c = peek();
+    }
+    return c;
+  }
+
+  /**
+   * Consume next non whitespace character and verify it.
+   *
+   * @param expected expected character
+   * @throws IOException If an I/O error occurs
+   * @throws JSONException If next character is not as expected
+   */
+  void expect(char expected) throws IOException {
+    int c = nextClean();
+    if (c != expected) {
+      throw syntaxError("expected '" + expected + "' but found " + describe(c));
+    }
+  }
+
+  /**
+   * Read string after opening quote is consumed, escape sequences are decoded.
+   *
+   * @param target builder to append string, it's not cleared
+   * @throws IOException If an I/O error occurs
+   */
+  void readString(StringBuilder target) throws IOException {
+    while (true) {
+      int c = read();
+      if (c == '"') {
+        return;
+      } else if (c == '\\') {
+        target.append(readEscape());
+      } else if (c == EOF) {
+        throw syntaxError("unterminated string");
+      } else {
+        target.append((char) c);
+      }
+    }
+  }
+
+  /**
+   * Skip string after opening quote is consumed.
+   *
+   * @param capture target to copy raw string including closing quote, can be <code>null</code>
+   * @throws IOException If an I/O error occurs
+   */
+  void skipString(Appendable capture) throws IOException {
+    while (true) {
+      int c = read();
+      if (c == EOF) {
+        throw syntaxError("unterminated string");
+      }
+      if (Objects.nonNull(capture)) {
+        capture.append((char) c);
+      }
+      if (c == '"') {
+        return;
+      } else if (c == '\\') {
+        int escaped = read();
+        if (escaped == EOF) {
+          throw syntaxError("unterminated string");
+        }
+        if (Objects.nonNull(capture)) {
+          capture.append((char) escaped);
+        }
+      }
+    }
+  }
+
+  /**
+   * Skip complete value whose first character is already consumed.
+   *
+   * @param first first character of value
+   * @param capture target to copy raw value, can be <code>null</code>
+   * @throws IOException If an I/O error occurs
+   */
+  void skipValue(int first, Appendable capture) throws IOException {
+    int depth = 0;
+    int c = first;
+    while (true) {
+      if (c == EOF) {
+        throw syntaxError("unexpected end of document");
+      }
+      if (Objects.nonNull(capture)) {
+        capture.append((char) c);
+      }
+      switch (c) {
+        case '"':
+          skipString(capture);
+          if (depth == 0) {
+            return;
+          }
+          break;
+        case '{':
+        case '[':
+          depth++;
+          break;
+        case '}':
+        case ']':
+          if (--depth <= 0) {
+            if (depth < 0) {
+              throw syntaxError("unexpected " + describe(c));
+            }
+            return;
+          }
+          break;
+        default:
+          if (depth == 0) {
+            skipLiteral(capture);
+            return;
+          }
+      }
+      c = read();
+    }
+  }
+
+  /**
+   * Read complete value whose first character is already consumed. Objects and arrays are parsed
+   * by {@link JSONTokener}.
+   *
+   * @param first first character of value
+   * @param scratch builder used to hold raw text, it's cleared before use
+   * @return String, Boolean, Number, {@link org.json.JSONObject#NULL}, org.json.JSONObject or
+   *     {@link org.json.JSONArray}
+   * @throws IOException If an I/O error occurs
+   */
+  Object readValue(int first, StringBuilder scratch) throws IOException {
+    scratch.setLength(0);
+    if (first == '"') {
+      readString(scratch);
+      return scratch.toString();
+    } else if (first == '{' || first == '[') {
+      skipValue(first, scratch);
+      return new JSONTokener(scratch.toString()).nextValue();
+    } else if (first == EOF || !isLiteral(first)) {
+      throw syntaxError("unexpected " + describe(first));
+    }
+    scratch.append((char) first);
+    skipLiteral(scratch);
+    return org.json.JSONObject.stringToValue(scratch.toString());
+  }
+
+  private void skipLiteral(Appendable capture) throws IOException {
+    int c = peek();
+    while (c != EOF && isLiteral(c)) {
+      if (Objects.nonNull(capture)) {
+        capture.append((char) c);
+      }
+      position++;
+      c = peek();
+    }
+  }
+
+  private char readEscape() throws IOException {
+    int c = read();
+    switch (c) {
+      case 'b':
+        return '\b';
+      case 't':
+        return '\t';
+      case 'n':
+        return '\n';
+      case 'f':
+        return '\f';
+      case 'r':
+        return '\r';
+      case 'u':
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+          int digit = Character.digit(read(), 16);
+          if (digit < 0) {
+            throw syntaxError("illegal unicode escape");
+          }
+          value = (value << 4) | digit;
+        }
+        return (char) value;
+      case '"':
+      case '\\':
+      case '/':
+        return (char) c;
+      default:
+        throw syntaxError("illegal escape " + describe(c));
+    }
+  }
+
+  private boolean fill() throws IOException {
+    offset += limit;
+    position = 0;
+    limit = 0;
+    int read = reader.read(buffer, 0, buffer.length);
+    if (read > 0) {
+      limit = read;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * @param message error message
+   * @return exception with current character position in document
+   */
+  JSONException syntaxError(String message) {
+    return new JSONException(message + " at character " + (offset + position));
+  }
+
+  private static String describe(int c) {
+    return c == EOF ? "end of document" : "'" + (char) c + "'";
+  }
+
+  static boolean isWhitespace(int c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+  }
+
+  private static boolean isLiteral(int c) {
+    return !isWhitespace(c)
+        && c != ','
+        && c != ':'
+        && c != '{'
+        && c != '}'
+        && c != '['
+        && c != ']'
+        && c != '"';
+  }
+}
@@ -0,0 +1,700 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import com.javaquery.util.http.CommonResponse;
+import com.javaquery.util.logging.LogBuilder;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Streaming JSON writer which encodes UTF-8 directly into reusable per-thread buffer and flushes it
+ * to {@link OutputStream} or {@link ByteBuffer}. No intermediate <code>String</code> of the
+ * document is created, so large payload is not held twice in memory.
+ *
+ * <pre>
+ * try (JSONWriter writer = new JSONWriter(outputStream)) {
+ *   writer.write(commonResponse);
+ * }
+ *
+ * private static final JSONWriter.Name ORDER_ID = JSONWriter.Name.of("order_id");
+ * ...
+ * writer.object().key(ORDER_ID).value(101).key("items").value(items).endObject();
+ * </pre>
+ *
+ * Supported values are same as {@link #value(Object)}.
+ *
+ * <p>Note: Writer is not thread safe. {@link #close()} flushes pending bytes and releases buffer,
+ * underlying stream is not closed.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class JSONWriter implements Closeable, Flushable {
+
+  /** size of per-thread buffer */
+  static final int BUFFER_SIZE = 8192;
+
+  private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+  private static final byte[] HEX = "0123456789abcdef".getBytes();
+  private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+  private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+  private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+  private static final Name STATUS_CODE = Name.of("status_code");
+  private static final Name MESSAGE = Name.of("message");
+  private static final Name PAYLOAD = Name.of("payload");
+  private static final Name ERROR_MESSAGES = Name.of("error_messages");
+  private static final Name PAGE = Name.of("page");
+  private static final Name LIMIT = Name.of("limit");
+  private static final Name TOTAL = Name.of("total");
+  private static final Name ACTION = Name.of(LogBuilder.ACTION);
+  private static final Name LOG_MESSAGE = Name.of(LogBuilder.MESSAGE);
+  private static final Name TAGS = Name.of(LogBuilder.TAGS);
+  private static final Name EXECUTION_TIME = Name.of(LogBuilder.EXECUTION_TIME);
+
+  /* state of each nesting level */
+  private static final byte DOCUMENT = 0;
+  private static final byte DONE = 1;
+  private static final byte OBJECT_EMPTY = 2;
+  private static final byte OBJECT = 3;
+  private static final byte KEY = 4;
+  private static final byte ARRAY_EMPTY = 5;
+  private static final byte ARRAY = 6;
+
+  private final OutputStream outputStream;
+  private final ByteBuffer byteBuffer;
+  private byte[] buffer;
+  private int position;
+  private byte[] stack = new byte[32];
+  private int depth;
+
+  /** @param outputStream stream to write UTF-8 json */
+  public JSONWriter(OutputStream outputStream) {
+    this(outputStream, null, acquire());
+    Assert.nonNull(outputStream, NullPointerException::new);
+  }
+
+  /**
+   * @param byteBuffer buffer to write UTF-8 json
+   * @throws java.nio.BufferOverflowException from write methods when there is insufficient space
+   *     in buffer
+   */
+  public JSONWriter(ByteBuffer byteBuffer) {
+    this(null, byteBuffer, acquire());
+    Assert.nonNull(byteBuffer, NullPointerException::new);
+  }
+
+  private JSONWriter(OutputStream outputStream, ByteBuffer byteBuffer, byte[] buffer) {
+    this.outputStream = outputStream;
+    this.byteBuffer = byteBuffer;
+    this.buffer = buffer;
+  }
+
+  private static byte[] acquire() {
+    byte[] buffer = BUFFERS.get();
+    if (Objects.nonNull(buffer)) {
+      /* taken so nested writer on the same thread gets its own buffer */
+      BUFFERS.set(null);
+      return buffer;
+    }
+    return new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Begin object.
+   *
+   * @return this writer
+   * @throws JSONException if object is not allowed at this position
+   */
+  public JSONWriter object() {
+    beforeValue();
+    push(OBJECT_EMPTY);
+    writeByte('{');
+    return this;
+  }
+
+  /**
+   * End object.
+   *
+   * @return this writer
+   * @throws JSONException if there is no open object or key has no value
+   */
+  public JSONWriter endObject() {
+    byte state = stack[depth];
+    if (state != OBJECT_EMPTY && state != OBJECT) {
+      throw new JSONException("Misplaced endObject.");
+    }
+    depth--;
+    writeByte('}');
+    return this;
+  }
+
+  /**
+   * Begin array.
+   *
+   * @return this writer
+   * @throws JSONException if array is not allowed at this position
+   */
+  public JSONWriter array() {
+    beforeValue();
+    push(ARRAY_EMPTY);
+    writeByte('[');
+    return this;
+  }
+
+  /**
+   * End array.
+   *
+   * @return this writer
+   * @throws JSONException if there is no open array
+   */
+  public JSONWriter endArray() {
+    byte state = stack[depth];
+    if (state != ARRAY_EMPTY && state != ARRAY) {
+      throw new JSONException("Misplaced endArray.");
+    }
+    depth--;
+    writeByte(']');
+    return this;
+  }
+
+  /**
+   * @param name pre-encoded key of object
+   * @return this writer
+   * @throws JSONException if key is not allowed at this position
+   */
+  public JSONWriter key(Name name) {
+    Assert.nonNull(name, NullPointerException::new);
+    beforeKey();
+    writeBytes(name.bytes);
+    return this;
+  }
+
+  /**
+   * @param key key of object
+   * @return this writer
+   * @throws JSONException if key is not allowed at this position
+   */
+  public JSONWriter key(String key) {
+    Assert.nonNull(key, NullPointerException::new);
+    beforeKey();
+    writeString(key);
+    writeByte(':');
+    return this;
+  }
+
+  /**
+   * @param value the value
+   * @return this writer
+   * @throws JSONException if value is not allowed at this position
+   */
+  public JSONWriter value(boolean value) {
+    beforeValue();
+    writeBytes(value ? TRUE : FALSE);
+    return this;
+  }
+
+  /**
+   * @param value the value
+   * @return this writer
+   * @throws JSONException if value is not allowed at this position
+   */
+  public JSONWriter value(long value) {
+    beforeValue();
+    writeLong(value);
+    return this;
+  }
+
+  /**
+   * @param value the value
+   * @return this writer
+   * @throws JSONException if value is not allowed at this position or value is not finite
+   */
+  public JSONWriter value(double value) {
+    assertFinite(Double.isFinite(value));
+    beforeValue();
+    writeDouble(value);
+    return this;
+  }
+
+  /**
+   * @param number valid json number text, written as is
+   * @return this writer
+   */
+  JSONWriter number(String number) {
+    beforeValue();
+    writeAscii(number);
+    return this;
+  }
+
+  /**
+   * @param value the value, <code>null</code> is written as json null
+   * @return this writer
+   * @throws JSONException if value is not allowed at this position
+   */
+  public JSONWriter value(String value) {
+    beforeValue();
+    if (Objects.isNull(value)) {
+      writeBytes(NULL);
+    } else {
+      writeString(value);
+    }
+    return this;
+  }
+
+  /**
+   * Write any supported value: <code>null</code>, CharSequence, Number, Boolean, Character, Enum (name),
+   * Date (epoch millis), {@link JSONObject}, org.json types, Map, Iterable, array, {@link
+   * CommonResponse}, {@link LogBuilder} and other objects using {@link JSONBinder}.
+   *
+   * @param value the value
+   * @return this writer
+   * @throws JSONException if value is not allowed at this position
+   */
+  public JSONWriter value(Object value) {
+    if (Objects.isNull(value) || value == org.json.JSONObject.NULL) {
+      beforeValue();
+      writeBytes(NULL);
+    } else if (value instanceof CharSequence) {
+      value(value.toString());
+    } else if (value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte) {
+      value(((Number) value).longValue());
+    } else if (value instanceof Double) {
+      value(((Double) value).doubleValue());
+    } else if (value instanceof Float) {
+      /* Float.toString avoids widening noise like 0.10000000149011612 */
+      float number = (Float) value;
+      assertFinite(Float.isFinite(number));
+      beforeValue();
+      writeAscii(Float.toString(number));
+    } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+      beforeValue();
+      writeAscii(value.toString());
+    } else if (value instanceof Number) {
+      value(((Number) value).doubleValue());
+    } else if (value instanceof Boolean) {
+      value(((Boolean) value).booleanValue());
+    } else if (value instanceof Character || value instanceof Enum) {
+      value(value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+    } else if (value instanceof Date) {
+      value(((Date) value).getTime());
+    } else if (value instanceof JSONObject) {
+      value(((JSONObject) value).root());
+    } else if (value instanceof org.json.JSONObject) {
+      org.json.JSONObject jsonObject = (org.json.JSONObject) value;
+      object();
+      for (String key : jsonObject.keySet()) {
+        key(key).value(jsonObject.opt(key));
+      }
+      endObject();
+    } else if (value instanceof JSONArray) {
+      JSONArray jsonArray = (JSONArray) value;
+      array();
+      for (int i = 0; i < jsonArray.length(); i++) {
+        value(jsonArray.opt(i));
+      }
+      endArray();
+    } else if (value instanceof Map) {
+      object();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        key(String.valueOf(entry.getKey())).value(entry.getValue());
+      }
+      endObject();
+    } else if (value instanceof Iterable) {
+      array();
+      for (Object element : (Iterable<?>) value) {
+        value(element);
+      }
+      endArray();
+    } else if (value.getClass().isArray()) {
+      writeArray(value);
+    } else if (value instanceof CommonResponse) {
+      write((CommonResponse<?>) value);
+    } else if (value instanceof LogBuilder) {
+      write((LogBuilder) value);
+    } else {
+      JSONBinder.of(value.getClass()).write(value, this);
+    }
+    return this;
+  }
+
+  /**
+   * Write {@link CommonResponse}, <code>null</code> fields are not written.
+   *
+   * @param commonResponse response to write
+   * @return this writer
+   * @throws JSONException if value is not allowed at this position
+   */
+  public JSONWriter write(CommonResponse<?> commonResponse) {
+    Assert.nonNull(commonResponse, NullPointerException::new);
+    object();
+    key(STATUS_CODE).value(commonResponse.getStatusCode());
+    optional(MESSAGE, commonResponse.getMessage());
+    optional(PAYLOAD, commonResponse.getPayload());
+    optional(ERROR_MESSAGES, commonResponse.getErrorMessages());
+    optional(PAGE, commonResponse.getPage());
+    optional(LIMIT, commonResponse.getLimit());
+    optional(TOTAL, commonResponse.getTotal());
+    return endObject();
+  }
+
+  /**
+   * Write attributes of {@link LogBuilder}.
+   *
+   * @param logBuilder log builder to write
+   * @return this writer
+   * @throws JSONException if value is not allowed at this position
+   */
+  public JSONWriter write(LogBuilder logBuilder) {
+    Assert.nonNull(logBuilder, NullPointerException::new);
+    Map<String, Object> attributes = logBuilder.getAttributes();
+    object();
+    for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+      String key = entry.getKey();
+      Name name = logName(key);
+      if (Objects.nonNull(name)) {
+        key(name);
+      } else {
+        key(key);
+      }
+      value(entry.getValue());
+    }
+    return endObject();
+  }
+
+  private static Name logName(String key) {
+    switch (key) {
+      case LogBuilder.ACTION:
+        return ACTION;
+      case LogBuilder.MESSAGE:
+        return LOG_MESSAGE;
+      case LogBuilder.TAGS:
+        return TAGS;
+      case LogBuilder.EXECUTION_TIME:
+        return EXECUTION_TIME;
+      default:
+        return null;
+    }
+  }
+
+  private void optional(Name name, Object value) {
+    if (Objects.nonNull(value)) {
+      key(name).value(value);
+    }
+  }
+
+  private void writeArray(Object value) {
+    array();
+    if (value instanceof int[]) {
+      for (int element : (int[]) value) {
+        value(element);
+      }
+    } else if (value instanceof long[]) {
+      for (long element : (long[]) value) {
+        value(element);
+      }
+    } else if (value instanceof double[]) {
+      for (double element : (double[]) value) {
+        value(element);
+      }
+    } else {
+      int length = Array.getLength(value);
+      for (int i = 0; i < length; i++) {
+        value(Array.get(value, i));
+      }
+    }
+    endArray();
+  }
+
+  /**
+   * Write pending bytes to stream or buffer.
+   *
+   * @throws UncheckedIOException If an I/O error occurs
+   */
+  @Override
+  public void flush() {
+    drain();
+    if (Objects.nonNull(outputStream)) {
+      try {
+        outputStream.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Flush pending bytes and release buffer for reuse by next writer on this thread. Underlying
+   * stream is not closed.
+   *
+   * @throws UncheckedIOException If an I/O error occurs
+   */
+  @Override
+  public void close() {
+    if (Objects.isNull(buffer)) {
+      return;
+    }
+    try {
+      flush();
+    } finally {
+      BUFFERS.set(buffer);
+      buffer = null;
+    }
+  }
+
+  private void push(byte state) {
+    if (++depth == stack.length) {
+      stack = Arrays.copyOf(stack, stack.length * 2);
+    }
+    stack[depth] = state;
+  }
+
+  private void beforeKey() {
+    byte state = stack[depth];
+    if (state == OBJECT) {
+      writeByte(',');
+    } else if (state != OBJECT_EMPTY) {
+      throw new JSONException("Misplaced key.");
+    }
+    stack[depth] = KEY;
+  }
+
+  private void beforeValue() {
+    switch (stack[depth]) {
+      case DOCUMENT:
+        stack[depth] = DONE;
+        break;
+      case KEY:
+        stack[depth] = OBJECT;
+        break;
+      case ARRAY_EMPTY:
+        stack[depth] = ARRAY;
+        break;
+      case ARRAY:
+        writeByte(',');
+        break;
+      default:
+        throw new JSONException("Misplaced value.");
+    }
+  }
+
+  private void ensure(int length) {
+    if (Objects.isNull(buffer)) {
+      throw new IllegalStateException("JSONWriter is closed");
+    }
+    if (position + length > buffer.length) {
+      drain();
+    }
+  }
+
+  private void drain() {
+    if (position == 0) {
+      return;
+    }
+    if (Objects.nonNull(byteBuffer)) {
+      byteBuffer.put(buffer, 0, position);
+    } else {
+      try {
+        outputStream.write(buffer, 0, position);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    position = 0;
+  }
+
+  private void writeByte(char c) {
+    ensure(1);
+    buffer[position++] = (byte) c;
+  }
+
+  private void writeBytes(byte[] bytes) {
+    if (bytes.length > buffer.length) {
+      drain();
+      if (Objects.nonNull(byteBuffer)) {
+        byteBuffer.put(bytes);
+      } else {
+        try {
+          outputStream.write(bytes);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return;
+    }
+    ensure(bytes.length);
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  /** @param ascii string known to contain only ASCII characters */
+  private void writeAscii(String ascii) {
+    int length = ascii.length();
+    for (int start = 0; start < length; ) {
+      ensure(1);
+      int end = Math.min(length, start + buffer.length - position);
+      for (int i = start; i < end; i++) {
+        buffer[position++] = (byte) ascii.charAt(i);
+      }
+      start = end;
+    }
+  }
+
+  private void writeLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      writeAscii("-9223372036854775808");
+      return;
+    }
+    ensure(20);
+    if (value < 0) {
+      buffer[position++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+      digits++;
+    }
+    int end = position + digits;
+    for (int i = end - 1; i >= position; i--) {
+      buffer[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    position = end;
+  }
+
+  private static void assertFinite(boolean finite) {
+    if (!finite) {
+      throw new JSONException("JSON does not allow non-finite numbers.");
+    }
+  }
+
+  private void writeDouble(double value) {
+    /* whole number is written without fraction, same as org.json */
+    if (value == (long) value && Math.abs(value) < 1e15) {
+      writeLong((long) value);
+    } else {
+      writeAscii(Double.toString(value));
+    }
+  }
+
+  /** Write quoted and escaped string encoded as UTF-8. */
+  private void writeString(String value) {
+    writeByte('"');
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      ensure(6);
+      if (c < 0x80) {
+        if (c >= 0x20 && c != '"' && c != '\\') {
+          buffer[position++] = (byte) c;
+        } else {
+          writeEscape(c);
+        }
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xc0 | (c >> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      } else if (c == '\u2028' || c == '\u2029') {
+        /* line and paragraph separators are not allowed in javascript strings */
+        writeEscape(c);
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        /* unpaired surrogate, same replacement as String.getBytes */
+        buffer[position++] = '?';
+      } else {
+        buffer[position++] = (byte) (0xe0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      }
+    }
+    writeByte('"');
+  }
+
+  /** Write escape sequence of character, caller ensures 6 bytes. */
+  private void writeEscape(char c) {
+    buffer[position++] = '\\';
+    switch (c) {
+      case '"':
+      case '\\':
+        buffer[position++] = (byte) c;
+        return;
+      case '\b':
+        buffer[position++] = 'b';
+        return;
+      case '\f':
+        buffer[position++] = 'f';
+        return;
+      case '\n':
+        buffer[position++] = 'n';
+        return;
+      case '\r':
+        buffer[position++] = 'r';
+        return;
+      case '\t':
+        buffer[position++] = 't';
+        return;
+      default:
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xf];
+        buffer[position++] = HEX[(c >> 8) & 0xf];
+        buffer[position++] = HEX[(c >> 4) & 0xf];
+        buffer[position++] = HEX[c & 0xf];
+    }
+  }
+
+  /**
+   * Key of object encoded once as UTF-8 including quotes and colon. Keep it in constant and reuse.
+   */
+  public static final class Name {
+    private final String name;
+    private final byte[] bytes;
+
+    private Name(String name, byte[] bytes) {
+      this.name = name;
+      this.bytes = bytes;
+    }
+
+    /**
+     * @param name key of object
+     * @return pre-encoded key
+     */
+    public static Name of(String name) {
+      Assert.nonNull(name, NullPointerException::new);
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream(name.length() + 3);
+      JSONWriter writer = new JSONWriter(outputStream, null, new byte[name.length() * 3 + 3]);
+      writer.writeString(name);
+      writer.writeByte(':');
+      writer.drain();
+      return new Name(name, outputStream.toByteArray());
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+}
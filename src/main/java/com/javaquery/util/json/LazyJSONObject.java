@@ -0,0 +1,856 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Assert;
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * JSON object backed by raw UTF-8 bytes. Constructor builds compact structural index (type and
+ * offset of each object, array, key and value) in one pass, values are decoded only when they are
+ * requested. Retained heap is the byte array plus ~9 bytes per token instead of complete
+ * <code>org.json</code> tree.
+ *
+ * <p>Path uses the same syntax as {@link JSONObject}, <code>array[n]</code> at the end of path
+ * selects the element of array.
+ *
+ * <p>Note: Byte array is not copied, do not modify it after creating object. Instance is
+ * immutable and can be shared between threads.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public final class LazyJSONObject {
+
+  private static final byte OBJECT = 1;
+  private static final byte ARRAY = 2;
+  private static final byte END = 3;
+  private static final byte KEY = 4;
+  private static final byte STRING = 5;
+  private static final byte NUMBER = 6;
+  private static final byte TRUE = 7;
+  private static final byte FALSE = 8;
+  private static final byte NULL = 9;
+
+  private static final int NOT_FOUND = -1;
+
+  private final byte[] json;
+  /* byte offset where token starts */
+  private int[] starts;
+  /* index of token after this token and its children */
+  private int[] nexts;
+  private byte[] types;
+  private int size;
+
+  /**
+   * @param json UTF-8 encoded json object
+   * @throws JSONException If json is malformed or not an object
+   */
+  public LazyJSONObject(byte[] json) {
+    Assert.nonNull(json, NullPointerException::new);
+    this.json = json;
+    int capacity = Math.max(16, json.length / 8);
+    starts = new int[capacity];
+    nexts = new int[capacity];
+    types = new byte[capacity];
+
+    int position = skipWhitespace(0);
+    if (position >= json.length || json[position] != '{') {
+      throw syntaxError("a JSON object text must begin with '{'", position);
+    }
+    position = skipWhitespace(index(position));
+    if (position < json.length) {
+      throw syntaxError("unexpected content after end of object", position);
+    }
+
+    starts = Arrays.copyOf(starts, size);
+    nexts = Arrays.copyOf(nexts, size);
+    types = Arrays.copyOf(types, size);
+  }
+
+  /** @return number of tokens in structural index */
+  public int tokens() {
+    return size;
+  }
+
+  /**
+   * @param key A key string.
+   * @return <code>true</code> if the key exists
+   */
+  public boolean has(String key) {
+    return has(JSONPath.compile(key));
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @return <code>true</code> if the key exists
+   */
+  public boolean has(JSONPath path) {
+    return find(path) != NOT_FOUND;
+  }
+
+  /**
+   * @param key A key string.
+   * @return decoded value or <code>null</code> if there is no such key.
+   */
+  public Object opt(String key) {
+    return opt(JSONPath.compile(key));
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @return String, Boolean, Number, {@link org.json.JSONObject#NULL}, org.json.JSONObject or {@link
+   *     JSONArray} or <code>null</code> if there is no such key.
+   */
+  public Object opt(JSONPath path) {
+    int token = find(path);
+    return token == NOT_FOUND ? null : decode(token);
+  }
+
+  /**
+   * Same as {@link #optBoolean(JSONPath, boolean)} with default <code>false</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public boolean optBoolean(String key) {
+    return optBoolean(JSONPath.compile(key), false);
+  }
+
+  /**
+   * Same as {@link #optBoolean(JSONPath, boolean)}.
+   *
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public boolean optBoolean(String key, boolean defaultValue) {
+    return optBoolean(JSONPath.compile(key), defaultValue);
+  }
+
+  /**
+   * Same as {@link #optBoolean(JSONPath, boolean)} with default <code>false</code>.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public boolean optBoolean(JSONPath path) {
+    return optBoolean(path, false);
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return The truth or defaultValue if it is not a Boolean or the String "true" or "false".
+   */
+  public boolean optBoolean(JSONPath path, boolean defaultValue) {
+    int token = find(path);
+    if (token == NOT_FOUND) {
+      return defaultValue;
+    } else if (types[token] == TRUE || types[token] == FALSE) {
+      return types[token] == TRUE;
+    } else if (types[token] == STRING) {
+      String value = decodeString(starts[token]);
+      if ("true".equalsIgnoreCase(value)) {
+        return true;
+      } else if ("false".equalsIgnoreCase(value)) {
+        return false;
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Same as {@link #optInt(JSONPath, int)} with default <code>0</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public int optInt(String key) {
+    return optInt(JSONPath.compile(key), 0);
+  }
+
+  /**
+   * Same as {@link #optInt(JSONPath, int)}.
+   *
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public int optInt(String key, int defaultValue) {
+    return optInt(JSONPath.compile(key), defaultValue);
+  }
+
+  /**
+   * Same as {@link #optInt(JSONPath, int)} with default <code>0</code>.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public int optInt(JSONPath path) {
+    return optInt(path, 0);
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return int value or defaultValue if the value is not a number.
+   */
+  public int optInt(JSONPath path, int defaultValue) {
+    int token = find(path);
+    if (token != NOT_FOUND && types[token] == NUMBER) {
+      int start = starts[token];
+      int length = literalEnd(start) - start;
+      if (isSmallInteger(start, length)) {
+        return (int) parseLong(start, length);
+      }
+    }
+    Number number = toNumber(token);
+    return Objects.isNull(number) ? defaultValue : number.intValue();
+  }
+
+  /**
+   * Same as {@link #optLong(JSONPath, long)} with default <code>0L</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public long optLong(String key) {
+    return optLong(JSONPath.compile(key), 0L);
+  }
+
+  /**
+   * Same as {@link #optLong(JSONPath, long)}.
+   *
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public long optLong(String key, long defaultValue) {
+    return optLong(JSONPath.compile(key), defaultValue);
+  }
+
+  /**
+   * Same as {@link #optLong(JSONPath, long)} with default <code>0L</code>.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public long optLong(JSONPath path) {
+    return optLong(path, 0L);
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return long value or defaultValue if the value is not a number.
+   */
+  public long optLong(JSONPath path, long defaultValue) {
+    int token = find(path);
+    if (token != NOT_FOUND && types[token] == NUMBER) {
+      int start = starts[token];
+      int length = literalEnd(start) - start;
+      if (isSmallInteger(start, length)) {
+        return parseLong(start, length);
+      }
+    }
+    Number number = toNumber(token);
+    return Objects.isNull(number) ? defaultValue : number.longValue();
+  }
+
+  /**
+   * Same as {@link #optDouble(JSONPath, double)} with default <code>Double.NaN</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public double optDouble(String key) {
+    return optDouble(JSONPath.compile(key), Double.NaN);
+  }
+
+  /**
+   * Same as {@link #optDouble(JSONPath, double)}.
+   *
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public double optDouble(String key, double defaultValue) {
+    return optDouble(JSONPath.compile(key), defaultValue);
+  }
+
+  /**
+   * Same as {@link #optDouble(JSONPath, double)} with default <code>Double.NaN</code>.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public double optDouble(JSONPath path) {
+    return optDouble(path, Double.NaN);
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return double value or defaultValue if the value is not a number.
+   */
+  public double optDouble(JSONPath path, double defaultValue) {
+    Number number = toNumber(find(path));
+    return Objects.isNull(number) ? defaultValue : number.doubleValue();
+  }
+
+  /**
+   * Same as {@link #optNumber(JSONPath, Number)} with default <code>null</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public Number optNumber(String key) {
+    return optNumber(JSONPath.compile(key), null);
+  }
+
+  /**
+   * Same as {@link #optNumber(JSONPath, Number)}.
+   *
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public Number optNumber(String key, Number defaultValue) {
+    return optNumber(JSONPath.compile(key), defaultValue);
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return {@link Number} value or defaultValue if the value is not a number.
+   */
+  public Number optNumber(JSONPath path, Number defaultValue) {
+    Number number = toNumber(find(path));
+    return Objects.isNull(number) ? defaultValue : number;
+  }
+
+  /**
+   * Same as {@link #optBigDecimal(JSONPath, BigDecimal)}.
+   *
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public BigDecimal optBigDecimal(String key, BigDecimal defaultValue) {
+    return optBigDecimal(JSONPath.compile(key), defaultValue);
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return {@link BigDecimal} value or defaultValue if the value is not a number.
+   */
+  public BigDecimal optBigDecimal(JSONPath path, BigDecimal defaultValue) {
+    int token = find(path);
+    if (token != NOT_FOUND && (types[token] == NUMBER || types[token] == STRING)) {
+      String value = types[token] == NUMBER ? literal(token) : decodeString(starts[token]);
+      try {
+        return new BigDecimal(value);
+      } catch (NumberFormatException e) {
+        return defaultValue;
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Same as {@link #optString(JSONPath, String)} with default <code>""</code>.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public String optString(String key) {
+    return optString(JSONPath.compile(key), "");
+  }
+
+  /**
+   * Same as {@link #optString(JSONPath, String)}.
+   *
+   * @param key A key string.
+   * @param defaultValue The default.
+   * @return An object which is the value.
+   */
+  public String optString(String key, String defaultValue) {
+    return optString(JSONPath.compile(key), defaultValue);
+  }
+
+  /**
+   * Same as {@link #optString(JSONPath, String)} with default <code>""</code>.
+   *
+   * @param path A compiled key path.
+   * @return An object which is the value.
+   */
+  public String optString(JSONPath path) {
+    return optString(path, "");
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @param defaultValue The default.
+   * @return A string which is the value or defaultValue if there is no such key or value is null.
+   */
+  public String optString(JSONPath path, String defaultValue) {
+    int token = find(path);
+    if (token == NOT_FOUND || types[token] == NULL) {
+      return defaultValue;
+    } else if (types[token] == STRING) {
+      return decodeString(starts[token]);
+    } else if (types[token] == OBJECT || types[token] == ARRAY) {
+      return raw(token);
+    }
+    return literal(token);
+  }
+
+  /**
+   * Same as {@link #optJSONObject(JSONPath)}.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public org.json.JSONObject optJSONObject(String key) {
+    return optJSONObject(JSONPath.compile(key));
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @return A JSONObject decoded from bytes of the value or <code>null</code> if it is not an
+   *     object.
+   */
+  public org.json.JSONObject optJSONObject(JSONPath path) {
+    int token = find(path);
+    return token != NOT_FOUND && types[token] == OBJECT ? new org.json.JSONObject(raw(token)) : null;
+  }
+
+  /**
+   * Same as {@link #optJSONArray(JSONPath)}.
+   *
+   * @param key A key string.
+   * @return An object which is the value.
+   */
+  public JSONArray optJSONArray(String key) {
+    return optJSONArray(JSONPath.compile(key));
+  }
+
+  /**
+   * @param path A compiled key path.
+   * @return A JSONArray decoded from bytes of the value or <code>null</code> if it is not an array.
+   */
+  public JSONArray optJSONArray(JSONPath path) {
+    int token = find(path);
+    return token != NOT_FOUND && types[token] == ARRAY ? new JSONArray(raw(token)) : null;
+  }
+
+  @Override
+  public String toString() {
+    return new String(json, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Walk the index to find value token of path.
+   *
+   * @param path path to find
+   * @return index of value token or {@link #NOT_FOUND}
+   */
+  private int find(JSONPath path) {
+    int token = 0;
+    for (int i = 0; i < path.names.length && token != NOT_FOUND; i++) {
+      token = member(token, path.names[i]);
+      if (path.indexes[i] != JSONPath.NO_INDEX && token != NOT_FOUND) {
+        token = element(token, path.indexes[i]);
+      }
+    }
+    if (token != NOT_FOUND) {
+      token = member(token, path.keyName);
+    }
+    if (path.keyIndex != JSONPath.NO_INDEX && token != NOT_FOUND) {
+      token = element(token, path.keyIndex);
+    }
+    return token;
+  }
+
+  private int member(int object, String name) {
+    if (types[object] != OBJECT) {
+      return NOT_FOUND;
+    }
+    int token = object + 1;
+    while (types[token] != END) {
+      if (keyEquals(starts[token], name)) {
+        return token + 1;
+      }
+      token = nexts[token + 1];
+    }
+    return NOT_FOUND;
+  }
+
+  private int element(int array, int arrayIndex) {
+    if (types[array] != ARRAY) {
+      return NOT_FOUND;
+    }
+    int token = array + 1;
+    for (int i = 0; i < arrayIndex && types[token] != END; i++) {
+      token = nexts[token];
+    }
+    return types[token] == END ? NOT_FOUND : token;
+  }
+
+  /**
+   * Compare raw key with name without decoding ASCII keys.
+   *
+   * @param quote offset of opening quote of key
+   * @param name name to compare
+   * @return <code>true</code> if key is same as name
+   */
+  private boolean keyEquals(int quote, String name) {
+    int position = quote + 1;
+    for (int i = 0; i < name.length(); i++, position++) {
+      byte b = json[position];
+      if (b < 0 || b == '\\') {
+        return decodeString(quote).equals(name);
+      } else if (b != name.charAt(i)) {
+        return false;
+      }
+    }
+    return json[position] == '"';
+  }
+
+  private Object decode(int token) {
+    switch (types[token]) {
+      case STRING:
+        return decodeString(starts[token]);
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case NULL:
+        return org.json.JSONObject.NULL;
+      case NUMBER:
+        return org.json.JSONObject.stringToValue(literal(token));
+      case OBJECT:
+        return new org.json.JSONObject(raw(token));
+      default:
+        return new JSONArray(raw(token));
+    }
+  }
+
+  private Number toNumber(int token) {
+    if (token == NOT_FOUND) {
+      return null;
+    }
+    Object value = null;
+    if (types[token] == NUMBER) {
+      value = org.json.JSONObject.stringToValue(literal(token));
+    } else if (types[token] == STRING) {
+      value = org.json.JSONObject.stringToValue(decodeString(starts[token]));
+    }
+    return value instanceof Number ? (Number) value : null;
+  }
+
+  private String literal(int token) {
+    int start = starts[token];
+    return new String(json, start, literalEnd(start) - start, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * @param token index of object or array token
+   * @return raw json text of object or array
+   */
+  private String raw(int token) {
+    int start = starts[token];
+    int end = starts[nexts[token] - 1] + 1;
+    return new String(json, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  private boolean isSmallInteger(int start, int length) {
+    int digits = json[start] == '-' ? length - 1 : length;
+    if (digits < 1 || digits > 18) {
+      return false;
+    }
+    for (int i = length - digits; i < length; i++) {
+      byte b = json[start + i];
+      if (b < '0' || b > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long parseLong(int start, int length) {
+    boolean negative = json[start] == '-';
+    long result = 0;
+    for (int i = negative ? 1 : 0; i < length; i++) {
+      result = result * 10 + (json[start + i] - '0');
+    }
+    return negative ? -result : result;
+  }
+
+  /**
+   * @param quote offset of opening quote
+   * @return decoded string
+   */
+  private String decodeString(int quote) {
+    int start = quote + 1;
+    int position = start;
+    while (json[position] != '"' && json[position] != '\\') {
+      position++;
+    }
+    if (json[position] == '"') {
+      return new String(json, start, position - start, StandardCharsets.UTF_8);
+    }
+
+    StringBuilder stringBuilder = new StringBuilder();
+    while (true) {
+      stringBuilder.append(new String(json, start, position - start, StandardCharsets.UTF_8));
+      if (json[position] == '"') {
+        return stringBuilder.toString();
+      }
+      char escaped = (char) json[position + 1];
+      position += 2;
+      switch (escaped) {
+        case 'b':
+          stringBuilder.append('\b');
+          break;
+        case 't':
+          stringBuilder.append('\t');
+          break;
+        case 'n':
+          stringBuilder.append('\n');
+          break;
+        case 'f':
+          stringBuilder.append('\f');
+          break;
+        case 'r':
+          stringBuilder.append('\r');
+          break;
+        case 'u':
+          stringBuilder.append((char) Integer.parseInt(new String(json, position, 4, StandardCharsets.US_ASCII), 16));
+          position += 4;
+          break;
+        default:
+          stringBuilder.append(escaped);
+      }
+      start = position;
+      while (json[position] != '"' && json[position] != '\\') {
+        position++;
+      }
+    }
+  }
+
+  /* ---- structural index ---- */
+
+  /**
+   * Index value starting at provided position.
+   *
+   * @param position offset of first byte of value
+   * @return offset after the value
+   */
+  private int index(int position) {
+    if (position >= json.length) {
+      throw syntaxError("unexpected end of document", position);
+    }
+    byte b = json[position];
+    if (b == '{') {
+      return indexObject(position);
+    } else if (b == '[') {
+      return indexArray(position);
+    } else if (b == '"') {
+      add(STRING, position);
+      return skipString(position);
+    } else if (b == 't') {
+      return indexLiteral(TRUE, position, "true");
+    } else if (b == 'f') {
+      return indexLiteral(FALSE, position, "false");
+    } else if (b == 'n') {
+      return indexLiteral(NULL, position, "null");
+    } else if (b == '-' || (b >= '0' && b <= '9')) {
+      add(NUMBER, position);
+      return skipNumber(position);
+    }
+    throw syntaxError("unexpected character '" + (char) b + "'", position);
+  }
+
+  private int indexObject(int position) {
+    int object = add(OBJECT, position);
+    position = skipWhitespace(position + 1);
+    if (position < json.length && json[position] == '}') {
+      return close(object, position);
+    }
+    while (true) {
+      if (position >= json.length || json[position] != '"') {
+        throw syntaxError("expected name of field", position);
+      }
+      add(KEY, position);
+      position = skipWhitespace(skipString(position));
+      if (position >= json.length || json[position] != ':') {
+        throw syntaxError("expected ':'", position);
+      }
+      position = skipWhitespace(index(skipWhitespace(position + 1)));
+      if (position < json.length && json[position] == ',') {
+        position = skipWhitespace(position + 1);
+      } else if (position < json.length && json[position] == '}') {
+        return close(object, position);
+      } else {
+        throw syntaxError("expected ',' or '}'", position);
+      }
+    }
+  }
+
+  private int indexArray(int position) {
+    int array = add(ARRAY, position);
+    position = skipWhitespace(position + 1);
+    if (position < json.length && json[position] == ']') {
+      return close(array, position);
+    }
+    while (true) {
+      position = skipWhitespace(index(position));
+      if (position < json.length && json[position] == ',') {
+        position = skipWhitespace(position + 1);
+      } else if (position < json.length && json[position] == ']') {
+        return close(array, position);
+      } else {
+        throw syntaxError("expected ',' or ']'", position);
+      }
+    }
+  }
+
+  private int indexLiteral(byte type, int position, String literal) {
+    int end = literalEnd(position);
+    if (end - position != literal.length()
+        || !literal.equals(new String(json, position, end - position, StandardCharsets.US_ASCII))) {
+      throw syntaxError("unexpected literal", position);
+    }
+    add(type, position);
+    return end;
+  }
+
+  private int close(int container, int position) {
+    add(END, position);
+    nexts[container] = size;
+    return position + 1;
+  }
+
+  private int add(byte type, int position) {
+    if (size == starts.length) {
+      int capacity = size * 2;
+      starts = Arrays.copyOf(starts, capacity);
+      nexts = Arrays.copyOf(nexts, capacity);
+      types = Arrays.copyOf(types, capacity);
+    }
+    starts[size] = position;
+    nexts[size] = size + 1;
+    types[size] = type;
+    return size++;
+  }
+
+  /**
+   * @param quote offset of opening quote
+   * @return offset after closing quote
+   */
+  private int skipString(int quote) {
+    int position = quote + 1;
+    while (position < json.length) {
+      byte b = json[position];
+      if (b == '"') {
+        return position + 1;
+      } else if (b == '\\') {
+        position = skipEscape(position);
+      } else if (b >= 0 && b < 0x20) {
+        throw syntaxError("control character in string", position);
+      }
+      position++;
+    }
+    throw syntaxError("unterminated string", quote);
+  }
+
+  /**
+   * Skip number matching <code>-?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?</code>.
+   *
+   * @param start offset of first byte of number
+   * @return offset after the number
+   */
+  private int skipNumber(int start) {
+    int position = json[start] == '-' ? start + 1 : start;
+    if (position < json.length && json[position] == '0') {
+      position++;
+    } else {
+      position = skipDigits(position, start);
+    }
+    if (position < json.length && json[position] == '.') {
+      position = skipDigits(position + 1, start);
+    }
+    if (position < json.length && (json[position] == 'e' || json[position] == 'E')) {
+      position++;
+      if (position < json.length && (json[position] == '+' || json[position] == '-')) {
+        position++;
+      }
+      position = skipDigits(position, start);
+    }
+    if (literalEnd(position) != position) {
+      throw syntaxError("malformed number", start);
+    }
+    return position;
+  }
+
+  /** @return offset after one or more digits */
+  private int skipDigits(int position, int start) {
+    int begin = position;
+    while (position < json.length && json[position] >= '0' && json[position] <= '9') {
+      position++;
+    }
+    if (position == begin) {
+      throw syntaxError("malformed number", start);
+    }
+    return position;
+  }
+
+  /**
+   * @param backslash offset of backslash
+   * @return offset of last character of escape sequence
+   */
+  private int skipEscape(int backslash) {
+    int position = backslash + 1;
+    byte escaped = position < json.length ? json[position] : 0;
+    if (escaped == 'u') {
+      for (int i = 1; i <= 4; i++) {
+        if (position + i >= json.length || Character.digit(json[position + i], 16) < 0) {
+          throw syntaxError("illegal unicode escape", backslash);
+        }
+      }
+      return position + 4;
+    } else if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+      throw syntaxError("illegal escape", backslash);
+    }
+    return position;
+  }
+
+  private int literalEnd(int position) {
+    while (position < json.length) {
+      byte b = json[position];
+      if (b == ',' || b == '}' || b == ']' || b == ':' || JSONStreamReader.isWhitespace(b)) {
+        break;
+      }
+      position++;
+    }
+    return position;
+  }
+
+  private int skipWhitespace(int position) {
+    while (position < json.length && JSONStreamReader.isWhitespace(json[position])) {
+      position++;
+    }
+    return position;
+  }
+
+  private static JSONException syntaxError(String message, int position) {
+    return new JSONException(message + " at byte " + position);
+  }
+}
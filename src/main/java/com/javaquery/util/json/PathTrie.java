@@ -0,0 +1,176 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.Objects;
+import org.json.JSONArray;
+
+import java.util.Arrays;
+
+/**
+ * Prefix tree of {@link JSONPath}s. Each node is either a field of object or an index of array,
+ * common prefix of paths share the same nodes so document is walked only once for all paths.
+ *
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+final class PathTrie {
+
+  private static final PathTrie[] NO_CHILDREN = new PathTrie[0];
+
+  private final String name;
+  private final int index;
+  private PathTrie[] fields = NO_CHILDREN;
+  private PathTrie[] indexes = NO_CHILDREN;
+  private int[] slots = new int[0];
+
+  private PathTrie(String name, int index) {
+    this.name = name;
+    this.index = index;
+  }
+
+  /**
+   * Build trie of provided paths. Position of path in array is the slot of path in result.
+   *
+   * @param paths paths to build trie
+   * @return root node of trie
+   */
+  static PathTrie build(JSONPath[] paths) {
+    PathTrie root = new PathTrie(null, JSONPath.NO_INDEX);
+    for (int slot = 0; slot < paths.length; slot++) {
+      JSONPath path = paths[slot];
+      PathTrie node = root;
+      for (int i = 0; i < path.names.length; i++) {
+        node = node.addField(path.names[i]);
+        if (path.indexes[i] != JSONPath.NO_INDEX) {
+          node = node.addIndex(path.indexes[i]);
+        }
+      }
+      node = node.addField(path.keyName);
+      if (path.keyIndex != JSONPath.NO_INDEX) {
+        node = node.addIndex(path.keyIndex);
+      }
+      node.slots = Arrays.copyOf(node.slots, node.slots.length + 1);
+      node.slots[node.slots.length - 1] = slot;
+    }
+    return root;
+  }
+
+  private PathTrie addField(String fieldName) {
+    for (PathTrie field : fields) {
+      if (field.name.equals(fieldName)) {
+        return field;
+      }
+    }
+    PathTrie field = new PathTrie(fieldName, JSONPath.NO_INDEX);
+    fields = Arrays.copyOf(fields, fields.length + 1);
+    fields[fields.length - 1] = field;
+    return field;
+  }
+
+  private PathTrie addIndex(int arrayIndex) {
+    for (PathTrie node : indexes) {
+      if (node.index == arrayIndex) {
+        return node;
+      }
+    }
+    PathTrie node = new PathTrie(null, arrayIndex);
+    indexes = Arrays.copyOf(indexes, indexes.length + 1);
+    indexes[indexes.length - 1] = node;
+    return node;
+  }
+
+  /**
+   * @param fieldName name of field, compared without creating String
+   * @return child node of field or <code>null</code>
+   */
+  PathTrie field(CharSequence fieldName) {
+    for (PathTrie field : fields) {
+      if (field.name.contentEquals(fieldName)) {
+        return field;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param arrayIndex index of array
+   * @return child node of index or <code>null</code>
+   */
+  PathTrie index(int arrayIndex) {
+    for (PathTrie node : indexes) {
+      if (node.index == arrayIndex) {
+        return node;
+      }
+    }
+    return null;
+  }
+
+  String name() {
+    return name;
+  }
+
+  PathTrie[] fields() {
+    return fields;
+  }
+
+  PathTrie[] indexes() {
+    return indexes;
+  }
+
+  int arrayIndex() {
+    return index;
+  }
+
+  /** @return <code>true</code> if one or more path ends at this node */
+  boolean isTerminal() {
+    return slots.length > 0;
+  }
+
+  boolean hasFields() {
+    return fields.length > 0;
+  }
+
+  boolean hasIndexes() {
+    return indexes.length > 0;
+  }
+
+  int[] slots() {
+    return slots;
+  }
+
+  /**
+   * Walk already parsed value (<code>org.json.JSONObject</code> or {@link JSONArray}) and fill
+   * result slots of all paths below this node.
+   *
+   * @param value value at this node
+   * @param results result holder indexed by slot
+   * @return number of slots filled which were empty before, slot filled again by repeated key is
+   *     not counted
+   */
+  int collect(Object value, Object[] results) {
+    int filled = 0;
+    for (int slot : slots) {
+      if (Objects.isNull(results[slot])) {
+        filled++;
+      }
+      results[slot] = value;
+    }
+    if (value instanceof org.json.JSONObject) {
+      org.json.JSONObject jsonObject = (org.json.JSONObject) value;
+      for (PathTrie field : fields) {
+        Object child = jsonObject.opt(field.name);
+        if (Objects.nonNull(child)) {
+          filled += field.collect(child, results);
+        }
+      }
+    } else if (value instanceof JSONArray) {
+      JSONArray jsonArray = (JSONArray) value;
+      for (PathTrie node : indexes) {
+        Object child = jsonArray.opt(node.index);
+        if (Objects.nonNull(child)) {
+          filled += node.collect(child, results);
+        }
+      }
+    }
+    return filled;
+  }
+}
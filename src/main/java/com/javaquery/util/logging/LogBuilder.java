@@ -1,9 +1,10 @@
 package com.javaquery.util.logging;
 
+import com.javaquery.util.collection.CompactMap;
+
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.StringJoiner;
 import java.util.Objects;
 
@@ -25,7 +26,7 @@ public final class LogBuilder {
     private long executionStartTime;
 
     public LogBuilder(Action action) {
-        attributes = new HashMap<>();
+        attributes = new CompactMap<>();
         tags = new ArrayList<>();
         messageBuilder = new StringJoiner("\n");
         attributes.put(ACTION, action);
@@ -16,6 +16,10 @@ public class TestRegex {
     Assertions.assertTrue(Regex.isNumber("-98.98"));
     Assertions.assertFalse(Regex.isNumber("123AB"));
     Assertions.assertFalse(Regex.isNumber(null));
+    for (String value :
+        new String[] {"", "-", "1.", ".5", "-.5", "1.2.3", "1e5", "+1", " 1", "1\n", "٣", "007", "-0.50"}) {
+      Assertions.assertEquals(value.matches(Regex.REGEX_NUMBER), Regex.isNumber(value), value);
+    }
   }
 
   @Test
@@ -0,0 +1,150 @@
+package com.javaquery.util.collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestCompactMap {
+
+  @Test
+  public void test_get() {
+    Map<String, Object> map = new CompactMap<>();
+    Assertions.assertTrue(map.isEmpty());
+    Assertions.assertNull(map.put("a", 1));
+    Assertions.assertEquals(1, map.put("a", 2));
+    map.put(null, "null key");
+    map.put("b", null);
+    Assertions.assertEquals(3, map.size());
+    Assertions.assertEquals(2, map.get("a"));
+    Assertions.assertEquals("null key", map.get(null));
+    Assertions.assertTrue(map.containsKey("b"));
+    Assertions.assertTrue(map.containsValue(null));
+    Assertions.assertEquals("x", map.getOrDefault("c", "x"));
+    Assertions.assertNull(map.getOrDefault("b", "x"));
+    Assertions.assertEquals("null key", map.remove(null));
+    Assertions.assertNull(map.remove("c"));
+    Assertions.assertEquals(2, map.size());
+    map.clear();
+    Assertions.assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void test_insertionOrder() {
+    Map<String, Integer> map = new CompactMap<>();
+    for (String key : Arrays.asList("d", "a", "c", "b")) {
+      map.put(key, key.charAt(0) - 'a');
+    }
+    map.remove("a");
+    Assertions.assertEquals(Arrays.asList("d", "c", "b"), new ArrayList<>(map.keySet()));
+
+    Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+    iterator.next().setValue(10);
+    iterator.next();
+    iterator.remove();
+    Assertions.assertThrows(IllegalStateException.class, iterator::remove);
+    Assertions.assertEquals("b", iterator.next().getKey());
+    Assertions.assertFalse(iterator.hasNext());
+
+    List<String> entries = new ArrayList<>();
+    map.forEach((key, value) -> entries.add(key + "=" + value));
+    Assertions.assertEquals(Arrays.asList("d=10", "b=1"), entries);
+    Assertions.assertEquals("{d=10, b=1}", map.toString());
+  }
+
+  @Test
+  public void test_promote() {
+    Map<Integer, Integer> map = new CompactMap<>();
+    Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < CompactMap.COMPACT_SIZE + 4; i++) {
+      map.put(i, i * i);
+      expected.put(i, i * i);
+      Assertions.assertEquals(expected, map);
+    }
+    Assertions.assertEquals(expected.hashCode(), map.hashCode());
+    map.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+    expected.entrySet().removeIf(entry -> entry.getKey() % 2 == 0);
+    Assertions.assertEquals(expected, map);
+    map.clear();
+    map.put(1, 1);
+    Assertions.assertEquals(1, map.size());
+  }
+
+  @Test
+  public void test_concurrentModification() {
+    Map<String, Integer> map = new CompactMap<>();
+    for (int i = 0; i < CompactMap.COMPACT_SIZE; i++) {
+      map.put("k" + i, i);
+    }
+    /* put of new key promotes the map during iteration */
+    Assertions.assertThrows(
+        ConcurrentModificationException.class,
+        () -> {
+          for (String key : map.keySet()) {
+            map.put(key + "-new", 0);
+          }
+        });
+
+    Map<String, Integer> small = new CompactMap<>();
+    small.put("a", 1);
+    small.put("b", 2);
+    Iterator<Map.Entry<String, Integer>> iterator = small.entrySet().iterator();
+    Map.Entry<String, Integer> entry = iterator.next();
+    small.remove("a");
+    Assertions.assertEquals("a", entry.getKey());
+    Assertions.assertEquals(1, entry.getValue());
+    Assertions.assertThrows(ConcurrentModificationException.class, () -> entry.setValue(3));
+    Assertions.assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+    Assertions.assertThrows(ConcurrentModificationException.class, iterator::next);
+    Assertions.assertEquals(2, small.get("b"));
+    Assertions.assertThrows(
+        ConcurrentModificationException.class, () -> small.forEach((key, value) -> small.remove(key)));
+  }
+
+  @Test
+  public void test_random() {
+    Random random = new Random(3);
+    Map<Integer, Integer> map = new CompactMap<>();
+    Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 2000; i++) {
+      int key = random.nextInt(12);
+      if (random.nextBoolean()) {
+        Assertions.assertEquals(expected.put(key, i), map.put(key, i));
+      } else {
+        Assertions.assertEquals(expected.remove(key), map.remove(key));
+      }
+      Assertions.assertEquals(expected.size(), map.size());
+    }
+    Assertions.assertEquals(expected, map);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void test_serializable() throws IOException, ClassNotFoundException {
+    Map<String, String> map = new CompactMap<>();
+    map.put("a", "b");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Assertions.assertEquals(map, in.readObject());
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.javaquery.util.collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestIntIntMap {
+
+  @Test
+  public void test_opt() {
+    IntIntMap map = new IntIntMap();
+    map.put(1, 10);
+    map.put(0, 5);
+    map.put(Integer.MIN_VALUE, 7);
+    Assertions.assertEquals(3, map.size());
+    Assertions.assertEquals(10, map.optInt(1));
+    Assertions.assertEquals(5, map.optInt(0));
+    Assertions.assertEquals(7, map.optInt(Integer.MIN_VALUE));
+    Assertions.assertEquals(0, map.optInt(2));
+    Assertions.assertEquals(-1, map.optInt(2, -1));
+    Assertions.assertTrue(map.containsKey(0));
+    Assertions.assertFalse(map.containsKey(2));
+
+    Assertions.assertEquals(12, map.increment(1, 2));
+    Assertions.assertEquals(3, map.increment(2, 3));
+    Assertions.assertEquals(6, map.increment(0, 1));
+    Assertions.assertTrue(map.remove(0));
+    Assertions.assertFalse(map.remove(0));
+    Assertions.assertEquals(-1, map.optInt(0, -1));
+    map.clear();
+    Assertions.assertTrue(map.isEmpty());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new IntIntMap(-1));
+  }
+
+  @Test
+  public void test_random() {
+    Random random = new Random(7);
+    IntIntMap map = new IntIntMap(0);
+    Map<Integer, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 200_000; i++) {
+      /* small key range so removes hit probe chains */
+      int key = random.nextInt(5000) - 100;
+      int operation = random.nextInt(3);
+      if (operation == 0) {
+        map.put(key, i);
+        expected.put(key, i);
+      } else if (operation == 1) {
+        Assertions.assertEquals(expected.remove(key) != null, map.remove(key));
+      } else {
+        Assertions.assertEquals(expected.merge(key, 1, Integer::sum), map.increment(key, 1));
+      }
+    }
+    Assertions.assertEquals(expected.size(), map.size());
+    for (int key = -100; key < 4900; key++) {
+      Assertions.assertEquals(expected.getOrDefault(key, -1), map.optInt(key, -1));
+    }
+    Map<Integer, Integer> actual = new HashMap<>();
+    map.forEach(actual::put);
+    Assertions.assertEquals(expected, actual);
+  }
+}
@@ -0,0 +1,73 @@
+package com.javaquery.util.collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.stream.IntStream;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJConcurrentHashMap {
+
+    @Test
+    public void test_opt(){
+        JConcurrentHashMap<String, Object> map = new JConcurrentHashMap<>();
+        map.put("a", "1");
+        map.put("b", "a");
+        map.put("c", 2.5D);
+        Assertions.assertEquals(1, map.optInt("a"));
+        Assertions.assertEquals(0, map.optInt("b"));
+        Assertions.assertEquals(20, map.optInt("missing", 20));
+        Assertions.assertNull(map.optInt("missing", null));
+        Assertions.assertEquals(1L, map.optLong("a"));
+        Assertions.assertEquals(2L, map.optLong("c"));
+        Assertions.assertEquals(2.5D, map.optDouble("c"));
+        Assertions.assertEquals(0D, map.optDouble("b"));
+    }
+
+    @Test
+    public void test_increment(){
+        JConcurrentHashMap<String, Integer> map = new JConcurrentHashMap<>();
+        IntStream.range(0, 100_000).parallel().forEach(i -> map.increment(i % 2 == 0 ? "even" : "odd", 1));
+        Assertions.assertEquals(50_000L, map.optCounter("even"));
+        Assertions.assertEquals(50_000L, map.optCounter("odd"));
+        Assertions.assertEquals(0L, map.optCounter("missing"));
+
+        /* counters don't touch values of type V */
+        map.put("even", 7);
+        map.increment("even", -1);
+        Assertions.assertEquals(7, map.get("even"));
+        Assertions.assertEquals(49_999L, map.optCounter("even"));
+        Assertions.assertNull(map.get("odd"));
+
+        Assertions.assertEquals(50_000L, map.removeCounter("odd"));
+        Assertions.assertEquals(0L, map.optCounter("odd"));
+        map.clear();
+        Assertions.assertEquals(0L, map.optCounter("even"));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_serializable() throws IOException, ClassNotFoundException{
+        JConcurrentHashMap<String, Integer> map = new JConcurrentHashMap<>();
+        map.put("a", 1);
+        map.increment("b", 3);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(map);
+        }
+        try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))){
+            JConcurrentHashMap<String, Integer> copy = (JConcurrentHashMap<String, Integer>) in.readObject();
+            Assertions.assertEquals(1, copy.optInt("a"));
+            Assertions.assertEquals(3L, copy.optCounter("b"));
+        }
+    }
+}
@@ -3,6 +3,13 @@ package com.javaquery.util.collection;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+
 /**
  * @author vicky.thakor
  * @since 1.2.0
@@ -50,4 +57,83 @@ public class TestJHashMap {
         Assertions.assertEquals(1D, jHashMap2.optDouble("a", 10D));
         Assertions.assertEquals(20D, jHashMap2.optDouble("b", 20D));
     }
+
+    @Test
+    public void test_memoizeNumbers(){
+        JHashMap<String, Object> jHashMap = new JHashMap<>(true);
+        Assertions.assertTrue(jHashMap.isMemoizeNumbers());
+        Assertions.assertFalse(new JHashMap<>().isMemoizeNumbers());
+        jHashMap.put("a", "1000");
+        jHashMap.put("b", "a");
+        jHashMap.put("c", 5);
+        Assertions.assertEquals(1000, jHashMap.optInt("a"));
+        Assertions.assertSame(jHashMap.optInt("a"), jHashMap.optInt("a"));
+        Assertions.assertEquals(1000L, jHashMap.optLong("a"));
+        Assertions.assertEquals(1000D, jHashMap.optDouble("a"));
+        Assertions.assertEquals(7, jHashMap.optInt("b", 7));
+        Assertions.assertEquals(5, jHashMap.optInt("c"));
+        Assertions.assertEquals(9, jHashMap.optInt("missing", 9));
+        Assertions.assertNull(jHashMap.optInt("missing", null));
+
+        jHashMap.put("a", "2");
+        Assertions.assertEquals(2, jHashMap.optInt("a"));
+        jHashMap.remove("a");
+        Assertions.assertEquals(0, jHashMap.optInt("a"));
+
+        /* changes which don't go through put are detected as well */
+        jHashMap.putAll(java.util.Collections.singletonMap("b", "3"));
+        Assertions.assertEquals(3, jHashMap.optInt("b"));
+        jHashMap.compute("b", (key, value) -> "4.5");
+        Assertions.assertEquals(4.5D, jHashMap.optDouble("b"));
+        Map.Entry<String, Object> entry = jHashMap.entrySet().iterator().next();
+        entry.setValue("x");
+        Assertions.assertEquals(7, jHashMap.optInt(entry.getKey(), 7));
+        jHashMap.clear();
+        Assertions.assertEquals(0, jHashMap.optInt("b"));
+    }
+
+    @Test
+    public void test_memoizeNumbers_removal(){
+        JHashMap<String, Object> jHashMap = new JHashMap<>(true);
+
+        jHashMap.put("a", "1");
+        jHashMap.put("b", "2");
+        jHashMap.put("c", "3");
+        jHashMap.optInt("a");
+        jHashMap.optInt("b");
+        jHashMap.optInt("c");
+        Assertions.assertTrue(jHashMap.remove("a", "1"));
+        jHashMap.compute("b", (key, value) -> null);
+        jHashMap.merge("c", "x", (oldValue, value) -> null);
+        Assertions.assertEquals(0, jHashMap.memoSize());
+
+        /* removal through views is cleaned up once memo outgrows the map */
+        for(int i = 0; i < 100; i++){
+            jHashMap.put("k" + i, String.valueOf(i));
+            Assertions.assertEquals(i, jHashMap.optInt("k" + i));
+            jHashMap.keySet().remove("k" + i);
+        }
+        Assertions.assertTrue(jHashMap.memoSize() <= 10, "stale memos are bounded, not one per removed key");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_serializable() throws IOException, ClassNotFoundException{
+        JHashMap<String, Object> jHashMap = new JHashMap<>(true);
+        jHashMap.put("a", "42");
+        jHashMap.optInt("a");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(jHashMap);
+            out.writeObject(new JHashMap<String, Object>());
+        }
+        try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))){
+            JHashMap<String, Object> copy = (JHashMap<String, Object>) in.readObject();
+            Assertions.assertTrue(copy.isMemoizeNumbers());
+            Assertions.assertEquals(0, copy.memoSize());
+            Assertions.assertEquals(42, copy.optInt("a"));
+            Assertions.assertEquals(1, copy.memoSize());
+            Assertions.assertFalse(((JHashMap<String, Object>) in.readObject()).isMemoizeNumbers());
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package com.javaquery.util.collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestLongIntMap {
+
+  @Test
+  public void test_opt() {
+    LongIntMap map = new LongIntMap();
+    map.put(1L, 10);
+    map.put(0L, 5);
+    map.put(Long.MIN_VALUE, 7);
+    Assertions.assertEquals(3, map.size());
+    Assertions.assertEquals(10, map.optInt(1L));
+    Assertions.assertEquals(5, map.optInt(0L));
+    Assertions.assertEquals(7, map.optInt(Long.MIN_VALUE));
+    Assertions.assertEquals(0, map.optInt(2L));
+    Assertions.assertEquals(-1, map.optInt(2L, -1));
+    Assertions.assertTrue(map.containsKey(0L));
+    Assertions.assertFalse(map.containsKey(2L));
+
+    Assertions.assertEquals(12, map.increment(1L, 2));
+    Assertions.assertEquals(3, map.increment(2L, 3));
+    Assertions.assertEquals(6, map.increment(0L, 1));
+    Assertions.assertTrue(map.remove(0L));
+    Assertions.assertFalse(map.remove(0L));
+    Assertions.assertEquals(-1, map.optInt(0L, -1));
+    map.clear();
+    Assertions.assertTrue(map.isEmpty());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new LongIntMap(-1));
+  }
+
+  @Test
+  public void test_random() {
+    /* keys sharing low 32 bits and keys outside int range */
+    long[] keys = new long[3000];
+    for (int r = 0; r < 40; r++) {
+      for (int c = 0; c < 25; c++) {
+        int i = r * 25 + c;
+        keys[i] = (long) r << 32 | c;
+        keys[1000 + i] = Long.MAX_VALUE - i;
+        keys[2000 + i] = Long.MIN_VALUE + ((long) c << 32) + r;
+      }
+    }
+    Random random = new Random(7);
+    LongIntMap map = new LongIntMap(0);
+    Map<Long, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 200_000; i++) {
+      long key = keys[random.nextInt(keys.length)];
+      int operation = random.nextInt(3);
+      if (operation == 0) {
+        map.put(key, i);
+        expected.put(key, i);
+      } else if (operation == 1) {
+        Assertions.assertEquals(expected.remove(key) != null, map.remove(key));
+      } else {
+        Assertions.assertEquals(expected.merge(key, 1, Integer::sum), map.increment(key, 1));
+      }
+    }
+    Assertions.assertEquals(expected.size(), map.size());
+    for (long key : keys) {
+      Assertions.assertEquals(expected.getOrDefault(key, -1), map.optInt(key, -1));
+    }
+    Map<Long, Integer> actual = new HashMap<>();
+    map.forEach(actual::put);
+    Assertions.assertEquals(expected, actual);
+  }
+}
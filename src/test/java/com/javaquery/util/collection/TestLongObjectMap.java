@@ -0,0 +1,55 @@
+package com.javaquery.util.collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestLongObjectMap {
+
+  @Test
+  public void test_get() {
+    LongObjectMap<String> map = new LongObjectMap<>();
+    Assertions.assertNull(map.put(1L, "a"));
+    Assertions.assertEquals("a", map.put(1L, "b"));
+    Assertions.assertNull(map.put(0L, "zero"));
+    Assertions.assertEquals(2, map.size());
+    Assertions.assertEquals("b", map.get(1L));
+    Assertions.assertEquals("zero", map.get(0L));
+    Assertions.assertNull(map.get(2L));
+    Assertions.assertEquals("x", map.opt(2L, "x"));
+    Assertions.assertEquals("c", map.computeIfAbsent(2L, key -> "c"));
+    Assertions.assertEquals("c", map.computeIfAbsent(2L, key -> "d"));
+    Assertions.assertEquals("zero", map.remove(0L));
+    Assertions.assertNull(map.remove(0L));
+    Assertions.assertFalse(map.containsKey(0L));
+    Assertions.assertThrows(NullPointerException.class, () -> map.put(3L, null));
+    map.clear();
+    Assertions.assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void test_random() {
+    Random random = new Random(11);
+    LongObjectMap<Integer> map = new LongObjectMap<>(0);
+    Map<Long, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 200_000; i++) {
+      long key = (random.nextInt(5000) - 100L) << 40;
+      if (random.nextBoolean()) {
+        Assertions.assertEquals(expected.put(key, i), map.put(key, i));
+      } else {
+        Assertions.assertEquals(expected.remove(key), map.remove(key));
+      }
+    }
+    Assertions.assertEquals(expected.size(), map.size());
+    Map<Long, Integer> actual = new HashMap<>();
+    map.forEach(actual::put);
+    Assertions.assertEquals(expected, actual);
+  }
+}
@@ -0,0 +1,146 @@
+package com.javaquery.util.collection;
+
+import com.javaquery.util.io.Files;
+import com.javaquery.util.io.JFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestMappedKeyValueMap {
+
+  private static final int SEGMENT_SIZE = 4096;
+  private final JFile file = new JFile(Files.SYSTEM_TMP_DIR + "/javaquery/mapped-key-value-map.kv");
+
+  @AfterEach
+  public void cleanup() {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(new JFile(file.getPath() + ".index"));
+  }
+
+  @Test
+  public void test_get() throws IOException {
+    try (MappedKeyValueMap map = new MappedKeyValueMap(file, 0, SEGMENT_SIZE)) {
+      Assertions.assertTrue(map.isEmpty());
+      map.put("a", "apple");
+      map.put("b", "ball");
+      map.put("a", "avocado");
+      Assertions.assertEquals(2, map.size());
+      Assertions.assertEquals("avocado", map.get("a"));
+      Assertions.assertEquals("ball", map.get("b"));
+      Assertions.assertNull(map.get("c"));
+      Assertions.assertTrue(map.containsKey("b"));
+      Assertions.assertTrue(map.remove("b"));
+      Assertions.assertFalse(map.remove("b"));
+      Assertions.assertFalse(map.containsKey("b"));
+      map.put("", "");
+      Assertions.assertEquals("", map.get(""));
+      Assertions.assertThrows(NullPointerException.class, () -> map.put("c", null));
+      Assertions.assertThrows(
+          IllegalArgumentException.class, () -> map.put(new byte[1], new byte[SEGMENT_SIZE]));
+    }
+  }
+
+  @Test
+  public void test_view() throws IOException {
+    byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+    try (MappedKeyValueMap map = new MappedKeyValueMap(file, 0, SEGMENT_SIZE)) {
+      map.put(key, new byte[] {1, 2, 3});
+      ByteBuffer view = map.view(key);
+      Assertions.assertEquals(3, view.remaining());
+      Assertions.assertTrue(view.isReadOnly());
+      Assertions.assertEquals(2, view.get(1));
+      Assertions.assertNull(map.view(new byte[] {0}));
+
+      ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+      buffer.put((byte) 9);
+      Assertions.assertEquals(3, map.get(key, buffer));
+      Assertions.assertEquals(4, buffer.position());
+      Assertions.assertEquals(3, buffer.get(3));
+      Assertions.assertEquals(-1, map.get(new byte[] {0}, buffer));
+      Assertions.assertThrows(BufferOverflowException.class, () -> map.get(key, buffer));
+    }
+  }
+
+  @Test
+  public void test_reopen() throws IOException {
+    Random random = new Random(7);
+    Map<String, String> expected = new HashMap<>();
+    try (MappedKeyValueMap map = new MappedKeyValueMap(file, 0, SEGMENT_SIZE)) {
+      for (int i = 0; i < 5000; i++) {
+        String key = "key-" + random.nextInt(2000);
+        if (random.nextInt(4) == 0) {
+          Assertions.assertEquals(expected.remove(key) != null, map.remove(key));
+        } else {
+          /* values of different length so records cross segment boundaries */
+          String value = key + "-" + new String(new char[random.nextInt(100)]).replace('\0', 'x');
+          expected.put(key, value);
+          map.put(key, value);
+        }
+      }
+      Assertions.assertEquals(expected.size(), map.size());
+    }
+
+    try (MappedKeyValueMap map = new MappedKeyValueMap(file)) {
+      Assertions.assertEquals(expected.size(), map.size());
+      for (int i = 0; i < 2000; i++) {
+        String key = "key-" + i;
+        Assertions.assertEquals(expected.get(key), map.get(key));
+      }
+      map.put("new", "value");
+      Assertions.assertEquals("value", map.get("new"));
+    }
+  }
+
+  @Test
+  public void test_close() throws IOException {
+    MappedKeyValueMap map = new MappedKeyValueMap(file, 0, SEGMENT_SIZE);
+    map.close();
+    map.close();
+    Assertions.assertThrows(IllegalStateException.class, () -> map.get("a"));
+  }
+
+  @Test
+  public void test_missingIndex() throws IOException {
+    try (MappedKeyValueMap map = new MappedKeyValueMap(file, 0, SEGMENT_SIZE)) {
+      map.put("a", "apple");
+    }
+    long length = file.length();
+    Files.deleteIfExists(new JFile(file.getPath() + ".index"));
+    Assertions.assertThrows(IOException.class, () -> new MappedKeyValueMap(file));
+    Assertions.assertEquals(length, file.length());
+    Assertions.assertFalse(new JFile(file.getPath() + ".index").exists());
+  }
+
+  @Test
+  public void test_relativePath() throws IOException {
+    JFile relative = new JFile("mapped-key-value-map-relative.kv");
+    try (MappedKeyValueMap map = new MappedKeyValueMap(relative, 0, SEGMENT_SIZE)) {
+      map.put("a", "apple");
+      Assertions.assertEquals("apple", map.get("a"));
+    } finally {
+      Files.deleteIfExists(relative);
+      Files.deleteIfExists(new JFile(relative.getPath() + ".index"));
+    }
+  }
+
+  @Test
+  public void test_invalidFile() {
+    Files.writeToFile(file, "not a map");
+    Files.writeToFile(new JFile(file.getPath() + ".index"), new String(new char[64]));
+    Assertions.assertThrows(IOException.class, () -> new MappedKeyValueMap(file));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> new MappedKeyValueMap(new JFile(file.getPath() + "2"), 0, 1000));
+  }
+}
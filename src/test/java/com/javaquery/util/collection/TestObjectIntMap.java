@@ -0,0 +1,58 @@
+package com.javaquery.util.collection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestObjectIntMap {
+
+  @Test
+  public void test_opt() {
+    ObjectIntMap<String> map = new ObjectIntMap<>();
+    map.put("a", 1);
+    Assertions.assertEquals(1, map.optInt("a"));
+    Assertions.assertEquals(0, map.optInt("b"));
+    Assertions.assertEquals(-1, map.optInt("b", -1));
+    /* same hashCode */
+    Assertions.assertEquals(1, map.increment("Aa", 1));
+    Assertions.assertEquals(2, map.increment("BB", 2));
+    Assertions.assertEquals(3, map.increment("BB", 1));
+    Assertions.assertTrue(map.remove("Aa"));
+    Assertions.assertEquals(3, map.optInt("BB"));
+    Assertions.assertFalse(map.containsKey("Aa"));
+    Assertions.assertEquals(2, map.size());
+    Assertions.assertThrows(NullPointerException.class, () -> map.put(null, 1));
+    map.clear();
+    Assertions.assertTrue(map.isEmpty());
+  }
+
+  @Test
+  public void test_random() {
+    Random random = new Random(13);
+    ObjectIntMap<String> map = new ObjectIntMap<>(0);
+    Map<String, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 200_000; i++) {
+      String key = "k" + random.nextInt(5000);
+      int operation = random.nextInt(3);
+      if (operation == 0) {
+        map.put(key, i);
+        expected.put(key, i);
+      } else if (operation == 1) {
+        Assertions.assertEquals(expected.remove(key) != null, map.remove(key));
+      } else {
+        Assertions.assertEquals(expected.merge(key, 1, Integer::sum), map.increment(key, 1));
+      }
+    }
+    Assertions.assertEquals(expected.size(), map.size());
+    Map<String, Integer> actual = new HashMap<>();
+    map.forEach(actual::put);
+    Assertions.assertEquals(expected, actual);
+  }
+}
@@ -0,0 +1,67 @@
+package com.javaquery.util.json;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONArrayReader {
+
+  private static String array(int size) {
+    StringBuilder json = new StringBuilder(" [\n");
+    for (int i = 0; i < size; i++) {
+      json.append(i > 0 ? ",\n  " : "  ")
+          .append("{\"id\": ")
+          .append(i)
+          .append(", \"name\": \"a]b},\\\"c\", \"tags\": [[1], {\"x\": []}]}");
+    }
+    return json.append("\n] ").toString();
+  }
+
+  @Test
+  public void test_read() {
+    String json = array(1000);
+    List<JSONObject> result = new JSONArrayReader(512, true).read(json).collect(Collectors.toList());
+    Assertions.assertEquals(1000, result.size());
+    for (int i = 0; i < result.size(); i++) {
+      Assertions.assertEquals(i, result.get(i).optInt("id"));
+    }
+    Assertions.assertEquals("a]b},\"c", result.get(999).optString("name"));
+    Assertions.assertEquals(
+        1000L * 999 / 2,
+        new JSONArrayReader(100, false).read(json).mapToLong(o -> o.optLong("id")).sum());
+    Assertions.assertEquals(0, new JSONArrayReader().read(" [ ] ").count());
+  }
+
+  @Test
+  public void test_batches() {
+    List<List<JSONObject>> batches =
+        new JSONArrayReader().batches(array(25), 10).collect(Collectors.toList());
+    Assertions.assertEquals(3, batches.size());
+    Assertions.assertEquals(10, batches.get(0).size());
+    Assertions.assertEquals(5, batches.get(2).size());
+    Assertions.assertEquals(20, batches.get(2).get(0).optInt("id"));
+    Assertions.assertEquals(0, new JSONArrayReader().batches("[]", 10).count());
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> new JSONArrayReader().batches("[]", 0));
+  }
+
+  @Test
+  public void test_malformed() {
+    JSONArrayReader reader = new JSONArrayReader();
+    Assertions.assertThrows(JSONException.class, () -> reader.read("{\"a\":1}"));
+    Assertions.assertThrows(JSONException.class, () -> reader.read("[{\"a\":1}"));
+    Assertions.assertThrows(JSONException.class, () -> reader.read("[{\"a\":1},]"));
+    Assertions.assertThrows(JSONException.class, () -> reader.read("[{\"a\":1},,{}]"));
+    Assertions.assertThrows(JSONException.class, () -> reader.read("[{\"a\":\"1]\"} x"));
+    Assertions.assertThrows(JSONException.class, () -> reader.read("[{}} ,{}]"));
+    Assertions.assertThrows(JSONException.class, () -> reader.read("[{}, 1]").count());
+    Assertions.assertThrows(JSONException.class, () -> reader.read("[{\"a\" 1}]").count());
+  }
+}
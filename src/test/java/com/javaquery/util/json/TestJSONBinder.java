@@ -0,0 +1,232 @@
+package com.javaquery.util.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.javaquery.util.http.CommonResponse;
+import com.javaquery.util.http.HttpStatus;
+import org.json.JSONException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONBinder {
+
+  private static final String JSON =
+      "{\"order_id\":101,\"status\":\"PAID\",\"paid\":true,\"amount\":\"10.50\",\"tags\":[\"a\",\"b\",\"a\"],"
+          + "\"items\":[{\"sku\":\"X1\",\"quantity\":2},{\"sku\":\"X2\",\"quantity\":1}],"
+          + "\"attributes\":{\"gift\":\"yes\"},\"scores\":[1,2,3],\"internal\":\"secret\",\"next\":{\"order_id\":102}}";
+
+  public enum Status {
+    NEW,
+    PAID
+  }
+
+  public static class Item {
+    private String sku;
+    private int quantity;
+
+    public String getSku() {
+      return sku;
+    }
+
+    public void setSku(String sku) {
+      this.sku = sku;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+      this.quantity = quantity;
+    }
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Order {
+    @JsonProperty("order_id")
+    private long orderId;
+
+    @JsonProperty private Status status;
+    @JsonProperty private boolean paid;
+    @JsonProperty private BigDecimal amount;
+    @JsonProperty private Set<String> tags;
+    @JsonProperty private List<Item> items;
+    @JsonProperty private Map<String, String> attributes;
+    @JsonProperty private int[] scores;
+    @JsonProperty private String note;
+    @JsonIgnore private String internal;
+    @JsonProperty private Order next;
+
+    public long getOrderId() {
+      return orderId;
+    }
+
+    public void setOrderId(long orderId) {
+      this.orderId = orderId;
+    }
+  }
+
+  private static class PrivateOrder {
+    @JsonProperty("order_id")
+    private final long orderId;
+
+    @JsonProperty private String note;
+
+    private PrivateOrder() {
+      this.orderId = 0;
+    }
+  }
+
+  public static class Containers {
+    @JsonProperty private LinkedList<String> linkedList;
+    @JsonProperty private TreeSet<Integer> treeSet;
+    @JsonProperty private SortedSet<String> sortedSet;
+    @JsonProperty private EnumSet<Status> enumSet;
+    @JsonProperty private Deque<Integer> deque;
+    @JsonProperty private TreeMap<String, Integer> treeMap;
+    @JsonProperty private NavigableMap<String, Integer> navigableMap;
+    @JsonProperty private ConcurrentMap<String, Integer> concurrentMap;
+  }
+
+  public static class EnumKeyMap {
+    @JsonProperty private EnumMap<Status, String> values;
+  }
+
+  public static class NoDefaultConstructor {
+    @JsonProperty private String value;
+
+    public NoDefaultConstructor(String value) {
+      this.value = value;
+    }
+  }
+
+  @Test
+  public void test_bind() {
+    Order order = JSONBinder.of(Order.class).bind(new JSONObject(JSON));
+    Assertions.assertEquals(101L, order.getOrderId());
+    Assertions.assertEquals(Status.PAID, order.status);
+    Assertions.assertTrue(order.paid);
+    Assertions.assertEquals(new BigDecimal("10.50"), order.amount);
+    Assertions.assertEquals(2, order.tags.size());
+    Assertions.assertEquals("X2", order.items.get(1).getSku());
+    Assertions.assertEquals(2, order.items.get(0).getQuantity());
+    Assertions.assertEquals("yes", order.attributes.get("gift"));
+    Assertions.assertArrayEquals(new int[] {1, 2, 3}, order.scores);
+    Assertions.assertNull(order.note);
+    Assertions.assertNull(order.internal);
+    Assertions.assertEquals(102L, order.next.getOrderId());
+    Assertions.assertNull(order.next.next);
+    Assertions.assertSame(JSONBinder.of(Order.class), JSONBinder.of(Order.class));
+  }
+
+  @Test
+  public void test_bind_privateClass() {
+    PrivateOrder order =
+        JSONBinder.of(PrivateOrder.class)
+            .bind(new JSONObject("{\"order_id\":5,\"note\":\"fragile\"}"));
+    /* final field without setter is not bound */
+    Assertions.assertEquals(0L, order.orderId);
+    Assertions.assertEquals("fragile", order.note);
+  }
+
+  @Test
+  public void test_bind_invalid() {
+    JSONBinder<Order> binder = JSONBinder.of(Order.class);
+    Assertions.assertThrows(
+        JSONException.class, () -> binder.bind(new JSONObject("{\"order_id\":\"abc\"}")));
+    Assertions.assertThrows(
+        JSONException.class, () -> binder.bind(new JSONObject("{\"status\":\"UNKNOWN\"}")));
+    Assertions.assertThrows(
+        JSONException.class,
+        () -> JSONBinder.of(NoDefaultConstructor.class).bind(new JSONObject("{}")));
+
+    Order order = binder.bind(new JSONObject("{\"paid\":null,\"note\":null}"));
+    Assertions.assertFalse(order.paid);
+    Assertions.assertNull(order.note);
+  }
+
+  @Test
+  public void test_toJSON() {
+    JSONBinder<Order> binder = JSONBinder.of(Order.class);
+    Order order = binder.bind(new JSONObject(JSON));
+    JSONObject jsonObject = binder.toJSON(order);
+    Assertions.assertEquals(101L, jsonObject.optLong("order_id"));
+    Assertions.assertEquals("PAID", jsonObject.optString("status"));
+    Assertions.assertEquals("X1", jsonObject.optString("items[0].sku"));
+    Assertions.assertEquals(3, jsonObject.root().getJSONArray("scores").getInt(2));
+    Assertions.assertEquals("yes", jsonObject.optString("attributes.gift"));
+    Assertions.assertEquals(102L, jsonObject.optLong("next.order_id"));
+    Assertions.assertFalse(jsonObject.root().has("note"));
+    Assertions.assertFalse(jsonObject.root().has("internal"));
+
+    Order copy = binder.bind(jsonObject);
+    Assertions.assertEquals(order.amount, copy.amount);
+    Assertions.assertEquals(order.tags, copy.tags);
+
+    JSONBinder<PrivateOrder> privateBinder = JSONBinder.of(PrivateOrder.class);
+    JSONObject privateJSON = privateBinder.toJSON(privateBinder.bind(new JSONObject("{}")));
+    Assertions.assertTrue(privateJSON.root().isNull("note"));
+    Assertions.assertEquals(0, privateJSON.optInt("order_id"));
+
+    JSONObject noDefault =
+        JSONBinder.of(NoDefaultConstructor.class).toJSON(new NoDefaultConstructor("v"));
+    Assertions.assertEquals("v", noDefault.optString("value"));
+  }
+
+  @Test
+  public void test_bind_containers() {
+    Containers containers =
+        JSONBinder.of(Containers.class)
+            .bind(
+                new JSONObject(
+                    "{\"linkedList\":[\"b\",\"a\"],\"treeSet\":[3,1,2],\"sortedSet\":[\"y\",\"x\"],"
+                        + "\"enumSet\":[\"PAID\"],\"deque\":[1,2],\"treeMap\":{\"b\":2,\"a\":1},"
+                        + "\"navigableMap\":{\"k\":1},\"concurrentMap\":{\"c\":3}}"));
+    Assertions.assertEquals(new LinkedList<>(Arrays.asList("b", "a")), containers.linkedList);
+    Assertions.assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(containers.treeSet));
+    Assertions.assertEquals("x", containers.sortedSet.first());
+    Assertions.assertEquals(EnumSet.of(Status.PAID), containers.enumSet);
+    Assertions.assertEquals(1, containers.deque.peekFirst());
+    Assertions.assertEquals("a", containers.treeMap.firstKey());
+    Assertions.assertEquals(TreeMap.class, containers.navigableMap.getClass());
+    Assertions.assertEquals(ConcurrentHashMap.class, containers.concurrentMap.getClass());
+    Assertions.assertEquals(3, containers.concurrentMap.get("c"));
+
+    Assertions.assertThrows(JSONException.class, () -> JSONBinder.of(EnumKeyMap.class));
+  }
+
+  @Test
+  public void test_toJSON_commonResponse() {
+    CommonResponse<List<String>> response =
+        CommonResponse.of(HttpStatus.OK, "done", Arrays.asList("a", "b")).withPage(1);
+    JSONObject jsonObject = JSONBinder.of(CommonResponse.class).toJSON(response);
+    Assertions.assertEquals(200, jsonObject.optInt("status_code"));
+    Assertions.assertEquals("b", jsonObject.root().getJSONArray("payload").getString(1));
+    Assertions.assertEquals(1, jsonObject.optInt("page"));
+    Assertions.assertEquals(0, jsonObject.root().getJSONArray("error_messages").length());
+    Assertions.assertEquals("done", jsonObject.optString("message"));
+    Assertions.assertFalse(jsonObject.root().has("total"));
+  }
+}
@@ -0,0 +1,90 @@
+package com.javaquery.util.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONCanonical {
+
+  @Test
+  public void test_toString() {
+    JSONObject jsonObject =
+        new JSONObject(
+            "{ \"b\": [3, 1.50, {\"z\": true, \"a\": null}], \"a\": \"x\\u00e9\", \"B\": 1.0E2 }");
+    Assertions.assertEquals(
+        "{\"B\":100,\"a\":\"xé\",\"b\":[3,1.5,{\"a\":null,\"z\":true}]}",
+        JSONCanonical.toString(jsonObject));
+  }
+
+  @Test
+  public void test_normalize() {
+    Assertions.assertEquals("1", JSONCanonical.normalize(1));
+    Assertions.assertEquals("1", JSONCanonical.normalize(1.0));
+    Assertions.assertEquals("1", JSONCanonical.normalize(new BigDecimal("1.000")));
+    Assertions.assertEquals("100", JSONCanonical.normalize(new BigDecimal("1E+2")));
+    Assertions.assertEquals("0", JSONCanonical.normalize(-0.0));
+    Assertions.assertEquals("0", JSONCanonical.normalize(new BigDecimal("0.00")));
+    Assertions.assertEquals("0.1", JSONCanonical.normalize(0.1f));
+    Assertions.assertEquals("0.000015", JSONCanonical.normalize(1.5e-5));
+    Assertions.assertEquals("1.5E-7", JSONCanonical.normalize(new BigDecimal("0.00000015")));
+    Assertions.assertEquals(
+        "100000000000000000000", JSONCanonical.normalize(BigInteger.TEN.pow(20)));
+    Assertions.assertEquals("100000000000000000000", JSONCanonical.normalize(1e20));
+    /* doubles at or above 2^63 must not saturate to Long.MAX_VALUE */
+    Assertions.assertEquals("9223372036854776000", JSONCanonical.normalize(9.223372036854775807E18));
+    Assertions.assertEquals("10000000000000000000", JSONCanonical.normalize(1e19));
+    Assertions.assertEquals("-9223372036854775808", JSONCanonical.normalize(-0x1p63));
+    Assertions.assertEquals("9223372036854775807", JSONCanonical.normalize(Long.MAX_VALUE));
+    Assertions.assertNotEquals(
+        JSONCanonical.hash64(new JSONObject("{\"a\":1e19}")),
+        JSONCanonical.hash64(new JSONObject("{\"a\":9.223372036854775807E18}")));
+    Assertions.assertThrows(
+        org.json.JSONException.class, () -> JSONCanonical.normalize(Double.NaN));
+  }
+
+  @Test
+  public void test_hash() {
+    JSONObject first = new JSONObject("{\"id\": 1, \"tags\": [\"a\", \"b\"], \"amount\": 10.50}");
+    JSONObject second = new JSONObject("{\"amount\":10.5,\"tags\":[\"a\",\"b\"],\"id\":1.0}");
+    JSONObject third = new JSONObject("{\"amount\":10.5,\"tags\":[\"b\",\"a\"],\"id\":1}");
+    Assertions.assertArrayEquals(JSONCanonical.hash128(first), JSONCanonical.hash128(second));
+    Assertions.assertEquals(JSONCanonical.hash64(first), JSONCanonical.hash64(second));
+    Assertions.assertNotEquals(JSONCanonical.hash64(first), JSONCanonical.hash64(third));
+  }
+
+  @Test
+  public void test_murmur3() {
+    /* reference values of MurmurHash3 x64 128-bit with seed 0 */
+    assertMurmur3("", 0L, 0L);
+    assertMurmur3("hello", -3758069500696749310L, 6565844092913065241L);
+    assertMurmur3("0123456789abcdef", 5467490433528156583L, -8663980805763692326L);
+    assertMurmur3(
+        "0123456789abcdef0123456789abcdefXYZ", 2754606685680377798L, 2864888080304350357L);
+    Assertions.assertArrayEquals(
+        new long[] {8481619807106398368L, -1354510826981227725L},
+        JSONCanonical.hash128(new JSONObject("{ \"a\" : 1 }")));
+  }
+
+  private static void assertMurmur3(String value, long h1, long h2) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    JSONCanonical.Murmur3OutputStream outputStream = new JSONCanonical.Murmur3OutputStream();
+    /* mix of single byte and chunk writes */
+    int i = 0;
+    while (i < bytes.length) {
+      int count = Math.min(3, bytes.length - i);
+      outputStream.write(bytes, i, count);
+      i += count;
+      if (i < bytes.length) {
+        outputStream.write(bytes[i++]);
+      }
+    }
+    Assertions.assertArrayEquals(new long[] {h1, h2}, outputStream.hash());
+  }
+}
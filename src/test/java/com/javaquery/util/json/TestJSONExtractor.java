@@ -0,0 +1,90 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.collection.JHashMap;
+import org.json.JSONException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONExtractor {
+  private static final String STRING_JSON_OBJECT =
+      "{\"author\":\"vicky\",\"created\":\"2021-01-20 10:00:10\",\"items\":{\"item\":[{\"ppu\":0.55,\"batters\":{\"batter\":[{\"available\":true,\"id\":\"1001\",\"type\":\"Regular\"},{\"available\":false,\"id\":\"1002\",\"type\":\"Chocolate\"},{\"id\":\"1003\",\"type\":\"Blueberry\"},{\"id\":\"1004\",\"type\":\"Devil's Food\"}]},\"name\":\"Cake\",\"id\":\"0001\",\"type\":\"donut\",\"topping\":[{\"id\":\"5001\",\"type\":\"None\"},{\"id\":\"5002\",\"type\":\"Glazed\"},{\"id\":\"5005\",\"type\":\"Sugar\",\"kg\":652398},{\"id\":\"5007\",\"type\":\"Powdered Sugar\",\"kg\":875},{\"id\":\"5006\",\"type\":\"Chocolate with Sprinkles\"},{\"id\":\"5003\",\"type\":\"Chocolate\"},{\"id\":\"5004\",\"type\":\"Maple\"}]}]}}";
+
+  @Test
+  public void test_extract() {
+    JHashMap<String, Object> result =
+        JSONExtractor.compile(
+                "author",
+                "items.item[0].ppu",
+                "items.item[0].topping[3].kg",
+                "items.item[0].batters.batter[0].available",
+                "items.item[0].topping[9].kg",
+                "items.dummy")
+            .extract(STRING_JSON_OBJECT);
+    Assertions.assertEquals("vicky", result.get("author"));
+    Assertions.assertEquals(0.55d, result.optDouble("items.item[0].ppu"));
+    Assertions.assertEquals(875, result.optInt("items.item[0].topping[3].kg"));
+    Assertions.assertEquals(Boolean.TRUE, result.get("items.item[0].batters.batter[0].available"));
+    Assertions.assertFalse(result.containsKey("items.item[0].topping[9].kg"));
+    Assertions.assertFalse(result.containsKey("items.dummy"));
+  }
+
+  @Test
+  public void test_extract_objectAndArray() {
+    JHashMap<String, Object> result =
+        JSONExtractor.compile(
+                "items.item[0].batters.batter[1]",
+                "items.item[0].batters.batter[1].type",
+                "items.item[0].topping")
+            .extract(STRING_JSON_OBJECT);
+    org.json.JSONObject batter = (org.json.JSONObject) result.get("items.item[0].batters.batter[1]");
+    Assertions.assertEquals("1002", batter.optString("id"));
+    Assertions.assertEquals("Chocolate", result.get("items.item[0].batters.batter[1].type"));
+    Assertions.assertEquals(7, ((org.json.JSONArray) result.get("items.item[0].topping")).length());
+  }
+
+  @Test
+  public void test_extract_inputStream() throws IOException {
+    String json = "{\"a\":{\"b\":\"x\\\"y\\u0041\",\"c\":null,\"d\":[1,2,{\"e\":-1.5e2}]}}";
+    JHashMap<String, Object> result =
+        JSONExtractor.compile("a.b", "a.c", "a.d[2].e")
+            .extract(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    Assertions.assertEquals("x\"yA", result.get("a.b"));
+    Assertions.assertEquals(org.json.JSONObject.NULL, result.get("a.c"));
+    Assertions.assertEquals(-150d, result.optDouble("a.d[2].e"));
+  }
+
+  @Test
+  public void test_extract_stopsWhenFound() {
+    /* malformed tail is never read */
+    JHashMap<String, Object> result = JSONExtractor.compile("a").extract("{\"a\":1, ???");
+    Assertions.assertEquals(1, result.get("a"));
+  }
+
+  @Test
+  public void test_extract_repeatedKey() {
+    JHashMap<String, Object> result =
+        JSONExtractor.compile("a", "b").extract("{\"a\":1,\"a\":2,\"b\":3}");
+    Assertions.assertEquals(2, result.get("a"));
+    Assertions.assertEquals(3, result.get("b"));
+
+    result = JSONExtractor.compile("a.x", "b").extract("{\"a\":{\"x\":1},\"a\":{\"x\":2},\"b\":3}");
+    Assertions.assertEquals(2, result.get("a.x"));
+    Assertions.assertEquals(3, result.get("b"));
+  }
+
+  @Test
+  public void test_extract_malformed() {
+    JSONExtractor extractor = JSONExtractor.compile("b");
+    Assertions.assertThrows(JSONException.class, () -> extractor.extract("{\"a\":[1,2}"));
+    Assertions.assertThrows(JSONException.class, () -> extractor.extract("{\"a\":\"1"));
+    Assertions.assertThrows(JSONException.class, () -> extractor.extract("{a:1}"));
+  }
+}
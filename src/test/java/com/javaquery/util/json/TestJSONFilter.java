@@ -0,0 +1,94 @@
+package com.javaquery.util.json;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONFilter {
+
+  private static final String JSON =
+      "{\"id\": 1, \"user\": {\"name\": \"Vicky\", \"password\": \"secret\", \"roles\": [\"a\", \"b\"]},"
+          + " \"items\": [{\"sku\": \"X1\", \"price\": 10}, {\"sku\": \"X2\", \"price\": 20}],"
+          + " \"empty\": {\"none\": 1}, \"na\\\"me\": \"é\"}";
+
+  @Test
+  public void test_include() {
+    Assertions.assertEquals(
+        "{\"id\":1,\"user\":{\"name\":\"Vicky\"}}",
+        JSONFilter.include("id", "user.name").filter(JSON));
+    Assertions.assertEquals(
+        "{\"user\":{\"roles\":[\"a\", \"b\"]},\"items\":[{\"sku\":\"X1\"},{\"sku\":\"X2\"}]}",
+        JSONFilter.include("user.roles", "items.sku").filter(JSON));
+    Assertions.assertEquals(
+        "{\"user\":{\"roles\":[\"b\"]},\"items\":[{\"sku\": \"X1\", \"price\": 10}]}",
+        JSONFilter.include("user.roles[1]", "items[0]").filter(JSON));
+    Assertions.assertEquals(
+        "{\"items\":[{\"price\":20}]}", JSONFilter.include("items[1].price").filter(JSON));
+    Assertions.assertEquals("{\"na\\\"me\":\"é\"}", JSONFilter.include("na\"me").filter(JSON));
+  }
+
+  @Test
+  public void test_include_nothing() {
+    Assertions.assertEquals("{}", JSONFilter.include("empty.missing", "id.x").filter(JSON));
+    Assertions.assertEquals("{}", JSONFilter.include("missing").filter("{}"));
+    Assertions.assertEquals("[]", JSONFilter.include("a").filter("[1, 2]"));
+    Assertions.assertEquals(
+        "[{\"a\":1}]", JSONFilter.include("a").filter("[{\"a\": 1, \"b\": 2}, {\"b\": 3}]"));
+  }
+
+  @Test
+  public void test_exclude() {
+    Assertions.assertEquals(
+        "{\"id\":1,\"user\":{\"name\":\"Vicky\",\"roles\":[\"a\", \"b\"]},"
+            + "\"items\":[{\"sku\":\"X1\"},{\"sku\":\"X2\"}],\"empty\":{},\"na\\\"me\":\"é\"}",
+        JSONFilter.exclude("user.password", "items.price", "empty.none").filter(JSON));
+    Assertions.assertEquals(
+        "{\"id\":1,\"items\":[{\"sku\": \"X2\", \"price\": 20}],\"empty\":{\"none\": 1},\"na\\\"me\":\"é\"}",
+        JSONFilter.exclude("user", "items[0]").filter(JSON));
+    Assertions.assertEquals(
+        "{\"a\":[1,2]}",
+        JSONFilter.exclude("b").filter("{\"a\":[1,2],\"b\":3}"));
+  }
+
+  @Test
+  public void test_stream() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    JSONFilter.exclude("user.password")
+        .filter(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)), outputStream);
+    String json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    JSONObject jsonObject = new JSONObject(json);
+    Assertions.assertEquals("é", jsonObject.optString("na\"me"));
+    Assertions.assertNull(jsonObject.optString("user.password", null));
+    Assertions.assertEquals("Vicky", jsonObject.optString("user.name"));
+
+    StringBuilder large = new StringBuilder("{\"keep\":[");
+    for (int i = 0; i < 5000; i++) {
+      large.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"drop\":\"x\"}");
+    }
+    large.append("]}");
+    String filtered = JSONFilter.exclude("keep.drop").filter(large.toString());
+    Assertions.assertEquals(5000, new JSONObject(filtered).optJSONArray("keep").length());
+    Assertions.assertFalse(filtered.contains("drop"));
+  }
+
+  @Test
+  public void test_malformed() {
+    Assertions.assertThrows(JSONException.class, () -> JSONFilter.include("a").filter("{\"a\":1"));
+    Assertions.assertThrows(JSONException.class, () -> JSONFilter.exclude("a").filter("{\"a\" 1}"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONFilter.include("a..b"));
+    Assertions.assertThrows(
+        JSONException.class, () -> JSONFilter.include("a").filter("{\"a\":1} trailing"));
+    Assertions.assertThrows(JSONException.class, () -> JSONFilter.exclude("a").filter("[1] [2]"));
+    Assertions.assertThrows(JSONException.class, () -> JSONFilter.include("a").filter("42"));
+    Assertions.assertEquals("{\"a\":1}", JSONFilter.include("a").filter(" {\"a\":1,\"b\":2} \n"));
+  }
+}
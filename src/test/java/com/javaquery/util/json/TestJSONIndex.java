@@ -0,0 +1,75 @@
+package com.javaquery.util.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONIndex {
+
+  private static final String JSON =
+      "{\"id\":\"42\",\"active\":\"TRUE\",\"amount\":10.5,\"none\":null,"
+          + "\"order\":{\"items\":[{\"sku\":\"X1\",\"qty\":2},{\"sku\":\"X2\",\"qty\":3}],\"matrix\":[[1,2],[3]]}}";
+
+  @Test
+  public void test_opt() {
+    JSONObject jsonObject = new JSONObject(JSON);
+    JSONIndex index = jsonObject.index();
+    Assertions.assertEquals(jsonObject.optString("order.items[1].sku"), index.optString("order.items[1].sku"));
+    Assertions.assertEquals(3, index.optInt("order.items[1].qty"));
+    Assertions.assertEquals(42, index.optInt("id"));
+    Assertions.assertEquals(42L, index.optLong("id"));
+    Assertions.assertEquals(10.5, index.optDouble("amount"));
+    Assertions.assertEquals(10, index.optInt("amount"));
+    Assertions.assertEquals(new BigDecimal("10.5"), index.optBigDecimal("amount", null));
+    Assertions.assertEquals(new BigDecimal("42"), index.optBigDecimal("id", null));
+    Assertions.assertTrue(index.optBoolean("active"));
+    Assertions.assertEquals("", index.optString("none"));
+    Assertions.assertTrue(index.has("none"));
+    Assertions.assertEquals(3, index.optInt("order.matrix[1][0]"));
+    Assertions.assertEquals(2, index.optJSONArray("order.items").length());
+    Assertions.assertEquals("X1", index.optJSONObject("order.items[0]").optString("sku"));
+
+    Assertions.assertFalse(index.has("order.items[2].sku"));
+    Assertions.assertEquals(-1, index.optInt("missing", -1));
+    Assertions.assertTrue(Double.isNaN(index.optDouble("order.items[0].sku")));
+    Assertions.assertNull(index.optNumber("order"));
+    Assertions.assertNull(index.optJSONObject("order.items"));
+  }
+
+  @Test
+  public void test_size() {
+    JSONIndex index = new JSONObject(JSON).index();
+    /* id, active, amount, none, order, items, 2 items x 3, matrix, 2 rows, 3 numbers */
+    Assertions.assertEquals(18, index.size());
+    long keys = 0;
+    for (String key :
+        new String[] {"id", "active", "amount", "none", "order", "order.items", "order.items[0]",
+            "order.items[0].sku", "order.items[0].qty", "order.items[1]", "order.items[1].sku",
+            "order.items[1].qty", "order.matrix", "order.matrix[0]", "order.matrix[0][0]",
+            "order.matrix[0][1]", "order.matrix[1]", "order.matrix[1][0]"}) {
+      Assertions.assertTrue(index.has(key), key);
+      keys += JSONKeyDictionary.retainedSize(key.length());
+    }
+    Assertions.assertEquals(JSONIndex.mapSize(18) + keys, index.estimatedSize());
+    Assertions.assertEquals(48 + 16 + 4 * 32 + 32 * 18, JSONIndex.mapSize(18));
+    Assertions.assertEquals(0, new JSONObject().index().size());
+  }
+
+  @Test
+  public void test_snapshot() {
+    JSONObject jsonObject = new JSONObject(JSON);
+    JSONIndex index = jsonObject.index();
+    jsonObject.put("order.status", "PAID");
+    Assertions.assertFalse(index.has("order.status"));
+    Assertions.assertTrue(jsonObject.index().has("order.status"));
+
+    JSONObject frozen = jsonObject.freeze();
+    Assertions.assertSame(frozen.index(), frozen.index());
+    Assertions.assertNotSame(jsonObject.index(), jsonObject.index());
+  }
+}
@@ -0,0 +1,85 @@
+package com.javaquery.util.json;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONKeyDictionary {
+
+  private static final String JSON =
+      "{\"id\": 1, \"name\": \"a\\\"b\", \"tags\": [\"x\", null, true, 1.5], "
+          + "\"address\": {\"city\": \"Pune\", \"id\": 2}, \"empty\": {}, \"list\": []}";
+
+  private static String key(org.json.JSONObject jsonObject, String key) {
+    for (String k : jsonObject.keySet()) {
+      if (k.equals(key)) {
+        return k;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  public void test_parse() {
+    JSONKeyDictionary dictionary = new JSONKeyDictionary();
+    JSONObject jsonObject = new JSONObject(JSON, dictionary);
+    Assertions.assertTrue(jsonObject.root().similar(new org.json.JSONObject(JSON)));
+    Assertions.assertEquals("Pune", jsonObject.optString("address.city"));
+    Assertions.assertEquals("a\"b", jsonObject.optString("name"));
+    Assertions.assertEquals(1.5, jsonObject.root().getJSONArray("tags").getDouble(3));
+  }
+
+  @Test
+  public void test_parse_invalid() {
+    JSONKeyDictionary dictionary = new JSONKeyDictionary();
+    Assertions.assertThrows(JSONException.class, () -> new JSONObject("[1]", dictionary));
+    Assertions.assertThrows(JSONException.class, () -> new JSONObject("{\"a\":1", dictionary));
+    Assertions.assertThrows(JSONException.class, () -> new JSONObject("{\"a\" 1}", dictionary));
+    Assertions.assertThrows(
+        JSONException.class, () -> new JSONObject("{\"a\":1,\"a\":2}", dictionary));
+  }
+
+  @Test
+  public void test_sharedKeys() {
+    JSONKeyDictionary dictionary = new JSONKeyDictionary();
+    List<JSONObject> documents = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      documents.add(new JSONObject(JSON, dictionary));
+    }
+    org.json.JSONObject first = documents.get(0).root();
+    org.json.JSONObject second = documents.get(1).root();
+    Assertions.assertSame(key(first, "name"), key(second, "name"));
+    Assertions.assertSame(key(first, "id"), key(second.getJSONObject("address"), "id"));
+    Assertions.assertSame(dictionary.intern("city"), key(first.getJSONObject("address"), "city"));
+
+    /* id, name, tags, address, city, empty, list */
+    Assertions.assertEquals(7, dictionary.size());
+    /* first document repeats "id", others repeat all 8 keys, and intern("city") */
+    Assertions.assertEquals(1 + 8 + 8 + 1, dictionary.getHits());
+    Assertions.assertEquals(
+        JSONKeyDictionary.retainedSize(2) * 5
+            + JSONKeyDictionary.retainedSize(4) * 9
+            + JSONKeyDictionary.retainedSize(5) * 2
+            + JSONKeyDictionary.retainedSize(7) * 2,
+        dictionary.getSavedBytes());
+
+    dictionary.resetStatistics();
+    Assertions.assertEquals(0, dictionary.getHits());
+    Assertions.assertEquals(0, dictionary.getSavedBytes());
+  }
+
+  @Test
+  public void test_shared() {
+    Assertions.assertSame(JSONKeyDictionary.shared(), JSONKeyDictionary.shared());
+    String key = new String("shared-key");
+    Assertions.assertSame(key, JSONKeyDictionary.shared().intern(key));
+    Assertions.assertSame(key, JSONKeyDictionary.shared().intern(new String("shared-key")));
+  }
+}
@@ -0,0 +1,85 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.io.JFile;
+import org.json.JSONException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestJSONLinesReader {
+
+  private static final String TEMP_DIR = System.getProperty("java.io.tmpdir");
+  private static final int LINES = 1000;
+  private JFile jFile;
+
+  @BeforeAll
+  public void setup() {
+    jFile = new JFile(TEMP_DIR + File.separatorChar + UUID.randomUUID() + ".ndjson");
+    StringBuilder stringBuilder = new StringBuilder();
+    for (int i = 0; i < LINES; i++) {
+      stringBuilder.append("{\"id\":").append(i).append(",\"name\":\"item-").append(i).append("\"}");
+      stringBuilder.append(i % 10 == 0 ? "\r\n\n" : "\n");
+    }
+    jFile.write(stringBuilder.toString());
+  }
+
+  @Test
+  public void test_read() throws IOException {
+    try (Stream<JSONObject> stream = new JSONLinesReader(256, true).read(jFile)) {
+      List<Integer> ids = stream.map(jsonObject -> jsonObject.optInt("id")).collect(Collectors.toList());
+      Assertions.assertEquals(LINES, ids.size());
+      for (int i = 0; i < LINES; i++) {
+        Assertions.assertEquals(i, ids.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void test_read_unordered() throws IOException {
+    try (Stream<JSONObject> stream = new JSONLinesReader(100, false).read(jFile)) {
+      Assertions.assertEquals(
+          (LINES - 1) * LINES / 2, stream.mapToInt(jsonObject -> jsonObject.optInt("id")).sum());
+    }
+  }
+
+  @Test
+  public void test_batches() throws IOException {
+    try (Stream<List<JSONObject>> stream = new JSONLinesReader(1024, true).batches(jFile, 7)) {
+      List<List<JSONObject>> batches = stream.collect(Collectors.toList());
+      Assertions.assertTrue(batches.stream().allMatch(batch -> batch.size() <= 7));
+      Assertions.assertEquals(LINES, batches.stream().mapToInt(List::size).sum());
+      Assertions.assertEquals("item-0", batches.get(0).get(0).optString("name"));
+    }
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new JSONLinesReader().batches(jFile, -1));
+  }
+
+  @Test
+  public void test_read_malformed() throws IOException {
+    JFile malformed = new JFile(TEMP_DIR + File.separatorChar + UUID.randomUUID() + ".ndjson");
+    malformed.write("{\"id\":1}\n{\"id\":\n");
+    try (Stream<JSONObject> stream = new JSONLinesReader().read(malformed)) {
+      Assertions.assertThrows(JSONException.class, stream::count);
+    } finally {
+      malformed.deleteIfExists();
+    }
+  }
+
+  @AfterAll
+  public void cleanup() {
+    jFile.deleteIfExists();
+  }
+}
@@ -0,0 +1,98 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.json.JSONMerge.ArrayStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONMerge {
+
+  private static final JSONObject DEFAULTS =
+      new JSONObject(
+          "{\"db\":{\"host\":\"localhost\",\"port\":5432,\"pool\":{\"min\":1,\"max\":10}},"
+              + "\"features\":[\"a\",\"b\"],\"limits\":[{\"rate\":10},{\"rate\":20}],\"debug\":true}");
+  private static final JSONObject TENANT =
+      new JSONObject(
+          "{\"db\":{\"host\":\"tenant-db\"},\"features\":[\"b\",\"c\"],"
+              + "\"limits\":[{\"burst\":5}],\"debug\":null,\"name\":\"acme\"}");
+
+  @Test
+  public void test_merge() {
+    JSONObject merged = JSONMerge.merge(DEFAULTS, TENANT);
+    Assertions.assertEquals("tenant-db", merged.optString("db.host"));
+    Assertions.assertEquals(5432, merged.optInt("db.port"));
+    Assertions.assertEquals(10, merged.optInt("db.pool.max"));
+    Assertions.assertEquals("[\"b\",\"c\"]", merged.optJSONArray("features").toString());
+    Assertions.assertEquals("acme", merged.optString("name"));
+    Assertions.assertFalse(merged.root().has("debug"));
+
+    /* subtree of single layer is shared, overlapping objects are new */
+    Assertions.assertSame(DEFAULTS.optJSONObject("db.pool"), merged.optJSONObject("db.pool"));
+    Assertions.assertSame(TENANT.optJSONArray("features"), merged.optJSONArray("features"));
+    Assertions.assertNotSame(DEFAULTS.optJSONObject("db"), merged.optJSONObject("db"));
+    Assertions.assertEquals("localhost", DEFAULTS.optString("db.host"));
+    Assertions.assertTrue(DEFAULTS.root().has("debug"));
+  }
+
+  @Test
+  public void test_array_strategy() {
+    Assertions.assertEquals(
+        "[\"a\",\"b\",\"b\",\"c\"]",
+        JSONMerge.merge(ArrayStrategy.CONCAT, DEFAULTS, TENANT).optJSONArray("features").toString());
+    Assertions.assertEquals(
+        "[\"a\",\"b\",\"c\"]",
+        JSONMerge.merge(ArrayStrategy.UNION, DEFAULTS, TENANT).optJSONArray("features").toString());
+    Assertions.assertEquals(
+        "[1,2.5,3]",
+        JSONMerge.merge(
+                ArrayStrategy.UNION,
+                new JSONObject("{\"a\":[1,2.5]}"),
+                new JSONObject("{\"a\":[1.0,2.50,3]}"))
+            .optJSONArray("a")
+            .toString());
+
+    JSONObject merged = JSONMerge.merge(ArrayStrategy.MERGE_BY_INDEX, DEFAULTS, TENANT);
+    Assertions.assertEquals(10, merged.optJSONArray("limits").getJSONObject(0).getInt("rate"));
+    Assertions.assertEquals(5, merged.optJSONArray("limits").getJSONObject(0).getInt("burst"));
+    Assertions.assertSame(
+        DEFAULTS.optJSONArray("limits").get(1), merged.optJSONArray("limits").get(1));
+  }
+
+  @Test
+  public void test_layers() {
+    Assertions.assertEquals(0, JSONMerge.merge().root().length());
+    Assertions.assertSame(
+        DEFAULTS.root(), JSONMerge.merge(ArrayStrategy.REPLACE, DEFAULTS, DEFAULTS).root());
+    Assertions.assertSame(
+        DEFAULTS.root(),
+        JSONMerge.merge(ArrayStrategy.UNION, Collections.singletonList(DEFAULTS)).root());
+
+    JSONObject merged =
+        JSONMerge.merge(
+            new JSONObject("{\"a\":{\"x\":1}}"),
+            new JSONObject("{\"a\":5}"),
+            new JSONObject("{\"a\":{\"y\":2}}"));
+    Assertions.assertEquals("{\"y\":2}", merged.optJSONObject("a").toString());
+    Assertions.assertThrows(NullPointerException.class, () -> JSONMerge.merge(DEFAULTS, null));
+  }
+
+  @Test
+  public void test_null_single_layer() {
+    JSONObject patch =
+        new JSONObject("{\"b\":{\"c\":null,\"d\":{\"e\":null}},\"f\":{\"g\":1},\"h\":[null]}");
+    JSONObject merged = JSONMerge.merge(new JSONObject("{\"a\":1}"), patch);
+    Assertions.assertEquals("{\"d\":{}}", merged.optJSONObject("b").toString());
+    Assertions.assertEquals(1, merged.optInt("a"));
+    Assertions.assertEquals("[null]", merged.optJSONArray("h").toString());
+    /* object without null is still shared, layer is not modified */
+    Assertions.assertSame(patch.optJSONObject("f"), merged.optJSONObject("f"));
+    Assertions.assertTrue(patch.root().getJSONObject("b").has("c"));
+
+    Assertions.assertEquals("{}", JSONMerge.merge(new JSONObject("{\"a\":null}")).toString());
+  }
+}
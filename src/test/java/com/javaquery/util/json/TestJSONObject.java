@@ -2,6 +2,7 @@ package com.javaquery.util.json;
 
 import com.javaquery.util.time.DatePattern;
 import com.javaquery.util.time.Dates;
+import org.json.JSONException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -9,7 +10,10 @@ import org.junit.jupiter.api.TestInstance;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author vicky.thakor
@@ -28,6 +32,41 @@ public class TestJSONObject {
     Assertions.assertEquals(10, jsonObject.optInt("a"));
   }
 
+  @Test
+  public void test_put_path(){
+    JSONObject jsonObject = new JSONObject();
+    Assertions.assertEquals("", jsonObject.optString("a.b.c"));
+    jsonObject.put("a.b.c", "x");
+    Assertions.assertEquals("x", jsonObject.optString("a.b.c"));
+    Assertions.assertEquals("{\"a\":{\"b\":{\"c\":\"x\"}}}", jsonObject.toString());
+
+    jsonObject.put(JSONPath.compile("a.items[1].id"), 5);
+    Assertions.assertEquals(5, jsonObject.optInt("a.items[1].id"));
+    Assertions.assertEquals(5, jsonObject.optInt(JSONPath.compile("a.items[1].id")));
+
+    jsonObject.put("a.tags[2]", "t");
+    Assertions.assertEquals("t", jsonObject.optJSONArray("a.tags").optString(2));
+
+    Assertions.assertThrows(JSONException.class, () -> jsonObject.put("a.b.c.d", 1));
+  }
+
+  @Test
+  public void test_put_invalidateCache(){
+    JSONObject jsonObject = new JSONObject("{\"a\":{\"b\":{\"c\":1}}}");
+    Assertions.assertEquals(1, jsonObject.optInt("a.b.c"));
+    Assertions.assertEquals(0, jsonObject.optInt("a.x.y"));
+
+    jsonObject.put("a.b", new org.json.JSONObject("{\"c\":2}"));
+    Assertions.assertEquals(2, jsonObject.optInt("a.b.c"));
+
+    jsonObject.put("a.x.y", 3);
+    Assertions.assertEquals(3, jsonObject.optInt("a.x.y"));
+
+    jsonObject.put("a", new org.json.JSONObject("{\"b\":{\"c\":4}}"));
+    Assertions.assertEquals(4, jsonObject.optInt(JSONPath.compile("a.b.c")));
+    Assertions.assertEquals(0, jsonObject.optInt("a.x.y"));
+  }
+
   @Test
   public void test_optBoolean() {
     Assertions.assertTrue(JSONOBJECT.optBoolean("items.item[0].batters.batter[0].available"));
@@ -135,11 +174,124 @@ public class TestJSONObject {
     Assertions.assertEquals(4, jsonArray.length());
   }
 
+  @Test
+  public void test_jsonPath() {
+    Assertions.assertTrue(JSONOBJECT.optBoolean(JSONPath.compile("items.item[0].batters.batter[0].available")));
+    Assertions.assertEquals(875, JSONOBJECT.optInt(JSONPath.compile("items.item[0].topping[3].kg")));
+    Assertions.assertEquals(-1L, JSONOBJECT.optLong(JSONPath.compile("items.item[0].topping[2].gm"), -1));
+    Assertions.assertEquals(875d, JSONOBJECT.optDouble(JSONPath.compile("items.item[0].topping[3].kg")));
+    Assertions.assertEquals("donut", JSONOBJECT.optString(JSONPath.compile("items.item[0].type")));
+    Assertions.assertEquals("vicky", JSONOBJECT.optString(JSONPath.compile("author")));
+    Assertions.assertEquals("test", JSONOBJECT.optString(JSONPath.compile("items.dummy[0].value"), "test"));
+    Assertions.assertEquals(
+        TestJSONEnum.Regular,
+        JSONOBJECT.optEnum(TestJSONEnum.class, JSONPath.compile("items.item[0].batters.batter[0].type")));
+    Assertions.assertEquals(
+        "Regular",
+        JSONOBJECT.optJSONObject(JSONPath.compile("items.item[0].batters.batter[0]")).optString("type"));
+    Assertions.assertNull(JSONOBJECT.optJSONObject(JSONPath.compile("items.item.batters.batter[0]")));
+    Assertions.assertEquals(4, JSONOBJECT.optJSONArray(JSONPath.compile("items.item[0].batters.batter")).length());
+    Assertions.assertEquals(
+        Dates.parse("2021-01-20 10:00:10", DatePattern.Y_M_D__HMS),
+        JSONOBJECT.optDate(JSONPath.compile("created"), DatePattern.Y_M_D__HMS));
+  }
+
+  @Test
+  public void test_freeze() throws InterruptedException {
+    JSONObject frozen = new JSONObject(STRING_JSON_OBJECT).freeze();
+    Assertions.assertTrue(frozen.isFrozen());
+    Assertions.assertSame(frozen, frozen.freeze());
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.put("a", 1));
+    Assertions.assertThrows(UnsupportedOperationException.class, frozen::flush);
+
+    JSONPath kg = JSONPath.compile("items.item[0].topping[3].kg");
+    AtomicInteger failures = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < 1000; j++) {
+          if (frozen.optInt(kg) != 875
+              || !"Regular".equals(frozen.optString("items.item[0].batters.batter[0].type"))) {
+            failures.incrementAndGet();
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assertions.assertEquals(0, failures.get());
+  }
+
+  @Test
+  public void test_extract() {
+    JSONProjection projection =
+        JSONProjection.compile(
+            "author",
+            "items.item[0].topping[3].kg",
+            "items.item[0].topping[3].type",
+            "items.item[0].batters.batter[1]",
+            "items.item[0].topping[9].kg",
+            "author");
+    Object[] values = JSONOBJECT.extract(projection);
+    Assertions.assertEquals("vicky", values[0]);
+    Assertions.assertEquals(875, values[1]);
+    Assertions.assertEquals("Powdered Sugar", values[2]);
+    Assertions.assertEquals("1002", ((org.json.JSONObject) values[3]).optString("id"));
+    Assertions.assertNull(values[4]);
+    Assertions.assertEquals("vicky", values[5]);
+
+    Assertions.assertSame(values, JSONOBJECT.extract(projection, values));
+    Assertions.assertArrayEquals(new Object[] {"donut", null}, JSONOBJECT.extract("items.item[0].type", "x.y"));
+  }
+
+  @Test
+  public void test_optPrimitiveArray() {
+    JSONObject jsonObject = new JSONObject("{\"a\":{\"scores\":[1,2.5,\"3\",\"x\",null],\"names\":[\"a\",1,null]}}");
+    Assertions.assertArrayEquals(new int[] {1, 2, 3, 0, 0}, jsonObject.optIntArray("a.scores"));
+    Assertions.assertArrayEquals(new long[] {1, 2, 3, 0, 0}, jsonObject.optLongArray(JSONPath.compile("a.scores")));
+    Assertions.assertArrayEquals(
+        new double[] {1, 2.5, 3, Double.NaN, Double.NaN}, jsonObject.optDoubleArray("a.scores"));
+    Assertions.assertArrayEquals(new String[] {"a", "1", ""}, jsonObject.optStringArray("a.names"));
+    Assertions.assertNull(jsonObject.optIntArray("a.missing"));
+
+    int[] buffer = new int[3];
+    Assertions.assertEquals(5, jsonObject.optIntArray("a.scores", buffer));
+    Assertions.assertArrayEquals(new int[] {1, 2, 3}, buffer);
+    double[] doubles = new double[10];
+    Assertions.assertEquals(5, jsonObject.optDoubleArray(JSONPath.compile("a.scores"), doubles));
+    Assertions.assertEquals(2.5, doubles[1]);
+    Assertions.assertEquals(0, jsonObject.optLongArray("a.missing", new long[1]));
+    Assertions.assertEquals(3, jsonObject.optStringArray("a.names", new String[3]));
+  }
+
   @Test
   public void test_toString() {
     Assertions.assertEquals(STRING_JSON_OBJECT, JSONOBJECT.toString());
   }
 
+  @Test
+  public void test_reset() {
+    JSONObject jsonObject = new JSONObject("{\"a\":{\"b\":1}}");
+    Assertions.assertEquals(1, jsonObject.optInt("a.b"));
+    Assertions.assertSame(jsonObject, jsonObject.reset("{\"a\":{\"b\":2}}"));
+    Assertions.assertEquals(2, jsonObject.optInt("a.b"));
+
+    jsonObject.flush();
+    jsonObject.reset(new org.json.JSONObject("{\"a\":{\"c\":3}}"));
+    Assertions.assertEquals(3, jsonObject.optInt("a.c"));
+    Assertions.assertEquals(0, jsonObject.optInt("a.b"));
+
+    jsonObject.reset("{\"k\":\"v\"}", new JSONKeyDictionary());
+    Assertions.assertEquals("v", jsonObject.optString("k"));
+
+    Assertions.assertThrows(
+        UnsupportedOperationException.class, () -> jsonObject.freeze().reset("{}"));
+  }
+
   @AfterAll
   public void test_flush() {
     JSONOBJECT.flush();
@@ -0,0 +1,53 @@
+package com.javaquery.util.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONObjectPool {
+
+  @Test
+  public void test_acquire_release() {
+    JSONObjectPool pool = new JSONObjectPool(1);
+    JSONObject first = pool.acquire("{\"a\":{\"b\":1}}");
+    Assertions.assertEquals(1, first.optInt("a.b"));
+    pool.release(first);
+    Assertions.assertEquals(1, pool.size());
+
+    JSONObject second = pool.acquire("{\"a\":{\"b\":2}}");
+    Assertions.assertSame(first, second);
+    Assertions.assertEquals(2, second.optInt("a.b"));
+    Assertions.assertEquals(0, pool.size());
+
+    JSONObject third = pool.acquire("{}");
+    Assertions.assertNotSame(second, third);
+    pool.release(second);
+    pool.release(second);
+    pool.release(third);
+    Assertions.assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void test_thread_local() throws InterruptedException {
+    JSONObjectPool pool = new JSONObjectPool();
+    pool.release(pool.acquire("{}"));
+    JSONObject[] other = new JSONObject[1];
+    Thread thread = new Thread(() -> other[0] = pool.acquire("{\"a\":1}"));
+    thread.start();
+    thread.join();
+    Assertions.assertEquals(1, pool.size());
+    Assertions.assertNotSame(other[0], pool.acquire("{}"));
+  }
+
+  @Test
+  public void test_invalid() {
+    JSONObjectPool pool = new JSONObjectPool();
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new JSONObjectPool(0));
+    Assertions.assertThrows(
+        UnsupportedOperationException.class, () -> pool.release(new JSONObject("{}").freeze()));
+    Assertions.assertThrows(NullPointerException.class, () -> pool.release(null));
+  }
+}
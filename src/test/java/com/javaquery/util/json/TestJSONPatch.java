@@ -0,0 +1,121 @@
+package com.javaquery.util.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONPatch {
+
+  private static final String SOURCE =
+      "{\"id\":1,\"name\":\"order\",\"a/b\":1,\"items\":[{\"sku\":\"X1\",\"price\":10},{\"sku\":\"X2\"},{\"sku\":\"X3\"}],"
+          + "\"address\":{\"city\":\"Pune\",\"zip\":\"411001\"},\"note\":\"old\"}";
+  private static final String TARGET =
+      "{\"id\":1.0,\"name\":\"order\",\"a/b\":2,\"items\":[{\"sku\":\"X1\",\"price\":12.5},{\"sku\":\"X2\"}],"
+          + "\"address\":{\"city\":\"Pune\",\"zip\":\"411001\"},\"status\":\"PAID\"}";
+
+  private static String find(JSONArray patch, String path) {
+    for (int i = 0; i < patch.length(); i++) {
+      org.json.JSONObject operation = patch.getJSONObject(i);
+      if (operation.getString("path").equals(path)) {
+        return operation.getString("op");
+      }
+    }
+    return null;
+  }
+
+  @Test
+  public void test_diff() {
+    JSONObject source = new JSONObject(SOURCE);
+    JSONObject target = new JSONObject(TARGET);
+    JSONArray patch = source.diff(target);
+    Assertions.assertEquals(5, patch.length(), patch.toString());
+    Assertions.assertEquals("replace", find(patch, "/items/0/price"));
+    Assertions.assertEquals("remove", find(patch, "/items/2"));
+    Assertions.assertEquals("remove", find(patch, "/note"));
+    Assertions.assertEquals("add", find(patch, "/status"));
+    Assertions.assertEquals("replace", find(patch, "/a~1b"));
+    Assertions.assertNull(find(patch, "/id"));
+
+    JSONObject patched = source.apply(patch);
+    Assertions.assertTrue(patched.root().similar(target.root()));
+    Assertions.assertEquals("old", source.optString("note"));
+    Assertions.assertEquals(0, patched.diff(target).length());
+    Assertions.assertEquals(0, source.diff(new JSONObject(SOURCE)).length());
+  }
+
+  @Test
+  public void test_diff_frozen() {
+    JSONObject source = new JSONObject(SOURCE).freeze();
+    JSONObject target = new JSONObject(TARGET).freeze();
+    Assertions.assertEquals(5, source.diff(target).length());
+    /* subtree hashes are cached by frozen object */
+    Assertions.assertSame(source.subtreeHashes(), source.subtreeHashes());
+    Assertions.assertFalse(source.subtreeHashes().isEmpty());
+    Assertions.assertEquals(5, source.diff(target).length());
+    Assertions.assertNotSame(
+        new JSONObject(SOURCE).subtreeHashes(), new JSONObject(SOURCE).subtreeHashes());
+  }
+
+  @Test
+  public void test_hash() {
+    Map<Object, Long> hashes = new IdentityHashMap<>();
+    Assertions.assertEquals(JSONPatch.hash(1, hashes), JSONPatch.hash(1.0, hashes));
+    Assertions.assertEquals(
+        JSONPatch.hash(new java.math.BigDecimal("1.50"), hashes), JSONPatch.hash(1.5, hashes));
+    Assertions.assertNotEquals(JSONPatch.hash("Aa", hashes), JSONPatch.hash("BB", hashes));
+    Assertions.assertNotEquals(JSONPatch.hash("1", hashes), JSONPatch.hash(1, hashes));
+    Assertions.assertEquals(
+        JSONPatch.hash(new org.json.JSONObject("{\"a\":1,\"b\":[1,2]}"), hashes),
+        JSONPatch.hash(new org.json.JSONObject("{\"b\":[1,2],\"a\":1}"), hashes));
+    Assertions.assertNotEquals(
+        JSONPatch.hash(new JSONArray("[1,2]"), hashes),
+        JSONPatch.hash(new JSONArray("[2,1]"), hashes));
+  }
+
+  @Test
+  public void test_apply() {
+    JSONObject source = new JSONObject("{\"a\":{\"b\":[1,2,3]},\"c\":\"x\"}");
+    JSONArray patch =
+        new JSONArray(
+            "[{\"op\":\"test\",\"path\":\"/c\",\"value\":\"x\"},"
+                + "{\"op\":\"add\",\"path\":\"/a/b/1\",\"value\":9},"
+                + "{\"op\":\"add\",\"path\":\"/a/b/-\",\"value\":4},"
+                + "{\"op\":\"move\",\"from\":\"/c\",\"path\":\"/d\"},"
+                + "{\"op\":\"copy\",\"from\":\"/a/b\",\"path\":\"/e\"},"
+                + "{\"op\":\"replace\",\"path\":\"/a/b/0\",\"value\":0}]");
+    JSONObject patched = source.apply(patch);
+    Assertions.assertEquals("[0,9,2,3,4]", patched.optJSONArray("a.b").toString());
+    Assertions.assertEquals("[1,9,2,3,4]", patched.optJSONArray("e").toString());
+    Assertions.assertEquals("x", patched.optString("d"));
+    Assertions.assertFalse(patched.root().has("c"));
+
+    Assertions.assertThrows(
+        JSONException.class,
+        () -> source.apply(new JSONArray("[{\"op\":\"test\",\"path\":\"/c\",\"value\":\"y\"}]")));
+    Assertions.assertThrows(
+        JSONException.class,
+        () -> source.apply(new JSONArray("[{\"op\":\"remove\",\"path\":\"/x/y\"}]")));
+    Assertions.assertThrows(
+        JSONException.class,
+        () -> source.apply(new JSONArray("[{\"op\":\"add\",\"path\":\"/a/b/9\",\"value\":1}]")));
+    Assertions.assertThrows(
+        JSONException.class,
+        () -> source.apply(new JSONArray("[{\"op\":\"unknown\",\"path\":\"/c\"}]")));
+  }
+
+  @Test
+  public void test_toKeyPath() {
+    Assertions.assertEquals("order.items[0].price", JSONPatch.toKeyPath("/order/items/0/price"));
+    Assertions.assertEquals("a/b.c~d", JSONPatch.toKeyPath("/a~1b/c~0d"));
+    Assertions.assertEquals("", JSONPatch.toKeyPath(""));
+    Assertions.assertThrows(JSONException.class, () -> JSONPatch.toKeyPath("a/b"));
+  }
+}
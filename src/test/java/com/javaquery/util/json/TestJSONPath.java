@@ -0,0 +1,52 @@
+package com.javaquery.util.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONPath {
+
+  @Test
+  public void test_compile() {
+    JSONPath jsonPath = JSONPath.compile("order.items[2].sku");
+    Assertions.assertEquals("order.items[2].sku", jsonPath.getExpression());
+    Assertions.assertEquals("order.items[2]", jsonPath.path);
+    Assertions.assertEquals("sku", jsonPath.key);
+    Assertions.assertEquals(3, jsonPath.length());
+    Assertions.assertArrayEquals(new String[] {"order", "items"}, jsonPath.names);
+    Assertions.assertArrayEquals(new int[] {JSONPath.NO_INDEX, 2}, jsonPath.indexes);
+  }
+
+  @Test
+  public void test_compile_key() {
+    JSONPath jsonPath = JSONPath.compile("batter[1]");
+    Assertions.assertNull(jsonPath.path);
+    Assertions.assertEquals("batter", jsonPath.keyName);
+    Assertions.assertEquals(1, jsonPath.keyIndex);
+  }
+
+  @Test
+  public void test_compile_invalid() {
+    Assertions.assertThrows(NullPointerException.class, () -> JSONPath.compile(null));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONPath.compile("a..b"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONPath.compile("a[x].b"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONPath.compile("a[-1].b"));
+  }
+
+  @Test
+  public void test_resolve() {
+    org.json.JSONObject root = new org.json.JSONObject("{\"a\":{\"b\":[{\"c\":{\"d\":1}}]}}");
+    Assertions.assertEquals(1, JSONPath.compile("a.b[0].c.d").resolve(root).optInt("d"));
+    Assertions.assertNull(JSONPath.compile("a.b[1].c.d").resolve(root));
+    Assertions.assertNull(JSONPath.compile("a.x.c.d").resolve(root));
+  }
+
+  @Test
+  public void test_equals() {
+    Assertions.assertEquals(JSONPath.compile("a.b"), JSONPath.compile("a.b"));
+    Assertions.assertNotEquals(JSONPath.compile("a.b"), JSONPath.compile("a.c"));
+  }
+}
@@ -0,0 +1,21 @@
+package com.javaquery.util.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONProjection {
+
+  @Test
+  public void test_compile() {
+    JSONProjection projection = JSONProjection.compile("a.b", "a.c[1]", "d");
+    Assertions.assertEquals(3, projection.size());
+    Assertions.assertEquals("a.c[1]", projection.path(1));
+    Assertions.assertEquals(2, projection.root.fields().length);
+    Assertions.assertEquals(2, projection.root.field("a").fields().length);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONProjection.compile("a..b"));
+  }
+}
@@ -0,0 +1,91 @@
+package com.javaquery.util.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONQuery {
+
+  private static List<JSONObject> records() {
+    List<JSONObject> records = new ArrayList<>();
+    String[] countries = {"IN", "US", "IN", "UK", "IN", "US"};
+    for (int i = 0; i < 600; i++) {
+      records.add(
+          new JSONObject(
+              "{\"status\":\"" + (i % 5 == 0 ? "FAILED" : "PAID") + "\","
+                  + "\"order\":{\"amount\":" + (i % 10) + ",\"tax\":\"" + (i % 3) + "\"},"
+                  + "\"address\":{\"country\":\"" + countries[i % 6] + "\",\"zip\":" + (i % 2 == 0 ? "null" : "1") + "}}"));
+    }
+    return records;
+  }
+
+  @Test
+  public void test_groupBy() {
+    JSONQuery query =
+        JSONQuery.aggregate("order.amount", "order.tax", "order.amount")
+            .where("status", "PAID"::equals)
+            .groupBy("address.country");
+    Map<List<Object>, JSONQuery.Group> sequential = query.execute(records().stream());
+    Map<List<Object>, JSONQuery.Group> parallel = query.execute(records().parallelStream());
+    Assertions.assertEquals(3, sequential.size());
+
+    double total = 0;
+    long count = 0;
+    for (JSONObject record : records()) {
+      if ("PAID".equals(record.optString("status"))
+          && "IN".equals(record.optString("address.country"))) {
+        total += record.optInt("order.amount");
+        count++;
+      }
+    }
+    for (Map<List<Object>, JSONQuery.Group> result : Arrays.asList(sequential, parallel)) {
+      JSONQuery.Group india = result.get(Collections.singletonList("IN"));
+      Assertions.assertEquals(count, india.count());
+      Assertions.assertEquals(count, india.count("order.amount"));
+      Assertions.assertEquals(total, india.sum("order.amount"));
+      Assertions.assertEquals(total / count, india.avg("order.amount"), 1e-9);
+      Assertions.assertEquals(2, india.min("order.amount"));
+      Assertions.assertEquals(8, india.max("order.amount"));
+      Assertions.assertEquals(2, india.max("order.tax"));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> india.sum("status"));
+    }
+  }
+
+  @Test
+  public void test_multiple_groups() {
+    Map<List<Object>, JSONQuery.Group> result =
+        JSONQuery.aggregate()
+            .whereNumber("order.amount", amount -> amount >= 5)
+            .groupBy("address.country", "address.zip")
+            .execute(records().parallelStream());
+    Assertions.assertEquals(3, result.size());
+    Assertions.assertNotNull(result.get(Arrays.asList("UK", 1)));
+    Assertions.assertNotNull(result.get(Arrays.asList("IN", null)));
+    Assertions.assertEquals(
+        300, result.values().stream().mapToLong(JSONQuery.Group::count).sum());
+  }
+
+  @Test
+  public void test_no_group() {
+    Map<List<Object>, JSONQuery.Group> result =
+        JSONQuery.aggregate("order.amount", "missing").execute(records().stream());
+    JSONQuery.Group all = result.get(Collections.emptyList());
+    Assertions.assertEquals(600, all.count());
+    Assertions.assertEquals(2700, all.sum("order.amount"));
+    Assertions.assertEquals(0, all.count("missing"));
+    Assertions.assertEquals(0, all.sum("missing"));
+    Assertions.assertTrue(Double.isNaN(all.min("missing")));
+    Assertions.assertTrue(Double.isNaN(all.avg("missing")));
+    Assertions.assertTrue(
+        JSONQuery.aggregate("a").execute(Collections.<JSONObject>emptyList().stream()).isEmpty());
+  }
+}
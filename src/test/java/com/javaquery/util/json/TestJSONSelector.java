@@ -0,0 +1,69 @@
+package com.javaquery.util.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONSelector {
+  private static final String STRING_JSON_OBJECT =
+      "{\"author\":\"vicky\",\"created\":\"2021-01-20 10:00:10\",\"items\":{\"item\":[{\"ppu\":0.55,\"batters\":{\"batter\":[{\"available\":true,\"id\":\"1001\",\"type\":\"Regular\"},{\"available\":false,\"id\":\"1002\",\"type\":\"Chocolate\"},{\"id\":\"1003\",\"type\":\"Blueberry\"},{\"id\":\"1004\",\"type\":\"Devil's Food\"}]},\"name\":\"Cake\",\"id\":\"0001\",\"type\":\"donut\",\"topping\":[{\"id\":\"5001\",\"type\":\"None\"},{\"id\":\"5002\",\"type\":\"Glazed\"},{\"id\":\"5005\",\"type\":\"Sugar\",\"kg\":652398},{\"id\":\"5007\",\"type\":\"Powdered Sugar\",\"kg\":875},{\"id\":\"5006\",\"type\":\"Chocolate with Sprinkles\"},{\"id\":\"5003\",\"type\":\"Chocolate\"},{\"id\":\"5004\",\"type\":\"Maple\"}]}]}}";
+  private static final JSONObject JSONOBJECT = new JSONObject(STRING_JSON_OBJECT);
+
+  @Test
+  public void test_wildcard() {
+    JSONSelector selector = JSONSelector.compile("items.item[*].topping[*].kg");
+    Assertions.assertArrayEquals(new int[] {652398, 875}, selector.ints(JSONOBJECT));
+    Assertions.assertArrayEquals(new long[] {652398L, 875L}, selector.longs(JSONOBJECT));
+    Assertions.assertEquals(653273d, selector.doubleStream(JSONOBJECT, true).sum());
+  }
+
+  @Test
+  public void test_slice() {
+    Assertions.assertArrayEquals(
+        new String[] {"1002", "1003"},
+        JSONSelector.compile("items.item[0].batters.batter[1:3].id").strings(JSONOBJECT));
+    Assertions.assertArrayEquals(
+        new int[] {5001, 5002},
+        JSONSelector.compile("items.item[0].topping[:2].id").ints(JSONOBJECT));
+    Assertions.assertArrayEquals(
+        new int[] {5003, 5004},
+        JSONSelector.compile("items.item[0].topping[5:].id").ints(JSONOBJECT));
+    Assertions.assertEquals(
+        0, JSONSelector.compile("items.item[0].topping[50:60].id").stream(JSONOBJECT).count());
+  }
+
+  @Test
+  public void test_parallel() {
+    StringBuilder stringBuilder = new StringBuilder("{\"items\":[");
+    for (int i = 0; i < 10000; i++) {
+      stringBuilder.append(i == 0 ? "" : ",").append("{\"price\":").append(i).append('}');
+    }
+    JSONObject jsonObject = new JSONObject(stringBuilder.append("]}").toString());
+    JSONSelector selector = JSONSelector.compile("items[*].price");
+    Assertions.assertEquals(49995000L, selector.longStream(jsonObject, true).sum());
+    Assertions.assertEquals(
+        selector.stream(jsonObject).collect(Collectors.toList()),
+        selector.stream(jsonObject, true).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void test_index() {
+    Assertions.assertEquals(
+        "Cake",
+        JSONSelector.compile("items.item[0].name").stream(JSONOBJECT).findFirst().orElse(null));
+    Assertions.assertEquals(0, JSONSelector.compile("items.item[1].name").stream(JSONOBJECT).count());
+  }
+
+  @Test
+  public void test_compile_invalid() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONSelector.compile("a..b"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONSelector.compile("a[x]"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONSelector.compile("a[1"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> JSONSelector.compile("[1]"));
+  }
+}
@@ -0,0 +1,185 @@
+package com.javaquery.util.json;
+
+import com.javaquery.util.http.CommonResponse;
+import com.javaquery.util.http.HttpStatus;
+import com.javaquery.util.logging.Action;
+import com.javaquery.util.logging.LogBuilder;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestJSONWriter {
+
+  private static final JSONWriter.Name ID = JSONWriter.Name.of("id");
+
+  private enum LogAction implements Action {
+    CREATE_ORDER
+  }
+
+  public static class Item {
+    private final String sku;
+    private final int quantity;
+
+    public Item(String sku, int quantity) {
+      this.sku = sku;
+      this.quantity = quantity;
+    }
+
+    public String getSku() {
+      return sku;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+  }
+
+  private static String write(Object value) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (JSONWriter writer = new JSONWriter(outputStream)) {
+      writer.value(value);
+    }
+    return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void test_values() {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (JSONWriter writer = new JSONWriter(outputStream)) {
+      writer
+          .object()
+          .key(ID)
+          .value(Long.MIN_VALUE)
+          .key("int")
+          .value(-42)
+          .key("double")
+          .value(1.5)
+          .key("whole")
+          .value(2.0)
+          .key("bool")
+          .value(true)
+          .key("null")
+          .value((Object) null)
+          .key("array")
+          .array()
+          .value(new int[] {1, 2})
+          .value(new ArrayList<>())
+          .endArray()
+          .endObject();
+    }
+    Assertions.assertEquals(
+        "{\"id\":-9223372036854775808,\"int\":-42,\"double\":1.5,\"whole\":2,\"bool\":true,"
+            + "\"null\":null,\"array\":[[1,2],[]]}",
+        new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void test_largeNumber() {
+    char[] digits = new char[20000];
+    Arrays.fill(digits, '7');
+    BigInteger bigInteger = new BigInteger(new String(digits));
+    BigDecimal bigDecimal = new BigDecimal(bigInteger, 10000);
+    Assertions.assertEquals(bigInteger.toString(), write(bigInteger));
+    Assertions.assertEquals("[" + bigDecimal + "]", write(Arrays.asList(bigDecimal)));
+  }
+
+  @Test
+  public void test_string() {
+    String value = "quote\" slash\\ tab\t nul\u0000 é € 😀 \u2028";
+    String json = write(value);
+    Assertions.assertEquals(
+        "\"quote\\\" slash\\\\ tab\\t nul\\u0000 é € 😀 \\u2028\"", json);
+    Assertions.assertEquals(value, new JSONArray("[" + json + "]").getString(0));
+
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < JSONWriter.BUFFER_SIZE; i++) {
+      builder.append("é");
+    }
+    Assertions.assertEquals(builder.toString(), new JSONArray("[" + write(builder) + "]").get(0));
+  }
+
+  @Test
+  public void test_commonResponse() {
+    List<Item> items = Arrays.asList(new Item("X1", 2), new Item("X2", 1));
+    CommonResponse<List<Item>> response =
+        CommonResponse.of(HttpStatus.OK, "done", items).withPage(1).withTotal(20L);
+    org.json.JSONObject jsonObject = new org.json.JSONObject(write(response));
+    Assertions.assertEquals(200, jsonObject.getInt("status_code"));
+    Assertions.assertEquals("done", jsonObject.getString("message"));
+    Assertions.assertEquals("X2", jsonObject.getJSONArray("payload").getJSONObject(1).get("sku"));
+    Assertions.assertEquals(2, jsonObject.getJSONArray("payload").getJSONObject(0).get("quantity"));
+    Assertions.assertEquals(0, jsonObject.getJSONArray("error_messages").length());
+    Assertions.assertEquals(20L, jsonObject.getLong("total"));
+    Assertions.assertFalse(jsonObject.has("limit"));
+  }
+
+  @Test
+  public void test_logBuilder() {
+    LogBuilder logBuilder = new LogBuilder(LogAction.CREATE_ORDER);
+    logBuilder.setMessage("created");
+    logBuilder.addTag("order");
+    logBuilder.put("orderId", 101);
+    Map<String, Object> nested = new LinkedHashMap<>();
+    nested.put("amount", 10.5);
+    logBuilder.put("details", nested);
+
+    org.json.JSONObject jsonObject = new org.json.JSONObject(write(logBuilder));
+    Assertions.assertEquals("CREATE_ORDER", jsonObject.getString(LogBuilder.ACTION));
+    Assertions.assertEquals("created", jsonObject.getString(LogBuilder.MESSAGE));
+    Assertions.assertEquals("order", jsonObject.getJSONArray(LogBuilder.TAGS).getString(0));
+    Assertions.assertEquals(101, jsonObject.getInt("orderId"));
+    Assertions.assertEquals(10.5, jsonObject.getJSONObject("details").getDouble("amount"));
+  }
+
+  @Test
+  public void test_byteBuffer() {
+    ByteBuffer byteBuffer = ByteBuffer.allocate(64);
+    try (JSONWriter writer = new JSONWriter(byteBuffer)) {
+      writer.value(new JSONObject("{\"a\":[1,\"b\"]}"));
+    }
+    byteBuffer.flip();
+    Assertions.assertEquals(
+        "{\"a\":[1,\"b\"]}", StandardCharsets.UTF_8.decode(byteBuffer).toString());
+
+    ByteBuffer small = ByteBuffer.allocate(4);
+    Assertions.assertThrows(
+        BufferOverflowException.class,
+        () -> {
+          try (JSONWriter writer = new JSONWriter(small)) {
+            writer.value("too long for buffer");
+          }
+        });
+  }
+
+  @Test
+  public void test_misplaced() {
+    JSONWriter writer = new JSONWriter(new ByteArrayOutputStream());
+    Assertions.assertThrows(JSONException.class, () -> writer.key("a"));
+    Assertions.assertThrows(JSONException.class, writer::endObject);
+    writer.object();
+    Assertions.assertThrows(JSONException.class, () -> writer.value(1));
+    Assertions.assertThrows(JSONException.class, writer::endArray);
+    writer.key("a");
+    Assertions.assertThrows(JSONException.class, () -> writer.key("b"));
+    Assertions.assertThrows(JSONException.class, () -> writer.value(Double.NaN));
+    writer.close();
+    Assertions.assertThrows(IllegalStateException.class, () -> writer.value(1));
+  }
+}
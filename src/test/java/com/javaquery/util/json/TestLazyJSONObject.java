@@ -0,0 +1,82 @@
+package com.javaquery.util.json;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author vicky.thakor
+ * @since 1.2.7
+ */
+public class TestLazyJSONObject {
+  private static final String STRING_JSON_OBJECT =
+      "{\"author\":\"vicky\",\"created\":\"2021-01-20 10:00:10\",\"items\":{\"item\":[{\"ppu\":0.55,\"batters\":{\"batter\":[{\"available\":true,\"id\":\"1001\",\"type\":\"Regular\"},{\"available\":false,\"id\":\"1002\",\"type\":\"Chocolate\"},{\"id\":\"1003\",\"type\":\"Blueberry\"},{\"id\":\"1004\",\"type\":\"Devil's Food\"}]},\"name\":\"Cake\",\"id\":\"0001\",\"type\":\"donut\",\"topping\":[{\"id\":\"5001\",\"type\":\"None\"},{\"id\":\"5002\",\"type\":\"Glazed\"},{\"id\":\"5005\",\"type\":\"Sugar\",\"kg\":652398},{\"id\":\"5007\",\"type\":\"Powdered Sugar\",\"kg\":875},{\"id\":\"5006\",\"type\":\"Chocolate with Sprinkles\"},{\"id\":\"5003\",\"type\":\"Chocolate\"},{\"id\":\"5004\",\"type\":\"Maple\"}]}]}}";
+  private static final LazyJSONObject LAZY_JSON_OBJECT =
+      new LazyJSONObject(STRING_JSON_OBJECT.getBytes(StandardCharsets.UTF_8));
+
+  @Test
+  public void test_optValues() {
+    Assertions.assertEquals("vicky", LAZY_JSON_OBJECT.optString("author"));
+    Assertions.assertEquals("donut", LAZY_JSON_OBJECT.optString("items.item[0].type"));
+    Assertions.assertEquals("test", LAZY_JSON_OBJECT.optString("items.item[0].topping[1].value", "test"));
+    Assertions.assertTrue(LAZY_JSON_OBJECT.optBoolean("items.item[0].batters.batter[0].available"));
+    Assertions.assertTrue(LAZY_JSON_OBJECT.optBoolean("items.item[0].batters.batter[2].available", true));
+    Assertions.assertEquals(875, LAZY_JSON_OBJECT.optInt("items.item[0].topping[3].kg"));
+    Assertions.assertEquals(652398L, LAZY_JSON_OBJECT.optLong(JSONPath.compile("items.item[0].topping[2].kg")));
+    Assertions.assertEquals(-1L, LAZY_JSON_OBJECT.optLong("items.item[0].topping[2].gm", -1));
+    Assertions.assertEquals(0.55d, LAZY_JSON_OBJECT.optDouble("items.item[0].ppu"));
+    Assertions.assertEquals(1, LAZY_JSON_OBJECT.optInt("items.item[0].id"));
+    Assertions.assertEquals(new BigDecimal("0.55"), LAZY_JSON_OBJECT.optBigDecimal("items.item[0].ppu", null));
+    Assertions.assertEquals(875, LAZY_JSON_OBJECT.optNumber("items.item[0].topping[3].kg"));
+    Assertions.assertTrue(LAZY_JSON_OBJECT.has("items.item[0].topping[6]"));
+    Assertions.assertFalse(LAZY_JSON_OBJECT.has("items.item[0].topping[7]"));
+  }
+
+  @Test
+  public void test_optJSONObject() {
+    org.json.JSONObject jsonObject = LAZY_JSON_OBJECT.optJSONObject("items.item[0].batters.batter[0]");
+    Assertions.assertEquals("Regular", jsonObject.optString("type"));
+    Assertions.assertNull(LAZY_JSON_OBJECT.optJSONObject("items.item.batters.batter[0]"));
+    Assertions.assertEquals(4, LAZY_JSON_OBJECT.optJSONArray("items.item[0].batters.batter").length());
+    Assertions.assertNull(LAZY_JSON_OBJECT.optJSONArray("items.item[0].name"));
+  }
+
+  @Test
+  public void test_escapes() {
+    LazyJSONObject lazyJSONObject =
+        new LazyJSONObject(
+            "{ \"a\\u0062\" : { \"name\" : \"x\\\"y\\n\\u0041\" , \"n\":null, \"u\":\"ü\" } }"
+                .getBytes(StandardCharsets.UTF_8));
+    Assertions.assertEquals("x\"y\nA", lazyJSONObject.optString("ab.name"));
+    Assertions.assertEquals("d", lazyJSONObject.optString("ab.n", "d"));
+    Assertions.assertEquals(org.json.JSONObject.NULL, lazyJSONObject.opt("ab.n"));
+    Assertions.assertEquals("ü", lazyJSONObject.optString("ab.u"));
+  }
+
+  @Test
+  public void test_malformed() {
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("[1]".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":1".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\" 1}".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":tru}".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{} x".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":12abc}".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":\"\\uZZZZ\"}".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":\"\\u12\"}".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":\"\\x\"}".getBytes()));
+    Assertions.assertEquals("\u00e9/", new LazyJSONObject("{\"a\":\"\\u00E9\\/\"}".getBytes()).optString("a"));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":-}".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":01}".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":1.}".getBytes()));
+    Assertions.assertThrows(JSONException.class, () -> new LazyJSONObject("{\"a\":1e+}".getBytes()));
+    Assertions.assertEquals(-1.5e-3, new LazyJSONObject("{\"a\":-1.5E-3}".getBytes()).optDouble("a"));
+  }
+
+  @Test
+  public void test_toString() {
+    Assertions.assertEquals(STRING_JSON_OBJECT, LAZY_JSON_OBJECT.toString());
+  }
+}